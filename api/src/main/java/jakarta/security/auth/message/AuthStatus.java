@@ -21,6 +21,11 @@ package jakarta.security.auth.message;
  * The AuthStatus class is used to represent return values from Authentication modules and Authentication Contexts. An
  * AuthStatus value is returned when the module processing has established a corresponding request or response message
  * within the message parameters exchanged with the runtime.
+ *
+ * <p>
+ * The five AuthStatus values are the only instances of this class. Like enum constants, each has an
+ * {@link #ordinal()} that indexes the array returned by {@link #values()}, so that a runtime can dispatch on a status
+ * with a table lookup or a <code>switch</code> rather than a chain of comparisons.
  */
 public class AuthStatus {
 
@@ -28,53 +33,90 @@ public class AuthStatus {
      * Indicates that the message processing by the authentication module was successful and that the runtime is to proceed
      * with its normal processing of the resulting message.
      */
-    public static final AuthStatus SUCCESS = new AuthStatus(1);
+    public static final AuthStatus SUCCESS = new AuthStatus(1, "AuthStatus.SUCCESS");
 
     /**
      * Indicates that the message processing by the authentication module was NOT successful, and that the module replaced
      * the application message with an error message.
      */
-    public static final AuthStatus FAILURE = new AuthStatus(2);
+    public static final AuthStatus FAILURE = new AuthStatus(2, "AuthStatus.FAILURE");
 
     /**
      * Indicates that the message processing by the authentication module was successful and that the runtime is to proceed
      * by sending a message returned by the authentication module.
      */
-    public static final AuthStatus SEND_SUCCESS = new AuthStatus(3);
+    public static final AuthStatus SEND_SUCCESS = new AuthStatus(3, "AuthStatus.SEND_SUCCESS");
 
     /**
      * Indicates that the message processing by the authentication module was NOT successful, that the module replaced the
      * application message with an error message, and that the runtime is to proceed by sending the error message.
      */
-    public static final AuthStatus SEND_FAILURE = new AuthStatus(4);
+    public static final AuthStatus SEND_FAILURE = new AuthStatus(4, "AuthStatus.SEND_FAILURE");
 
     /**
      * Indicates the message processing by the authentication module is NOT complete, that the module replaced the
      * application message with a security message, and that the runtime is to proceed by sending the security message.
      */
-    public static final AuthStatus SEND_CONTINUE = new AuthStatus(5);
+    public static final AuthStatus SEND_CONTINUE = new AuthStatus(5, "AuthStatus.SEND_CONTINUE");
+
+    private static final AuthStatus[] VALUES = { SUCCESS, FAILURE, SEND_SUCCESS, SEND_FAILURE, SEND_CONTINUE };
 
     private final int value;
+    private final String name;
 
-    private AuthStatus(int value) {
+    private AuthStatus(int value, String name) {
         this.value = value;
+        this.name = name;
+    }
+
+    /**
+     * Get all AuthStatus values, in the order of their ordinals.
+     *
+     * @return A new array holding <code>SUCCESS</code>, <code>FAILURE</code>, <code>SEND_SUCCESS</code>,
+     * <code>SEND_FAILURE</code> and <code>SEND_CONTINUE</code>, in this order.
+     */
+    public static AuthStatus[] values() {
+        return VALUES.clone();
+    }
+
+    /**
+     * Get the AuthStatus with the given code.
+     *
+     * @param code The code of the AuthStatus, as returned by {@link #code()}.
+     *
+     * @return The AuthStatus with the given code.
+     *
+     * @exception IllegalArgumentException if no AuthStatus has the given code.
+     */
+    public static AuthStatus valueOf(int code) {
+        if (code < 1 || code > VALUES.length) {
+            throw new IllegalArgumentException("invalid AuthStatus code: " + code);
+        }
+
+        return VALUES[code - 1];
+    }
+
+    /**
+     * Get the position of this AuthStatus in the array returned by {@link #values()}.
+     *
+     * @return An int from 0 to 4.
+     */
+    public int ordinal() {
+        return value - 1;
+    }
+
+    /**
+     * Get the stable numeric code of this AuthStatus: 1 for <code>SUCCESS</code>, 2 for <code>FAILURE</code>, 3 for
+     * <code>SEND_SUCCESS</code>, 4 for <code>SEND_FAILURE</code> and 5 for <code>SEND_CONTINUE</code>.
+     *
+     * @return An int from 1 to 5.
+     */
+    public int code() {
+        return value;
     }
 
     @Override
     public String toString() {
-        switch (value) {
-        case 1:
-            return "AuthStatus.SUCCESS";
-        case 2:
-            return "AuthStatus.FAILURE";
-        case 3:
-            return "AuthStatus.SEND_SUCCESS";
-        case 4:
-            return "AuthStatus.SEND_FAILURE";
-        case 5:
-            return "AuthStatus.SEND_CONTINUE";
-        default:
-            return "Unknown AuthStatus";
-        }
+        return name;
     }
 }
@@ -18,6 +18,9 @@
 
 package jakarta.security.auth.message;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 import javax.security.auth.Subject;
 
 /**
@@ -75,6 +78,40 @@ public interface ClientAuth {
      */
     AuthStatus secureRequest(MessageInfo messageInfo, Subject clientSubject) throws AuthException;
 
+    /**
+     * Secure a service request message before sending it to the service, without requiring the calling thread to wait
+     * for the outcome.
+     *
+     * <p>
+     * This method is the asynchronous form of {@link #secureRequest(MessageInfo, Subject)}. An implementation that has to
+     * wait for a remote party, for instance to obtain a token, may return a CompletionStage that it completes when the
+     * answer arrives, so that a runtime with asynchronous message processing can suspend the message exchange instead of
+     * blocking a thread. The runtime must not access messageInfo or clientSubject, and must not call another method of
+     * this interface for the same message exchange, until the returned CompletionStage is completed.
+     *
+     * <p>
+     * The default implementation calls <code>secureRequest</code> on the calling thread, and returns a CompletionStage
+     * that is already completed with its result or, if it throws an AuthException or a RuntimeException, with that
+     * exception. It never throws itself, so a runtime handles every failure through the returned CompletionStage.
+     *
+     * @param messageInfo A contextual object that encapsulates the client request and server response objects, as for
+     * <code>secureRequest</code>.
+     *
+     * @param clientSubject A Subject that represents the source of the service request, or null, as for
+     * <code>secureRequest</code>.
+     *
+     * @return A CompletionStage that is completed with the AuthStatus <code>secureRequest</code> would have returned, or
+     * completed exceptionally with an AuthException when the message processing failed without establishing a failure
+     * response message (in messageInfo).
+     */
+    default CompletionStage<AuthStatus> secureRequestAsync(MessageInfo messageInfo, Subject clientSubject) {
+        try {
+            return CompletableFuture.completedFuture(secureRequest(messageInfo, clientSubject));
+        } catch (AuthException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Validate a received service response.
      *
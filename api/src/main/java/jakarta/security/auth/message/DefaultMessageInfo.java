@@ -0,0 +1,454 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A reference <code>MessageInfo</code> implementation intended to be reset and reused by a message processing runtime,
+ * for instance one instance per worker thread, instead of being allocated per request.
+ *
+ * <p>
+ * The values of the well-known keys defined by this class live in fixed slots; other keys are held in a small
+ * open-addressing table. Neither allocates per entry, and {@link #reset()} empties both without releasing their
+ * storage, so a reused instance handling the usual keys allocates nothing.
+ *
+ * <p>
+ * The map returned by {@link #getMap()} does not permit null keys, but permits null values. Instances are not safe for
+ * concurrent use.
+ */
+public class DefaultMessageInfo implements MessageInfo {
+
+    /**
+     * Key whose boolean <code>String</code> value tells whether authentication is mandatory for the request.
+     */
+    public static final String IS_MANDATORY = "jakarta.security.auth.message.MessagePolicy.isMandatory";
+
+    /**
+     * Key with which a module asks the Servlet container to register an authentication session.
+     */
+    public static final String REGISTER_SESSION = "jakarta.servlet.http.registerSession";
+
+    /**
+     * Key with which a module sets the return value of <code>HttpServletRequest.getAuthType</code>.
+     */
+    public static final String AUTH_TYPE = "jakarta.servlet.http.authType";
+
+    /**
+     * Key whose value identifies the WSDL service of a SOAP message exchange.
+     */
+    public static final String WSDL_SERVICE = "jakarta.xml.ws.wsdl.service";
+
+    private static final String[] WELL_KNOWN_KEYS = { IS_MANDATORY, REGISTER_SESSION, AUTH_TYPE, WSDL_SERVICE };
+
+    private Object request;
+    private Object response;
+    private final PropertyMap map = new PropertyMap();
+
+    /**
+     * Creates an empty MessageInfo.
+     */
+    public DefaultMessageInfo() {
+    }
+
+    /**
+     * Creates a MessageInfo whose map holds the entries of the given map.
+     *
+     * @param map The initial entries, or null.
+     */
+    public DefaultMessageInfo(Map<String, Object> map) {
+        if (map != null) {
+            this.map.putAll(map);
+        }
+    }
+
+    /**
+     * Creates a MessageInfo for the given messages.
+     *
+     * @param request The request message, or null.
+     *
+     * @param response The response message, or null.
+     */
+    public DefaultMessageInfo(Object request, Object response) {
+        this.request = request;
+        this.response = response;
+    }
+
+    @Override
+    public Object getRequestMessage() {
+        return request;
+    }
+
+    @Override
+    public Object getResponseMessage() {
+        return response;
+    }
+
+    @Override
+    public void setRequestMessage(Object request) {
+        this.request = request;
+    }
+
+    @Override
+    public void setResponseMessage(Object response) {
+        this.response = response;
+    }
+
+    @Override
+    public Map<String, Object> getMap() {
+        return map;
+    }
+
+    /**
+     * Clears the messages and the map, so that this instance can be used for the next request.
+     */
+    public void reset() {
+        request = null;
+        response = null;
+        map.clear();
+    }
+
+    /**
+     * Returns the slot of a well-known key, or -1. Keys passed as the constants of this class are found by identity.
+     */
+    private static int slotOf(Object key) {
+        for (int i = 0; i < WELL_KNOWN_KEYS.length; i++) {
+            if (WELL_KNOWN_KEYS[i] == key) {
+                return i;
+            }
+        }
+        for (int i = 0; i < WELL_KNOWN_KEYS.length; i++) {
+            if (WELL_KNOWN_KEYS[i].equals(key)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static final class PropertyMap extends AbstractMap<String, Object> {
+
+        /**
+         * Marks an empty well-known slot, as null is a valid value.
+         */
+        private static final Object ABSENT = new Object();
+
+        /**
+         * Marks a removed overflow key, so that probe sequences passing it stay intact.
+         */
+        private static final String REMOVED = new String("removed");
+
+        private static final int INITIAL_CAPACITY = 8;
+
+        private final Object[] slots = new Object[WELL_KNOWN_KEYS.length];
+        private int slotCount;
+
+        private String[] keys;
+        private Object[] values;
+        private int overflowCount;
+        private int removedCount;
+
+        private EntrySet entrySet;
+
+        PropertyMap() {
+            Arrays.fill(slots, ABSENT);
+        }
+
+        @Override
+        public int size() {
+            return slotCount + overflowCount;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            int slot = slotOf(checkKey(key));
+            if (slot >= 0) {
+                return slots[slot] != ABSENT;
+            }
+
+            return indexOf(key) >= 0;
+        }
+
+        @Override
+        public Object get(Object key) {
+            int slot = slotOf(checkKey(key));
+            if (slot >= 0) {
+                Object value = slots[slot];
+                return value == ABSENT ? null : value;
+            }
+            int index = indexOf(key);
+
+            return index < 0 ? null : values[index];
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            int slot = slotOf(checkKey(key));
+            if (slot >= 0) {
+                Object previous = slots[slot];
+                slots[slot] = value;
+                if (previous == ABSENT) {
+                    slotCount++;
+                    return null;
+                }
+                return previous;
+            }
+
+            return putOverflow(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            int slot = slotOf(checkKey(key));
+            if (slot >= 0) {
+                Object previous = slots[slot];
+                if (previous == ABSENT) {
+                    return null;
+                }
+                slots[slot] = ABSENT;
+                slotCount--;
+                return previous;
+            }
+
+            int index = indexOf(key);
+            if (index < 0) {
+                return null;
+            }
+
+            return removeOverflow(index);
+        }
+
+        @Override
+        public void clear() {
+            if (slotCount > 0) {
+                Arrays.fill(slots, ABSENT);
+                slotCount = 0;
+            }
+            if (overflowCount + removedCount > 0) {
+                Arrays.fill(keys, null);
+                Arrays.fill(values, null);
+                overflowCount = 0;
+                removedCount = 0;
+            }
+        }
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            if (entrySet == null) {
+                entrySet = new EntrySet();
+            }
+
+            return entrySet;
+        }
+
+        private static Object checkKey(Object key) {
+            if (key == null) {
+                throw new NullPointerException("invalid null key");
+            }
+
+            return key;
+        }
+
+        private int indexOf(Object key) {
+            if (overflowCount == 0) {
+                return -1;
+            }
+
+            int mask = keys.length - 1;
+            for (int index = hash(key) & mask;; index = (index + 1) & mask) {
+                String candidate = keys[index];
+                if (candidate == null) {
+                    return -1;
+                }
+                if (candidate != REMOVED && candidate.equals(key)) {
+                    return index;
+                }
+            }
+        }
+
+        private Object putOverflow(String key, Object value) {
+            int index = indexOf(key);
+            if (index >= 0) {
+                Object previous = values[index];
+                values[index] = value;
+                return previous;
+            }
+
+            // only adding a key may rehash, so that setting the value of an entry doesn't disturb an iteration
+            if (keys == null) {
+                keys = new String[INITIAL_CAPACITY];
+                values = new Object[INITIAL_CAPACITY];
+            } else if ((overflowCount + removedCount + 1) * 2 > keys.length) {
+                rehash(overflowCount * 4 > keys.length ? keys.length * 2 : keys.length);
+            }
+
+            int mask = keys.length - 1;
+            index = hash(key) & mask;
+            while (keys[index] != null && keys[index] != REMOVED) {
+                index = (index + 1) & mask;
+            }
+            if (keys[index] == REMOVED) {
+                removedCount--;
+            }
+            keys[index] = key;
+            values[index] = value;
+            overflowCount++;
+
+            return null;
+        }
+
+        private Object removeOverflow(int index) {
+            Object previous = values[index];
+            keys[index] = REMOVED;
+            values[index] = null;
+            overflowCount--;
+            removedCount++;
+
+            return previous;
+        }
+
+        private void rehash(int capacity) {
+            String[] oldKeys = keys;
+            Object[] oldValues = values;
+            keys = new String[capacity];
+            values = new Object[capacity];
+            removedCount = 0;
+
+            int mask = capacity - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null && oldKeys[i] != REMOVED) {
+                    int index = hash(oldKeys[i]) & mask;
+                    while (keys[index] != null) {
+                        index = (index + 1) & mask;
+                    }
+                    keys[index] = oldKeys[i];
+                    values[index] = oldValues[i];
+                }
+            }
+        }
+
+        private static int hash(Object key) {
+            int hash = key.hashCode();
+            return hash ^ (hash >>> 16);
+        }
+
+        private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+            @Override
+            public int size() {
+                return PropertyMap.this.size();
+            }
+
+            @Override
+            public void clear() {
+                PropertyMap.this.clear();
+            }
+
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+        }
+
+        /**
+         * Visits the well-known slots, then the overflow table. Removing entries leaves the positions of all other
+         * entries unchanged, so removal through the iterator is supported.
+         */
+        private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+
+            private int next;
+            private int current = -1;
+
+            EntryIterator() {
+                next = advance(0);
+            }
+
+            private int advance(int position) {
+                for (; position < slots.length; position++) {
+                    if (slots[position] != ABSENT) {
+                        return position;
+                    }
+                }
+                if (keys != null) {
+                    for (; position < slots.length + keys.length; position++) {
+                        String key = keys[position - slots.length];
+                        if (key != null && key != REMOVED) {
+                            return position;
+                        }
+                    }
+                }
+
+                return -1;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public Map.Entry<String, Object> next() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                current = next;
+                next = advance(next + 1);
+
+                if (current < slots.length) {
+                    return new Entry(WELL_KNOWN_KEYS[current], slots[current]);
+                }
+
+                return new Entry(keys[current - slots.length], values[current - slots.length]);
+            }
+
+            @Override
+            public void remove() {
+                if (current < 0) {
+                    throw new IllegalStateException();
+                }
+                if (current < slots.length) {
+                    slots[current] = ABSENT;
+                    slotCount--;
+                } else {
+                    removeOverflow(current - slots.length);
+                }
+                current = -1;
+            }
+        }
+
+        private final class Entry extends AbstractMap.SimpleEntry<String, Object> {
+
+            private static final long serialVersionUID = 1L;
+
+            Entry(String key, Object value) {
+                super(key, value);
+            }
+
+            @Override
+            public Object setValue(Object value) {
+                super.setValue(value);
+                return put(getKey(), value);
+            }
+        }
+    }
+}
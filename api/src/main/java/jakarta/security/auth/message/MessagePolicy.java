@@ -17,6 +17,13 @@
 
 package jakarta.security.auth.message;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 import jakarta.security.auth.message.config.ClientAuthContext;
 import jakarta.security.auth.message.config.ServerAuthContext;
 import jakarta.security.auth.message.module.ClientAuthModule;
@@ -29,6 +36,11 @@ import jakarta.security.auth.message.module.ServerAuthModule;
  * A ClientAuthContext uses this class to communicate (at module initialization time) request and response message
  * protection policies to its ClientAuthModule objects. A ServerAuthContext uses this class to communicate request and
  * response message protection policies to its ServerAuthModule objects.
+ *
+ * <p>
+ * MessagePolicy objects are immutable. Policies that are equal in their target policies and mandatory flag can be
+ * shared; {@link #of(boolean, String...)} and a {@link MessagePolicy.Interner} return such shared instances, and
+ * {@link #getTargetPolicyList()} reads the target policies without copying them.
  * 
  * @see ClientAuthContext
  * @see ServerAuthContext
@@ -37,8 +49,26 @@ import jakarta.security.auth.message.module.ServerAuthModule;
  */
 public class MessagePolicy {
 
-    private TargetPolicy[] targetPolicies;
-    private boolean mandatory;
+    /**
+     * The protection policy identifiers for which {@link #of(boolean, String...)} shares policies.
+     */
+    private static final String[] SHARED_IDS = { ProtectionPolicy.AUTHENTICATE_SENDER, ProtectionPolicy.AUTHENTICATE_CONTENT,
+            ProtectionPolicy.AUTHENTICATE_RECIPIENT };
+
+    /**
+     * The most identifiers a policy shared by {@link #of(boolean, String...)} is made of.
+     */
+    private static final int MAX_SHARED_LENGTH = 3;
+
+    /**
+     * The policies shared by {@link #of(boolean, String...)}, indexed by {@link #sharedIndex(boolean, String[])}. They hold
+     * nothing but Strings and classes of this API, so keeping them doesn't keep any application class loader alive.
+     */
+    private static final AtomicReferenceArray<MessagePolicy> shared = new AtomicReferenceArray<>(2 << (2 * MAX_SHARED_LENGTH));
+
+    private final TargetPolicy[] targetPolicies;
+    private final List<TargetPolicy> targetPolicyList;
+    private final boolean mandatory;
 
     /**
      * Create a MessagePolicy instance with an array of target policies.
@@ -54,9 +84,52 @@ public class MessagePolicy {
             throw new IllegalArgumentException("invalid null targetPolicies");
         }
         this.targetPolicies = targetPolicies.clone();
+        this.targetPolicyList = Collections.unmodifiableList(Arrays.asList(this.targetPolicies));
         this.mandatory = mandatory;
     }
 
+    /**
+     * Get a MessagePolicy that applies the given protection policies, in the given order, to whole messages.
+     *
+     * <p>
+     * For up to three of the identifiers defined by {@link ProtectionPolicy}, every call with the same arguments returns
+     * the same instance. For other identifiers a new MessagePolicy is returned, which a runtime can share with a
+     * {@link MessagePolicy.Interner}.
+     *
+     * @param mandatory A boolean value indicating whether the MessagePolicy is mandatory or optional.
+     *
+     * @param protectionPolicyIDs The identifiers of the protection policies, for instance
+     * {@link ProtectionPolicy#AUTHENTICATE_SENDER}.
+     *
+     * @return A MessagePolicy with one TargetPolicy without targets per identifier.
+     *
+     * @exception IllegalArgumentException if protectionPolicyIDs is null or contains null.
+     */
+    public static MessagePolicy of(boolean mandatory, String... protectionPolicyIDs) {
+        if (protectionPolicyIDs == null) {
+            throw new IllegalArgumentException("invalid null protectionPolicyIDs");
+        }
+
+        for (String protectionPolicyID : protectionPolicyIDs) {
+            if (protectionPolicyID == null) {
+                throw new IllegalArgumentException("invalid null protectionPolicyID");
+            }
+        }
+
+        int index = sharedIndex(mandatory, protectionPolicyIDs);
+        if (index < 0) {
+            return newPolicy(mandatory, protectionPolicyIDs);
+        }
+
+        MessagePolicy policy = shared.get(index);
+        if (policy == null) {
+            shared.compareAndSet(index, null, newPolicy(mandatory, protectionPolicyIDs));
+            policy = shared.get(index);
+        }
+
+        return policy;
+    }
+
     /**
      * Get the MessagePolicy modifier.
      *
@@ -84,6 +157,150 @@ public class MessagePolicy {
         return targetPolicies.clone();
     }
 
+    /**
+     * Get the target policies that comprise the authentication policy, as an unmodifiable view.
+     *
+     * <p>
+     * Unlike {@link #getTargetPolicies()}, which returns a new array on every call, this method returns the same list
+     * every time.
+     *
+     * @return An unmodifiable list of target authentication policies, in the order described for
+     * {@link #getTargetPolicies()}.
+     */
+    public List<TargetPolicy> getTargetPolicyList() {
+        return targetPolicyList;
+    }
+
+    /**
+     * Returns the slot of the shared policy for the given arguments, or -1 if such a policy isn't shared. Each identifier
+     * takes two bits, 1 to 3 for the index in SHARED_IDS plus one, and the lowest bit is the mandatory flag.
+     */
+    private static int sharedIndex(boolean mandatory, String[] protectionPolicyIDs) {
+        if (protectionPolicyIDs.length > MAX_SHARED_LENGTH) {
+            return -1;
+        }
+
+        int index = 0;
+        for (int i = protectionPolicyIDs.length - 1; i >= 0; i--) {
+            int id = 0;
+            while (id < SHARED_IDS.length && !SHARED_IDS[id].equals(protectionPolicyIDs[i])) {
+                id++;
+            }
+            if (id == SHARED_IDS.length) {
+                return -1;
+            }
+            index = (index << 2) | (id + 1);
+        }
+
+        return (index << 1) | (mandatory ? 1 : 0);
+    }
+
+    private static MessagePolicy newPolicy(boolean mandatory, String[] protectionPolicyIDs) {
+        TargetPolicy[] targetPolicies = new TargetPolicy[protectionPolicyIDs.length];
+        for (int i = 0; i < protectionPolicyIDs.length; i++) {
+            targetPolicies[i] = new TargetPolicy(null, new IdentifiedProtectionPolicy(protectionPolicyIDs[i]));
+        }
+
+        return new MessagePolicy(targetPolicies, mandatory);
+    }
+
+    /**
+     * Shares equal MessagePolicy objects.
+     *
+     * <p>
+     * An interner holds on to every policy it returned, including the Target and ProtectionPolicy objects of the policy.
+     * A runtime therefore owns its interner and scopes it to what these objects belong to, for instance one interner per
+     * application, which is dropped with the application.
+     */
+    public static final class Interner {
+
+        private final ConcurrentMap<PolicyKey, MessagePolicy> policies = new ConcurrentHashMap<>();
+
+        /**
+         * Get the shared MessagePolicy equal to the given one.
+         *
+         * <p>
+         * Two policies are equal when they have the same mandatory flag, and target policies that pairwise have the same
+         * protection policy identifier and equal targets (as compared by their <code>equals</code> methods).
+         *
+         * @param policy The MessagePolicy to intern.
+         *
+         * @return The shared MessagePolicy equal to the given one, which is the given one if no equal policy was interned
+         * by this interner before.
+         *
+         * @exception IllegalArgumentException if policy is null.
+         */
+        public MessagePolicy intern(MessagePolicy policy) {
+            if (policy == null) {
+                throw new IllegalArgumentException("invalid null policy");
+            }
+
+            MessagePolicy shared = policies.putIfAbsent(new PolicyKey(policy), policy);
+
+            return shared == null ? policy : shared;
+        }
+
+        /**
+         * Removes all policies from this interner.
+         */
+        public void clear() {
+            policies.clear();
+        }
+    }
+
+    /**
+     * A ProtectionPolicy that is nothing but its identifier.
+     */
+    private static final class IdentifiedProtectionPolicy implements ProtectionPolicy {
+
+        private final String id;
+
+        IdentifiedProtectionPolicy(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public String getID() {
+            return id;
+        }
+    }
+
+    /**
+     * The parts of a MessagePolicy that {@link Interner#intern(MessagePolicy)} compares.
+     */
+    private static final class PolicyKey {
+
+        private final boolean mandatory;
+        private final Object[] parts;
+        private final int hash;
+
+        PolicyKey(MessagePolicy policy) {
+            this.mandatory = policy.mandatory;
+            this.parts = new Object[policy.targetPolicies.length * 2];
+            for (int i = 0; i < policy.targetPolicies.length; i++) {
+                TargetPolicy targetPolicy = policy.targetPolicies[i];
+                parts[2 * i] = targetPolicy.targets;
+                parts[2 * i + 1] = targetPolicy.protectionPolicy.getID();
+            }
+            this.hash = 31 * Arrays.deepHashCode(parts) + Boolean.hashCode(mandatory);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof PolicyKey)) {
+                return false;
+            }
+            PolicyKey other = (PolicyKey) obj;
+
+            return mandatory == other.mandatory && Arrays.deepEquals(parts, other.parts);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
     /**
      * This class defines the message protection policies for specific Targets.
      *
@@ -97,8 +314,8 @@ public class MessagePolicy {
      */
     public static class TargetPolicy {
 
-        private Target[] targets;
-        private ProtectionPolicy protectionPolicy;
+        private final Target[] targets;
+        private final ProtectionPolicy protectionPolicy;
 
         /**
          * Create a TargetPolicy instance with an array of Targets and with a ProtectionPolicy.
@@ -130,7 +347,7 @@ public class MessagePolicy {
          * never returns a zero-length array.
          */
         public Target[] getTargets() {
-            return targets;
+            return targets == null ? null : targets.clone();
         }
 
         /**
@@ -18,6 +18,9 @@
 
 package jakarta.security.auth.message;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 import javax.security.auth.Subject;
 
 /**
@@ -82,6 +85,43 @@ public interface ServerAuth {
      */
     AuthStatus validateRequest(MessageInfo messageInfo, Subject clientSubject, Subject serviceSubject) throws AuthException;
 
+    /**
+     * Authenticate a received service request, without requiring the calling thread to wait for the outcome.
+     *
+     * <p>
+     * This method is the asynchronous form of {@link #validateRequest(MessageInfo, Subject, Subject)}. An implementation
+     * that has to wait for a remote party, for instance to introspect a token or to check a revocation list, may return
+     * a CompletionStage that it completes when the answer arrives, so that a runtime with asynchronous message processing
+     * can suspend the request instead of blocking a thread. The runtime must not access messageInfo or clientSubject,
+     * and must not call another method of this interface for the same message exchange, until the returned
+     * CompletionStage is completed.
+     *
+     * <p>
+     * The default implementation calls <code>validateRequest</code> on the calling thread, and returns a CompletionStage
+     * that is already completed with its result or, if it throws an AuthException or a RuntimeException, with that
+     * exception. It never throws itself, so a runtime handles every failure through the returned CompletionStage.
+     *
+     * @param messageInfo A contextual object that encapsulates the client request and server response objects, as for
+     * <code>validateRequest</code>.
+     *
+     * @param clientSubject A Subject that represents the source of the service request, as for
+     * <code>validateRequest</code>.
+     *
+     * @param serviceSubject A Subject that represents the recipient of the service request, or null, as for
+     * <code>validateRequest</code>.
+     *
+     * @return A CompletionStage that is completed with the AuthStatus <code>validateRequest</code> would have returned, or
+     * completed exceptionally with an AuthException when the message processing failed without establishing a failure
+     * response message (in messageInfo).
+     */
+    default CompletionStage<AuthStatus> validateRequestAsync(MessageInfo messageInfo, Subject clientSubject, Subject serviceSubject) {
+        try {
+            return CompletableFuture.completedFuture(validateRequest(messageInfo, clientSubject, serviceSubject));
+        } catch (AuthException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Secure a service response before sending it to the client.
      *
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message.callback;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.Set;
+import java.util.function.Function;
+
+import javax.security.auth.Subject;
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.CallbackHandler;
+import javax.security.auth.callback.UnsupportedCallbackException;
+
+/**
+ * Callback establishing the caller principal and the group principals within the argument subject at once.
+ *
+ * <p>
+ * Handling this callback is equivalent to handling the <code>CallerPrincipalCallback</code> and
+ * <code>GroupPrincipalCallback</code> returned by {@link #toCallbacks()}, in that order. It lets a handler create all
+ * principals of the caller in one pass, with {@link #establish(Principal, Function)}, instead of dispatching two
+ * callbacks.
+ *
+ * <p>
+ * This callback is intended to be called by a <code>serverAuthModule</code> during its <code>validateRequest</code>
+ * processing, via {@link #handle(CallbackHandler, CallerIdentityCallback)} so that handlers that don't support it are
+ * passed the equivalent callbacks instead.
+ */
+public class CallerIdentityCallback implements Callback {
+
+    private final Subject subject;
+    private final Principal principal;
+    private final String name;
+    private final String[] groups;
+
+    /**
+     * Create a CallerIdentityCallback to set the container's representation of the caller principal and of the
+     * corresponding group principals.
+     *
+     * @param subject The Subject in which the container will establish the caller identity.
+     *
+     * @param principal The Principal that will be distinguished as the caller principal, as described for
+     * {@link CallerPrincipalCallback#CallerPrincipalCallback(Subject, Principal)}. This value may be null.
+     *
+     * @param groups The names of the groups, as described for
+     * {@link GroupPrincipalCallback#GroupPrincipalCallback(Subject, String[])}. This value may be null.
+     */
+    public CallerIdentityCallback(Subject subject, Principal principal, String[] groups) {
+        this.subject = subject;
+        this.principal = principal;
+        this.name = null;
+        this.groups = groups;
+    }
+
+    /**
+     * Create a CallerIdentityCallback to set the container's representation of the caller principal and of the
+     * corresponding group principals.
+     *
+     * @param subject The Subject in which the container will establish the caller identity.
+     *
+     * @param name The name of the caller principal, as described for
+     * {@link CallerPrincipalCallback#CallerPrincipalCallback(Subject, String)}. This value may be null.
+     *
+     * @param groups The names of the groups, as described for
+     * {@link GroupPrincipalCallback#GroupPrincipalCallback(Subject, String[])}. This value may be null.
+     */
+    public CallerIdentityCallback(Subject subject, String name, String[] groups) {
+        this.subject = subject;
+        this.principal = null;
+        this.name = name;
+        this.groups = groups;
+    }
+
+    /**
+     * Pass the given callback to the given handler, or, if the handler does not support it, the equivalent
+     * <code>CallerPrincipalCallback</code> and <code>GroupPrincipalCallback</code>.
+     *
+     * @param handler The CallbackHandler of the container.
+     *
+     * @param callback The callback to pass.
+     *
+     * @exception IOException If the handler fails with an IOException.
+     *
+     * @exception UnsupportedCallbackException If the handler supports neither this callback nor the equivalent callbacks.
+     */
+    public static void handle(CallbackHandler handler, CallerIdentityCallback callback) throws IOException, UnsupportedCallbackException {
+        try {
+            handler.handle(new Callback[] { callback });
+        } catch (UnsupportedCallbackException e) {
+            if (e.getCallback() != callback) {
+                throw e;
+            }
+            handler.handle(callback.toCallbacks());
+        }
+    }
+
+    /**
+     * Get the Subject in which the handler will establish the caller identity.
+     *
+     * @return The subject.
+     */
+    public Subject getSubject() {
+        return subject;
+    }
+
+    /**
+     * Get the caller principal.
+     *
+     * @return The principal or null.
+     */
+    public Principal getPrincipal() {
+        return principal;
+    }
+
+    /**
+     * Get the caller principal name.
+     *
+     * @return The principal name or null.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the array of group names.
+     *
+     * @return Null, or an array containing 0 or more String group names.
+     */
+    public String[] getGroups() {
+        return groups;
+    }
+
+    /**
+     * Get the callbacks equivalent to this one.
+     *
+     * @return A <code>CallerPrincipalCallback</code> followed by a <code>GroupPrincipalCallback</code>, for the same
+     * Subject.
+     */
+    public Callback[] toCallbacks() {
+        CallerPrincipalCallback callerPrincipalCallback = principal != null || name == null
+                ? new CallerPrincipalCallback(subject, principal)
+                : new CallerPrincipalCallback(subject, name);
+
+        return new Callback[] { callerPrincipalCallback, new GroupPrincipalCallback(subject, groups) };
+    }
+
+    /**
+     * Used by the CallbackHandler to add the caller principal and the group principals to the Subject.
+     *
+     * <p>
+     * Principals that the Subject already contains are not added again.
+     *
+     * @param callerPrincipal The container's representation of the caller principal, or null to add none.
+     *
+     * @param groupPrincipal Creates the container's representation of the group principal for a group name.
+     */
+    public void establish(Principal callerPrincipal, Function<String, ? extends Principal> groupPrincipal) {
+        Set<Principal> principals = subject.getPrincipals();
+        if (callerPrincipal != null) {
+            principals.add(callerPrincipal);
+        }
+        if (groups != null) {
+            for (String group : groups) {
+                principals.add(groupPrincipal.apply(group));
+            }
+        }
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message.callback;
+
+import static java.util.Collections.unmodifiableSet;
+
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import jakarta.security.auth.message.config.RegistrationListener;
+
+/**
+ * A cache of the application roles and group principals a container derives from the group names passed in a
+ * <code>GroupPrincipalCallback</code>, so that users with many groups are not mapped to roles again on every request.
+ *
+ * <p>
+ * Entries are keyed by the appContext and the array of group names, compared element by element in their given order;
+ * the same groups in another order form another entry with an equal mapping. The cached role and principal sets are
+ * immutable, so the principals may be added to any number of Subjects.
+ *
+ * <p>
+ * The cache holds at most the given number of entries; when it is full, an arbitrary entry is evicted for each new one.
+ * Mappings depend on the configuration of the container, so the cache must be invalidated when that configuration
+ * changes. The cache is a <code>RegistrationListener</code>: passed to <code>AuthConfigFactory.getConfigProvider</code>
+ * of any factory, it drops the mappings of an appContext when the provider registered for it changes. As factories
+ * don't notify listeners when they are refreshed, a refresh of the configuration the {@link RoleMapper} depends on must
+ * call {@link #invalidate()}: with a {@link jakarta.security.auth.message.config.DefaultAuthConfigFactory} it can be
+ * registered with {@link jakarta.security.auth.message.config.DefaultAuthConfigFactory#addRefreshListener(Runnable)},
+ * otherwise the container calls it itself. A mapping that was being computed while the cache was invalidated is returned
+ * to its caller but not cached.
+ */
+public class GroupMappingCache implements RegistrationListener {
+
+    /**
+     * Maps the groups of a caller to the roles of an application.
+     */
+    @FunctionalInterface
+    public interface RoleMapper {
+
+        /**
+         * Get the roles of an application the members of the given groups are in.
+         *
+         * @param appContext The application context, or null.
+         *
+         * @param groups The names of the groups.
+         *
+         * @return The names of the roles, never null; a null makes <code>getMapping</code> throw an
+         * IllegalStateException.
+         */
+        Set<String> getRoles(String appContext, String[] groups);
+    }
+
+    private final RoleMapper roleMapper;
+    private final Function<String, ? extends Principal> groupPrincipal;
+    private final int maxSize;
+
+    private final ConcurrentMap<Key, Mapping> mappings = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented by every {@link #invalidate()}, so that a mapping computed from the previous configuration is not cached.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a cache.
+     *
+     * @param roleMapper Maps groups to roles on a cache miss.
+     *
+     * @param groupPrincipal Creates the container's representation of the group principal for a group name on a cache
+     * miss.
+     *
+     * @param maxSize The most entries the cache holds.
+     */
+    public GroupMappingCache(RoleMapper roleMapper, Function<String, ? extends Principal> groupPrincipal, int maxSize) {
+        if (roleMapper == null) {
+            throw new IllegalArgumentException("invalid null roleMapper");
+        }
+        if (groupPrincipal == null) {
+            throw new IllegalArgumentException("invalid null groupPrincipal");
+        }
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("invalid maxSize: " + maxSize);
+        }
+        this.roleMapper = roleMapper;
+        this.groupPrincipal = groupPrincipal;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the mapping of the given groups, mapping and caching them on first use.
+     *
+     * @param appContext The application context, or null.
+     *
+     * @param groups The group names, as returned by <code>GroupPrincipalCallback.getGroups()</code>. When null, the
+     * empty mapping is returned.
+     *
+     * @return The mapping of the groups.
+     *
+     * @exception IllegalStateException if the RoleMapper returns null roles or the groupPrincipal function returns a null
+     * principal.
+     */
+    public Mapping getMapping(String appContext, String[] groups) {
+        if (groups == null) {
+            return Mapping.EMPTY;
+        }
+
+        Mapping mapping = mappings.get(new Key(appContext, groups));
+        if (mapping != null) {
+            hits.increment();
+            return mapping;
+        }
+
+        misses.increment();
+
+        // the key of the entry gets its own copy, as the caller may reuse its array
+        String[] copy = groups.clone();
+        long createdIn = generation.get();
+        mapping = createMapping(appContext, copy);
+        if (generation.get() != createdIn) {
+            return mapping;
+        }
+
+        if (mappings.size() >= maxSize) {
+            Iterator<Key> keys = mappings.keySet().iterator();
+            if (keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        Key key = new Key(appContext, copy);
+        Mapping existing = mappings.putIfAbsent(key, mapping);
+        if (existing != null) {
+            return existing;
+        }
+
+        if (generation.get() != createdIn) {
+            // invalidated between the check above and the put, which the clear may have missed
+            mappings.remove(key, mapping);
+        }
+
+        return mapping;
+    }
+
+    /**
+     * Drops all cached mappings, including those being computed by concurrent <code>getMapping</code> calls.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        mappings.clear();
+    }
+
+    /**
+     * Drops the cached mappings of the appContext the factory notified this cache for, or all cached mappings if that
+     * appContext is null, including those being computed by concurrent <code>getMapping</code> calls.
+     */
+    @Override
+    public void notify(String layer, String appContext) {
+        generation.incrementAndGet();
+        if (appContext == null) {
+            mappings.clear();
+        } else {
+            mappings.keySet().removeIf(key -> appContext.equals(key.appContext));
+        }
+    }
+
+    /**
+     * @return The number of <code>getMapping</code> calls that were served from the cache.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of <code>getMapping</code> calls that had to map the groups.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    private Mapping createMapping(String appContext, String[] groups) {
+        Set<Principal> principals = new LinkedHashSet<>();
+        for (String group : groups) {
+            Principal principal = groupPrincipal.apply(group);
+            if (principal == null) {
+                throw new IllegalStateException("groupPrincipal returned null for group " + group);
+            }
+            principals.add(principal);
+        }
+
+        Set<String> roles = roleMapper.getRoles(appContext, groups);
+        if (roles == null) {
+            throw new IllegalStateException("RoleMapper returned null roles for appContext " + appContext);
+        }
+
+        return new Mapping(unmodifiableSet(new LinkedHashSet<>(roles)), unmodifiableSet(principals));
+    }
+
+    /**
+     * The roles and group principals derived from a set of groups.
+     */
+    public static final class Mapping {
+
+        static final Mapping EMPTY = new Mapping(unmodifiableSet(new LinkedHashSet<>()), unmodifiableSet(new LinkedHashSet<>()));
+
+        private final Set<String> roles;
+        private final Set<Principal> groupPrincipals;
+
+        Mapping(Set<String> roles, Set<Principal> groupPrincipals) {
+            this.roles = roles;
+            this.groupPrincipals = groupPrincipals;
+        }
+
+        /**
+         * @return The unmodifiable set of role names.
+         */
+        public Set<String> getRoles() {
+            return roles;
+        }
+
+        /**
+         * @return The unmodifiable set of group principals, one per distinct group name.
+         */
+        public Set<Principal> getGroupPrincipals() {
+            return groupPrincipals;
+        }
+    }
+
+    private static final class Key {
+
+        private final String appContext;
+        private final String[] groups;
+        private final int hash;
+
+        Key(String appContext, String[] groups) {
+            this.appContext = appContext;
+            this.groups = groups;
+            this.hash = 31 * Objects.hashCode(appContext) + Arrays.hashCode(groups);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+
+            return hash == other.hash && Objects.equals(appContext, other.appContext) && Arrays.equals(groups, other.groups);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
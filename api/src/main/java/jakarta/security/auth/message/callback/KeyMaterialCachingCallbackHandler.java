@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message.callback;
+
+import java.io.IOException;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.CertStore;
+import java.security.cert.Certificate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.crypto.SecretKey;
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.CallbackHandler;
+import javax.security.auth.callback.UnsupportedCallbackException;
+
+/**
+ * A CallbackHandler that remembers the key material a container's CallbackHandler resolves for
+ * <code>PrivateKeyCallback</code>, <code>SecretKeyCallback</code>, <code>CertStoreCallback</code> and
+ * <code>TrustStoreCallback</code>, so that modules that sign or decrypt every message don't cause a keystore lookup per
+ * message.
+ *
+ * <p>
+ * Results are keyed by the request of the callback: the alias of an <code>AliasRequest</code>, the identifier of a
+ * <code>SubjectKeyIDRequest</code>, the issuer and serial number of an <code>IssuerSerialNumRequest</code>, the
+ * algorithm and digest of a <code>DigestRequest</code>, or the absence of a request. Callbacks with a request of any
+ * other type, and all other callbacks, are always passed to the wrapped handler. Only found key material is
+ * remembered, so the number of entries is bounded by the key material available to the wrapped handler.
+ *
+ * <p>
+ * Entries expire after the time to live given at construction, and are dropped immediately by {@link #invalidate()},
+ * which should be called when the underlying keystores change.
+ */
+public class KeyMaterialCachingCallbackHandler implements CallbackHandler {
+
+    private final CallbackHandler handler;
+    private final long timeToLiveNanos;
+
+    private final ConcurrentMap<RequestKey, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a handler that caches the key material resolved by the given handler.
+     *
+     * @param handler The CallbackHandler that resolves the key material.
+     *
+     * @param timeToLive How long resolved key material is reused.
+     */
+    public KeyMaterialCachingCallbackHandler(CallbackHandler handler, Duration timeToLive) {
+        if (handler == null) {
+            throw new IllegalArgumentException("invalid null handler");
+        }
+        if (timeToLive == null || timeToLive.isNegative()) {
+            throw new IllegalArgumentException("invalid time to live: " + timeToLive);
+        }
+        this.handler = handler;
+        this.timeToLiveNanos = timeToLive.toNanos();
+    }
+
+    /**
+     * Completes the key material callbacks for which key material is remembered, and passes all other callbacks, in
+     * their original order, to the wrapped handler in a single call.
+     */
+    @Override
+    public void handle(Callback[] callbacks) throws IOException, UnsupportedCallbackException {
+        long now = System.nanoTime();
+
+        List<Callback> unresolved = null;
+        RequestKey[] keys = new RequestKey[callbacks.length];
+        for (int i = 0; i < callbacks.length; i++) {
+            keys[i] = RequestKey.of(callbacks[i]);
+
+            Entry entry = keys[i] == null ? null : entries.get(keys[i]);
+            if (entry != null && now - entry.createdNanos < timeToLiveNanos) {
+                entry.apply(callbacks[i]);
+                keys[i] = null;
+            } else {
+                if (unresolved == null) {
+                    unresolved = new ArrayList<>(callbacks.length);
+                }
+                unresolved.add(callbacks[i]);
+            }
+        }
+
+        if (unresolved == null) {
+            return;
+        }
+
+        handler.handle(unresolved.size() == callbacks.length ? callbacks : unresolved.toArray(new Callback[0]));
+
+        for (int i = 0; i < callbacks.length; i++) {
+            if (keys[i] != null) {
+                Entry entry = Entry.of(callbacks[i], now);
+                if (entry != null) {
+                    entries.put(keys[i], entry);
+                } else {
+                    entries.remove(keys[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops all remembered key material.
+     */
+    public void invalidate() {
+        entries.clear();
+    }
+
+    /**
+     * @return The wrapped CallbackHandler.
+     */
+    public CallbackHandler getHandler() {
+        return handler;
+    }
+
+    /**
+     * Identifies the key material a callback requests; the parts are compared by content, including byte arrays.
+     */
+    private static final class RequestKey {
+
+        private final Object[] parts;
+        private final int hash;
+
+        private RequestKey(Object... parts) {
+            this.parts = parts;
+            this.hash = Arrays.deepHashCode(parts);
+        }
+
+        static RequestKey of(Callback callback) {
+            if (callback instanceof PrivateKeyCallback) {
+                PrivateKeyCallback.Request request = ((PrivateKeyCallback) callback).getRequest();
+                if (request == null) {
+                    return new RequestKey(PrivateKeyCallback.class);
+                }
+                if (request instanceof PrivateKeyCallback.AliasRequest) {
+                    return new RequestKey(PrivateKeyCallback.AliasRequest.class, ((PrivateKeyCallback.AliasRequest) request).getAlias());
+                }
+                if (request instanceof PrivateKeyCallback.SubjectKeyIDRequest) {
+                    return new RequestKey(PrivateKeyCallback.SubjectKeyIDRequest.class,
+                            copy(((PrivateKeyCallback.SubjectKeyIDRequest) request).getSubjectKeyID()));
+                }
+                if (request instanceof PrivateKeyCallback.IssuerSerialNumRequest) {
+                    PrivateKeyCallback.IssuerSerialNumRequest issuerSerialNumRequest = (PrivateKeyCallback.IssuerSerialNumRequest) request;
+                    return new RequestKey(PrivateKeyCallback.IssuerSerialNumRequest.class, issuerSerialNumRequest.getIssuer(),
+                            issuerSerialNumRequest.getSerialNum());
+                }
+                if (request instanceof PrivateKeyCallback.DigestRequest) {
+                    PrivateKeyCallback.DigestRequest digestRequest = (PrivateKeyCallback.DigestRequest) request;
+                    return new RequestKey(PrivateKeyCallback.DigestRequest.class, digestRequest.getAlgorithm(),
+                            copy(digestRequest.getDigest()));
+                }
+                return null;
+            }
+            if (callback instanceof SecretKeyCallback) {
+                SecretKeyCallback.Request request = ((SecretKeyCallback) callback).getRequest();
+                if (request == null) {
+                    return new RequestKey(SecretKeyCallback.class);
+                }
+                if (request instanceof SecretKeyCallback.AliasRequest) {
+                    return new RequestKey(SecretKeyCallback.AliasRequest.class, ((SecretKeyCallback.AliasRequest) request).getAlias());
+                }
+                return null;
+            }
+            if (callback instanceof CertStoreCallback) {
+                return new RequestKey(CertStoreCallback.class);
+            }
+            if (callback instanceof TrustStoreCallback) {
+                return new RequestKey(TrustStoreCallback.class);
+            }
+
+            return null;
+        }
+
+        private static byte[] copy(byte[] bytes) {
+            return bytes == null ? null : bytes.clone();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof RequestKey && Arrays.deepEquals(parts, ((RequestKey) obj).parts);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Key material resolved by the wrapped handler.
+     */
+    private static final class Entry {
+
+        private final Object material;
+        private final Certificate[] chain;
+        private final long createdNanos;
+
+        private Entry(Object material, Certificate[] chain, long createdNanos) {
+            this.material = material;
+            this.chain = chain;
+            this.createdNanos = createdNanos;
+        }
+
+        /**
+         * @return The key material set within the callback, or null if the handler found none.
+         */
+        static Entry of(Callback callback, long now) {
+            Object material;
+            Certificate[] chain = null;
+            if (callback instanceof PrivateKeyCallback) {
+                material = ((PrivateKeyCallback) callback).getKey();
+                chain = ((PrivateKeyCallback) callback).getChain();
+                if (chain != null) {
+                    chain = chain.clone();
+                }
+            } else if (callback instanceof SecretKeyCallback) {
+                material = ((SecretKeyCallback) callback).getKey();
+            } else if (callback instanceof CertStoreCallback) {
+                material = ((CertStoreCallback) callback).getCertStore();
+            } else {
+                material = ((TrustStoreCallback) callback).getTrustStore();
+            }
+
+            return material == null ? null : new Entry(material, chain, now);
+        }
+
+        void apply(Callback callback) {
+            if (callback instanceof PrivateKeyCallback) {
+                ((PrivateKeyCallback) callback).setKey((PrivateKey) material, chain == null ? null : chain.clone());
+            } else if (callback instanceof SecretKeyCallback) {
+                ((SecretKeyCallback) callback).setKey((SecretKey) material);
+            } else if (callback instanceof CertStoreCallback) {
+                ((CertStoreCallback) callback).setCertStore((CertStore) material);
+            } else {
+                ((TrustStoreCallback) callback).setTrustStore((KeyStore) material);
+            }
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message.callback;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.security.auth.Subject;
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.CallbackHandler;
+import javax.security.auth.callback.UnsupportedCallbackException;
+
+/**
+ * A CallbackHandler that remembers the outcome of the <code>PasswordValidationCallback</code>s a container's
+ * CallbackHandler handles, so that modules that receive the credentials with every request, such as BASIC
+ * authentication modules, don't cause a password verification against the identity store per request.
+ *
+ * <p>
+ * Outcomes are keyed by the username and a SHA-256 digest of the password salted with a random value chosen per
+ * instance; passwords themselves are never held, and the password of a callback is left for its module to clear.
+ * Failed validations are remembered too, for a separate, typically shorter, time. For successful validations the
+ * principals the wrapped handler adds are remembered, and added to the Subject of a callback served from the cache;
+ * credentials are not. To tell these principals apart, the wrapped handler validates against a new, empty Subject,
+ * whose principals and credentials are then added to the Subject of the callback.
+ *
+ * <p>
+ * The cache holds at most the given number of outcomes; when it is full, an arbitrary outcome is evicted for each new
+ * one. {@link #invalidate()} drops all outcomes, and should be called when the identity store changes.
+ *
+ * <p>
+ * Caching means that a changed or revoked password keeps being accepted until its outcome expires. As the salted
+ * digest is fast to compute, an attacker able to read the memory of the process could test guesses against the cached
+ * digests quickly; use this handler only where that is acceptable.
+ */
+public class PasswordValidationCachingCallbackHandler implements CallbackHandler {
+
+    private static final int SALT_LENGTH = 16;
+
+    private final CallbackHandler handler;
+    private final long timeToLiveNanos;
+    private final long negativeTimeToLiveNanos;
+    private final int maxSize;
+
+    private final byte[] salt = new byte[SALT_LENGTH];
+
+    private final ConcurrentMap<Key, Outcome> outcomes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a handler that caches the password validations of the given handler.
+     *
+     * @param handler The CallbackHandler that validates passwords.
+     *
+     * @param timeToLive How long a successful validation is reused.
+     *
+     * @param negativeTimeToLive How long a failed validation is reused.
+     *
+     * @param maxSize The most outcomes the cache holds.
+     */
+    public PasswordValidationCachingCallbackHandler(CallbackHandler handler, Duration timeToLive, Duration negativeTimeToLive, int maxSize) {
+        if (handler == null) {
+            throw new IllegalArgumentException("invalid null handler");
+        }
+        if (timeToLive == null || timeToLive.isNegative()) {
+            throw new IllegalArgumentException("invalid time to live: " + timeToLive);
+        }
+        if (negativeTimeToLive == null || negativeTimeToLive.isNegative()) {
+            throw new IllegalArgumentException("invalid negative time to live: " + negativeTimeToLive);
+        }
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("invalid maxSize: " + maxSize);
+        }
+        this.handler = handler;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.negativeTimeToLiveNanos = negativeTimeToLive.toNanos();
+        this.maxSize = maxSize;
+
+        new SecureRandom().nextBytes(salt);
+    }
+
+    /**
+     * Completes the <code>PasswordValidationCallback</code>s whose outcome is remembered, and passes all other callbacks
+     * to the wrapped handler, preserving their order. A password validation that is not remembered is passed on its own,
+     * so that the principals it adds can be told apart from those added by other callbacks.
+     */
+    @Override
+    public void handle(Callback[] callbacks) throws IOException, UnsupportedCallbackException {
+        List<Callback> pending = null;
+        for (Callback callback : callbacks) {
+            Key key = callback instanceof PasswordValidationCallback ? key((PasswordValidationCallback) callback) : null;
+            if (key == null) {
+                if (pending == null) {
+                    pending = new ArrayList<>(callbacks.length);
+                }
+                pending.add(callback);
+                continue;
+            }
+
+            if (pending != null && !pending.isEmpty()) {
+                handler.handle(pending.toArray(new Callback[0]));
+                pending.clear();
+            }
+            validate((PasswordValidationCallback) callback, key);
+        }
+
+        if (pending != null && !pending.isEmpty()) {
+            handler.handle(pending.size() == callbacks.length ? callbacks : pending.toArray(new Callback[0]));
+        }
+    }
+
+    /**
+     * Drops all remembered outcomes.
+     */
+    public void invalidate() {
+        outcomes.clear();
+    }
+
+    private void validate(PasswordValidationCallback callback, Key key) throws IOException, UnsupportedCallbackException {
+        long now = System.nanoTime();
+        Subject subject = callback.getSubject();
+
+        Outcome outcome = outcomes.get(key);
+        if (outcome != null && now - outcome.createdNanos < (outcome.result ? timeToLiveNanos : negativeTimeToLiveNanos)) {
+            if (outcome.result && subject != null) {
+                subject.getPrincipals().addAll(outcome.principals);
+            }
+            callback.setResult(outcome.result);
+            return;
+        }
+
+        // Validate against an empty Subject, so that all the principals the wrapped handler adds are remembered, including
+        // those the Subject of the callback already held
+        Subject validated = new Subject();
+        PasswordValidationCallback validation = new PasswordValidationCallback(validated, callback.getUsername(), callback.getPassword());
+        try {
+            handler.handle(new Callback[] { validation });
+        } finally {
+            // the callback holds its own copy of the password
+            validation.clearPassword();
+        }
+
+        callback.setResult(validation.getResult());
+        Set<Principal> added = Collections.emptySet();
+        if (validation.getResult()) {
+            added = new HashSet<>(validated.getPrincipals());
+            if (subject != null) {
+                subject.getPrincipals().addAll(validated.getPrincipals());
+                subject.getPublicCredentials().addAll(validated.getPublicCredentials());
+                subject.getPrivateCredentials().addAll(validated.getPrivateCredentials());
+            }
+        }
+
+        if (outcomes.size() >= maxSize) {
+            Iterator<Key> keys = outcomes.keySet().iterator();
+            if (keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        outcomes.put(key, new Outcome(callback.getResult(), Collections.unmodifiableSet(added), now));
+    }
+
+    /**
+     * @return The key of the callback, or null if it has no username or password and is not cached.
+     */
+    private Key key(PasswordValidationCallback callback) {
+        String username = callback.getUsername();
+        char[] password = callback.getPassword();
+        if (username == null || password == null) {
+            return null;
+        }
+
+        ByteBuffer encoded = UTF_8.encode(CharBuffer.wrap(password));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt);
+            digest.update(encoded.duplicate());
+
+            return new Key(username, digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        } finally {
+            // don't leave the encoded password around
+            if (encoded.hasArray()) {
+                Arrays.fill(encoded.array(), (byte) 0);
+            } else {
+                while (encoded.hasRemaining()) {
+                    encoded.put((byte) 0);
+                }
+            }
+        }
+    }
+
+    private static final class Key {
+
+        private final String username;
+        private final byte[] digest;
+        private final int hash;
+
+        Key(String username, byte[] digest) {
+            this.username = username;
+            this.digest = digest;
+            this.hash = 31 * username.hashCode() + Arrays.hashCode(digest);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+
+            return username.equals(other.username) && MessageDigest.isEqual(digest, other.digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Outcome {
+
+        private final boolean result;
+        private final Set<Principal> principals;
+        private final long createdNanos;
+
+        Outcome(boolean result, Set<Principal> principals, long createdNanos) {
+            this.result = result;
+            this.principals = principals;
+            this.createdNanos = createdNanos;
+        }
+    }
+}
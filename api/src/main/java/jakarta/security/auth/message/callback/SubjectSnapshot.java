@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message.callback;
+
+import java.io.Serializable;
+import java.security.Principal;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.security.auth.Subject;
+
+/**
+ * An immutable snapshot of the principals of an authenticated caller.
+ *
+ * <p>
+ * A runtime that registers an authentication session, as requested by a <code>ServerAuthModule</code> with the
+ * <code>jakarta.servlet.http.registerSession</code> property, may store a SubjectSnapshot in the session instead of
+ * the names of the caller and its groups. When a module later continues the session, by passing a
+ * <code>CallerPrincipalCallback</code> for the caller principal of the snapshot, the runtime can bind the read-only
+ * Subject returned by {@link #getSubject()} by reference, or add the principals to the Subject of the callback with
+ * {@link #establish(Subject)}, instead of establishing the caller principal and the group principals again.
+ *
+ * <p>
+ * A SubjectSnapshot is serializable if its principals are, so that it can be stored in sessions that are persisted or
+ * replicated.
+ */
+public final class SubjectSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Principal callerPrincipal;
+    private final Set<Principal> principals;
+    private final transient Subject subject;
+
+    /**
+     * Create a SubjectSnapshot from the caller principal and the other principals of a caller.
+     *
+     * @param callerPrincipal The container's representation of the caller principal.
+     *
+     * @param groupPrincipals The other principals of the caller, typically the container's representation of its group
+     * principals. This value may be null.
+     */
+    public SubjectSnapshot(Principal callerPrincipal, Collection<? extends Principal> groupPrincipals) {
+        if (callerPrincipal == null) {
+            throw new IllegalArgumentException("invalid null callerPrincipal");
+        }
+        Set<Principal> principals = new LinkedHashSet<>();
+        principals.add(callerPrincipal);
+        if (groupPrincipals != null) {
+            for (Principal groupPrincipal : groupPrincipals) {
+                if (groupPrincipal == null) {
+                    throw new IllegalArgumentException("invalid null group principal");
+                }
+                principals.add(groupPrincipal);
+            }
+        }
+
+        this.callerPrincipal = callerPrincipal;
+        this.principals = Collections.unmodifiableSet(principals);
+        this.subject = new Subject(true, this.principals, Collections.emptySet(), Collections.emptySet());
+    }
+
+    /**
+     * Create a SubjectSnapshot of the principals of an authenticated Subject.
+     *
+     * <p>
+     * The snapshot holds every principal of the Subject, not only the caller principal and the group principals:
+     * principals of any other type that the container or a module added to the Subject are kept too. Credentials of the
+     * Subject are not part of the snapshot.
+     *
+     * @param subject The Subject in which the container established the caller identity.
+     *
+     * @param callerPrincipal The principal of the Subject that is the caller principal.
+     *
+     * @return A snapshot holding all principals of the Subject.
+     */
+    public static SubjectSnapshot of(Subject subject, Principal callerPrincipal) {
+        if (subject == null) {
+            throw new IllegalArgumentException("invalid null subject");
+        }
+
+        return new SubjectSnapshot(callerPrincipal, subject.getPrincipals());
+    }
+
+    /**
+     * Get the caller principal.
+     *
+     * @return The caller principal.
+     */
+    public Principal getCallerPrincipal() {
+        return callerPrincipal;
+    }
+
+    /**
+     * Get all principals of the snapshot: the caller principal followed by the other principals.
+     *
+     * @return An unmodifiable set of the principals.
+     */
+    public Set<Principal> getPrincipals() {
+        return principals;
+    }
+
+    /**
+     * Get a Subject holding the principals of the snapshot.
+     *
+     * <p>
+     * The same read-only Subject is returned for every call, so that it can be shared by all requests of a session.
+     *
+     * @return A read-only Subject without credentials.
+     */
+    public Subject getSubject() {
+        return subject;
+    }
+
+    /**
+     * Add the principals of the snapshot to the given Subject.
+     *
+     * @param target The Subject in which the caller identity is to be established.
+     */
+    public void establish(Subject target) {
+        if (target == subject) {
+            return;
+        }
+        Set<Principal> targetPrincipals = target.getPrincipals();
+        for (Principal principal : principals) {
+            targetPrincipals.add(principal);
+        }
+    }
+
+    private Object readResolve() {
+        return new SubjectSnapshot(callerPrincipal, principals);
+    }
+}
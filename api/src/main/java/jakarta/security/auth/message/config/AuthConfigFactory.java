@@ -99,7 +99,11 @@ import jakarta.security.auth.message.module.ServerAuthModule;
  */
 public abstract class AuthConfigFactory {
 
-    private static AuthConfigFactory factory = null;
+    /**
+     * The system-wide factory. Volatile so that once the factory has been resolved, <code>getFactory</code> can return it
+     * without taking the class monitor; writes still happen under that monitor.
+     */
+    private static volatile AuthConfigFactory factory;
 
     /**
      * The name of the Security property used to define the default AuthConfigFactory implementation class.
@@ -207,9 +211,26 @@ public abstract class AuthConfigFactory {
      * AuthConfigFactory implementation class; in which case the SecurityException will contain the root Exception as its
      * cause.
      */
-    public static synchronized AuthConfigFactory getFactory() {
+    public static AuthConfigFactory getFactory() {
         checkPermission(getFactorySecurityPermission);
 
+        AuthConfigFactory currentFactory = AuthConfigFactory.factory;
+        if (currentFactory != null) {
+            return currentFactory;
+        }
+
+        return bootstrapFactory();
+    }
+
+    /**
+     * Constructs the default factory named by the {@link #DEFAULT_FACTORY_SECURITY_PROPERTY} security property and sets it
+     * as the system-wide factory, unless another thread did so first.
+     *
+     * <p>
+     * This is only reached while no system-wide factory has been defined, so the security property lookup and the class
+     * loading happen at most once per (successfully) installed factory.
+     */
+    private static synchronized AuthConfigFactory bootstrapFactory() {
         if (AuthConfigFactory.factory == null) {
             final String className = Security.getProperty(DEFAULT_FACTORY_SECURITY_PROPERTY);
             if (className != null) {
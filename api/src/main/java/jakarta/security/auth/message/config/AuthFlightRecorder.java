@@ -0,0 +1,678 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message.config;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.security.auth.Subject;
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.CallbackHandler;
+import javax.security.auth.callback.UnsupportedCallbackException;
+
+import jakarta.security.auth.message.AuthException;
+import jakarta.security.auth.message.AuthStatus;
+import jakarta.security.auth.message.MessageInfo;
+import jakarta.security.auth.message.module.ServerAuthModule;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Decorates an AuthConfigFactory or AuthConfigProvider such that the stages of the message processing model emit Java
+ * Flight Recorder events.
+ *
+ * <p>
+ * An event is emitted for each call to <code>getConfigProvider</code>, <code>getServerAuthConfig</code>,
+ * <code>getAuthContext</code>, <code>validateRequest</code>, <code>secureResponse</code> and
+ * <code>cleanSubject</code>, and for each call a module makes to the <code>handle</code> method of its
+ * CallbackHandler. The events are named <code>jakarta.authentication.*</code>, carry the duration of the call and,
+ * where known, its layer, appContext, authentication context identifier, AuthStatus and exception, and can be enabled
+ * separately. While an event is disabled, a call only checks whether it is enabled, and no event is created; the event
+ * fields are only filled in for events that are recorded.
+ *
+ * <p>
+ * The decorators wrap every configuration object, context and CallbackHandler they return or pass on. The decorator
+ * of an object is created once and then reused, so as long as the decorated factory or provider returns the same
+ * object, the decorator returns the same decorator, and caches keyed on these objects keep working. Client side
+ * configuration is passed on undecorated.
+ *
+ * <p>
+ * The <code>jdk.jfr</code> module is optional for this API. When it is not present, {@link #isAvailable()} returns
+ * false, and the <code>record</code> methods return their argument unchanged.
+ */
+public final class AuthFlightRecorder {
+
+    private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    /**
+     * The most decorators a {@link Decorators} cache keeps; beyond that it is cleared, so that the decorators of objects
+     * that are no longer in use don't accumulate.
+     */
+    private static final int MAX_DECORATORS = 256;
+
+    private AuthFlightRecorder() {
+    }
+
+    /**
+     * Get whether Java Flight Recorder events can be emitted.
+     *
+     * @return True if the <code>jdk.jfr</code> module is present.
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * Decorate an AuthConfigFactory, and the providers it returns, with Java Flight Recorder events.
+     *
+     * @param factory The factory to decorate.
+     *
+     * @return A factory emitting events, or the given factory if Java Flight Recorder is not available or the factory
+     * already emits events.
+     */
+    public static AuthConfigFactory record(AuthConfigFactory factory) {
+        if (factory == null) {
+            throw new IllegalArgumentException("invalid null factory");
+        }
+        if (!AVAILABLE || factory instanceof RecordingAuthConfigFactory) {
+            return factory;
+        }
+
+        return new RecordingAuthConfigFactory(factory);
+    }
+
+    /**
+     * Decorate an AuthConfigProvider, and the ServerAuthConfig objects it returns, with Java Flight Recorder events.
+     *
+     * @param provider The provider to decorate.
+     *
+     * @return A provider emitting events, or the given provider if Java Flight Recorder is not available or the provider
+     * already emits events.
+     */
+    public static AuthConfigProvider record(AuthConfigProvider provider) {
+        if (provider == null) {
+            throw new IllegalArgumentException("invalid null provider");
+        }
+        if (!AVAILABLE || provider instanceof RecordingAuthConfigProvider) {
+            return provider;
+        }
+
+        return new RecordingAuthConfigProvider(provider);
+    }
+
+    private static void commit(StageEvent event, String layer, String appContext, String authContextID, AuthStatus status, Throwable failure) {
+        if (event.shouldCommit()) {
+            event.layer = layer;
+            event.appContext = appContext;
+            event.authContextID = authContextID;
+            event.status = status == null ? null : status.toString();
+            event.exception = failure == null ? null : failure.getClass().getName();
+            event.commit();
+        }
+    }
+
+    /**
+     * Get the exception a stage failed with, rather than the CompletionException a dependent stage wraps it in.
+     */
+    private static Throwable unwrap(Throwable failure) {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            return failure.getCause();
+        }
+
+        return failure;
+    }
+
+    /**
+     * A decorator, which tells whether it decorates an object for the given strings.
+     */
+    private interface Decorator {
+
+        boolean decorates(Object decorated, String first, String second);
+    }
+
+    /**
+     * The decorators created by one decorator, by the object they decorate and the first string they depend on. A lookup
+     * allocates nothing; an entry whose decorator doesn't decorate the very same object for the same strings is
+     * replaced. The decorator found last is checked first, as the same objects are usually requested again.
+     */
+    private static final class Decorators<T extends Decorator> {
+
+        /**
+         * Stands in for a null string, which concurrent maps can't hold.
+         */
+        private static final Object NULL_KEY = new Object();
+
+        private final ConcurrentHashMap<Object, ConcurrentHashMap<Object, T>> decorators = new ConcurrentHashMap<>();
+
+        private volatile T last;
+
+        T get(Object decorated, String first, String second) {
+            T decorator = last;
+            if (decorator != null && decorator.decorates(decorated, first, second)) {
+                return decorator;
+            }
+
+            ConcurrentHashMap<Object, T> byFirst = decorators.get(decorated);
+            decorator = byFirst == null ? null : byFirst.get(first == null ? NULL_KEY : first);
+            if (decorator == null || !decorator.decorates(decorated, first, second)) {
+                return null;
+            }
+            last = decorator;
+
+            return decorator;
+        }
+
+        T add(Object decorated, String first, String second, T decorator) {
+            if (decorators.size() >= MAX_DECORATORS) {
+                decorators.clear();
+            }
+            ConcurrentHashMap<Object, T> byFirst = decorators.computeIfAbsent(decorated, key -> new ConcurrentHashMap<>());
+            if (byFirst.size() >= MAX_DECORATORS) {
+                byFirst.clear();
+            }
+
+            Object key = first == null ? NULL_KEY : first;
+            T existing = byFirst.putIfAbsent(key, decorator);
+            if (existing != null && existing.decorates(decorated, first, second)) {
+                decorator = existing;
+            } else if (existing != null) {
+                byFirst.put(key, decorator);
+            }
+            last = decorator;
+
+            return decorator;
+        }
+
+        void clear() {
+            last = null;
+            decorators.clear();
+        }
+    }
+
+    /**
+     * The types of the events, which tell whether an event is enabled before one is created.
+     */
+    private static final class EventTypes {
+
+        static final EventType GET_CONFIG_PROVIDER = EventType.getEventType(GetConfigProviderEvent.class);
+        static final EventType GET_SERVER_AUTH_CONFIG = EventType.getEventType(GetServerAuthConfigEvent.class);
+        static final EventType GET_AUTH_CONTEXT = EventType.getEventType(GetAuthContextEvent.class);
+        static final EventType VALIDATE_REQUEST = EventType.getEventType(ValidateRequestEvent.class);
+        static final EventType SECURE_RESPONSE = EventType.getEventType(SecureResponseEvent.class);
+        static final EventType CLEAN_SUBJECT = EventType.getEventType(CleanSubjectEvent.class);
+        static final EventType CALLBACK_HANDLER = EventType.getEventType(CallbackHandlerEvent.class);
+    }
+
+    private static final class RecordingAuthConfigFactory extends AuthConfigFactory {
+
+        private final AuthConfigFactory factory;
+        private final Decorators<RecordingAuthConfigProvider> providers = new Decorators<>();
+
+        RecordingAuthConfigFactory(AuthConfigFactory factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public AuthConfigProvider getConfigProvider(String layer, String appContext, RegistrationListener listener) {
+            if (!EventTypes.GET_CONFIG_PROVIDER.isEnabled()) {
+                return decorate(factory.getConfigProvider(layer, appContext, listener));
+            }
+
+            GetConfigProviderEvent event = new GetConfigProviderEvent();
+            event.begin();
+            try {
+                AuthConfigProvider provider = factory.getConfigProvider(layer, appContext, listener);
+                if (event.shouldCommit()) {
+                    event.provider = provider == null ? null : provider.getClass().getName();
+                    commit(event, layer, appContext, null, null, null);
+                }
+
+                return decorate(provider);
+            } catch (RuntimeException e) {
+                commit(event, layer, appContext, null, null, e);
+                throw e;
+            }
+        }
+
+        private AuthConfigProvider decorate(AuthConfigProvider provider) {
+            if (provider == null) {
+                return null;
+            }
+            RecordingAuthConfigProvider recordingProvider = providers.get(provider, null, null);
+
+            return recordingProvider != null ? recordingProvider : providers.add(provider, null, null, new RecordingAuthConfigProvider(provider));
+        }
+
+        @Override
+        public String registerConfigProvider(String className, Map<String, String> properties, String layer, String appContext, String description) {
+            try {
+                return factory.registerConfigProvider(className, properties, layer, appContext, description);
+            } finally {
+                providers.clear();
+            }
+        }
+
+        @Override
+        public String registerConfigProvider(AuthConfigProvider provider, String layer, String appContext, String description) {
+            try {
+                return factory.registerConfigProvider(provider, layer, appContext, description);
+            } finally {
+                providers.clear();
+            }
+        }
+
+        @Override
+        public String registerServerAuthModule(ServerAuthModule serverAuthModule, Object context) {
+            try {
+                return factory.registerServerAuthModule(serverAuthModule, context);
+            } finally {
+                providers.clear();
+            }
+        }
+
+        @Override
+        public void removeServerAuthModule(Object context) {
+            try {
+                factory.removeServerAuthModule(context);
+            } finally {
+                providers.clear();
+            }
+        }
+
+        @Override
+        public boolean removeRegistration(String registrationID) {
+            try {
+                return factory.removeRegistration(registrationID);
+            } finally {
+                providers.clear();
+            }
+        }
+
+        @Override
+        public String[] detachListener(RegistrationListener listener, String layer, String appContext) {
+            return factory.detachListener(listener, layer, appContext);
+        }
+
+        @Override
+        public String[] getRegistrationIDs(AuthConfigProvider provider) {
+            // the providers returned by this factory are decorators of the registered ones
+            if (provider instanceof RecordingAuthConfigProvider) {
+                provider = ((RecordingAuthConfigProvider) provider).provider;
+            }
+
+            return factory.getRegistrationIDs(provider);
+        }
+
+        @Override
+        public RegistrationContext getRegistrationContext(String registrationID) {
+            return factory.getRegistrationContext(registrationID);
+        }
+
+        @Override
+        public void refresh() {
+            factory.refresh();
+        }
+    }
+
+    private static final class RecordingAuthConfigProvider implements AuthConfigProvider, Decorator {
+
+        private final AuthConfigProvider provider;
+        private final Decorators<RecordingCallbackHandler> handlers = new Decorators<>();
+        private final Decorators<RecordingServerAuthConfig> serverAuthConfigs = new Decorators<>();
+
+        RecordingAuthConfigProvider(AuthConfigProvider provider) {
+            this.provider = provider;
+        }
+
+        @Override
+        public boolean decorates(Object decorated, String first, String second) {
+            return provider == decorated;
+        }
+
+        @Override
+        public ClientAuthConfig getClientAuthConfig(String layer, String appContext, CallbackHandler handler) throws AuthException {
+            return provider.getClientAuthConfig(layer, appContext, handler);
+        }
+
+        @Override
+        public ServerAuthConfig getServerAuthConfig(String layer, String appContext, CallbackHandler handler) throws AuthException {
+            CallbackHandler recordingHandler = null;
+            if (handler != null) {
+                recordingHandler = handlers.get(handler, appContext, layer);
+                if (recordingHandler == null) {
+                    recordingHandler = handlers.add(handler, appContext, layer, new RecordingCallbackHandler(handler, layer, appContext));
+                }
+            }
+
+            if (!EventTypes.GET_SERVER_AUTH_CONFIG.isEnabled()) {
+                return decorate(provider.getServerAuthConfig(layer, appContext, recordingHandler));
+            }
+
+            GetServerAuthConfigEvent event = new GetServerAuthConfigEvent();
+            event.begin();
+            try {
+                ServerAuthConfig serverAuthConfig = provider.getServerAuthConfig(layer, appContext, recordingHandler);
+                commit(event, layer, appContext, null, null, null);
+
+                return decorate(serverAuthConfig);
+            } catch (AuthException | RuntimeException e) {
+                commit(event, layer, appContext, null, null, e);
+                throw e;
+            }
+        }
+
+        private ServerAuthConfig decorate(ServerAuthConfig serverAuthConfig) {
+            if (serverAuthConfig == null) {
+                return null;
+            }
+            RecordingServerAuthConfig recordingConfig = serverAuthConfigs.get(serverAuthConfig, null, null);
+
+            return recordingConfig != null ? recordingConfig
+                    : serverAuthConfigs.add(serverAuthConfig, null, null, new RecordingServerAuthConfig(serverAuthConfig));
+        }
+
+        @Override
+        public void refresh() {
+            provider.refresh();
+        }
+    }
+
+    private static final class RecordingServerAuthConfig implements ServerAuthConfig, Decorator {
+
+        private final ServerAuthConfig serverAuthConfig;
+        private final Decorators<RecordingServerAuthContext> serverAuthContexts = new Decorators<>();
+
+        RecordingServerAuthConfig(ServerAuthConfig serverAuthConfig) {
+            this.serverAuthConfig = serverAuthConfig;
+        }
+
+        @Override
+        public boolean decorates(Object decorated, String first, String second) {
+            return serverAuthConfig == decorated;
+        }
+
+        @Override
+        public ServerAuthContext getAuthContext(String authContextID, Subject serviceSubject, Map<String, Object> properties) throws AuthException {
+            if (!EventTypes.GET_AUTH_CONTEXT.isEnabled()) {
+                return decorate(serverAuthConfig.getAuthContext(authContextID, serviceSubject, properties), authContextID);
+            }
+
+            GetAuthContextEvent event = new GetAuthContextEvent();
+            event.begin();
+            try {
+                ServerAuthContext serverAuthContext = serverAuthConfig.getAuthContext(authContextID, serviceSubject, properties);
+                commit(event, getMessageLayer(), getAppContext(), authContextID, null, null);
+
+                return decorate(serverAuthContext, authContextID);
+            } catch (AuthException | RuntimeException e) {
+                commit(event, getMessageLayer(), getAppContext(), authContextID, null, e);
+                throw e;
+            }
+        }
+
+        private ServerAuthContext decorate(ServerAuthContext serverAuthContext, String authContextID) {
+            if (serverAuthContext == null) {
+                return null;
+            }
+            RecordingServerAuthContext recordingContext = serverAuthContexts.get(serverAuthContext, authContextID, null);
+
+            return recordingContext != null ? recordingContext
+                    : serverAuthContexts.add(serverAuthContext, authContextID, null,
+                            new RecordingServerAuthContext(serverAuthContext, getMessageLayer(), getAppContext(), authContextID));
+        }
+
+        @Override
+        public String getMessageLayer() {
+            return serverAuthConfig.getMessageLayer();
+        }
+
+        @Override
+        public String getAppContext() {
+            return serverAuthConfig.getAppContext();
+        }
+
+        @Override
+        public String getAuthContextID(MessageInfo messageInfo) {
+            return serverAuthConfig.getAuthContextID(messageInfo);
+        }
+
+        @Override
+        public void refresh() {
+            serverAuthConfig.refresh();
+        }
+
+        @Override
+        public boolean isProtected() {
+            return serverAuthConfig.isProtected();
+        }
+    }
+
+    private static final class RecordingServerAuthContext implements ServerAuthContext, Decorator {
+
+        private final ServerAuthContext serverAuthContext;
+        private final String layer;
+        private final String appContext;
+        private final String authContextID;
+
+        RecordingServerAuthContext(ServerAuthContext serverAuthContext, String layer, String appContext, String authContextID) {
+            this.serverAuthContext = serverAuthContext;
+            this.layer = layer;
+            this.appContext = appContext;
+            this.authContextID = authContextID;
+        }
+
+        @Override
+        public boolean decorates(Object decorated, String first, String second) {
+            return serverAuthContext == decorated && Objects.equals(authContextID, first);
+        }
+
+        @Override
+        public AuthStatus validateRequest(MessageInfo messageInfo, Subject clientSubject, Subject serviceSubject) throws AuthException {
+            if (!EventTypes.VALIDATE_REQUEST.isEnabled()) {
+                return serverAuthContext.validateRequest(messageInfo, clientSubject, serviceSubject);
+            }
+
+            ValidateRequestEvent event = new ValidateRequestEvent();
+            event.begin();
+            try {
+                AuthStatus status = serverAuthContext.validateRequest(messageInfo, clientSubject, serviceSubject);
+                commit(event, layer, appContext, authContextID, status, null);
+
+                return status;
+            } catch (AuthException | RuntimeException e) {
+                commit(event, layer, appContext, authContextID, null, e);
+                throw e;
+            }
+        }
+
+        @Override
+        public CompletionStage<AuthStatus> validateRequestAsync(MessageInfo messageInfo, Subject clientSubject, Subject serviceSubject) {
+            if (!EventTypes.VALIDATE_REQUEST.isEnabled()) {
+                return serverAuthContext.validateRequestAsync(messageInfo, clientSubject, serviceSubject);
+            }
+
+            ValidateRequestEvent event = new ValidateRequestEvent();
+            event.begin();
+            try {
+                return serverAuthContext.validateRequestAsync(messageInfo, clientSubject, serviceSubject)
+                        .whenComplete((status, failure) -> commit(event, layer, appContext, authContextID, status, unwrap(failure)));
+            } catch (RuntimeException e) {
+                commit(event, layer, appContext, authContextID, null, e);
+                throw e;
+            }
+        }
+
+        @Override
+        public AuthStatus secureResponse(MessageInfo messageInfo, Subject serviceSubject) throws AuthException {
+            if (!EventTypes.SECURE_RESPONSE.isEnabled()) {
+                return serverAuthContext.secureResponse(messageInfo, serviceSubject);
+            }
+
+            SecureResponseEvent event = new SecureResponseEvent();
+            event.begin();
+            try {
+                AuthStatus status = serverAuthContext.secureResponse(messageInfo, serviceSubject);
+                commit(event, layer, appContext, authContextID, status, null);
+
+                return status;
+            } catch (AuthException | RuntimeException e) {
+                commit(event, layer, appContext, authContextID, null, e);
+                throw e;
+            }
+        }
+
+        @Override
+        public void cleanSubject(MessageInfo messageInfo, Subject subject) throws AuthException {
+            if (!EventTypes.CLEAN_SUBJECT.isEnabled()) {
+                serverAuthContext.cleanSubject(messageInfo, subject);
+                return;
+            }
+
+            CleanSubjectEvent event = new CleanSubjectEvent();
+            event.begin();
+            try {
+                serverAuthContext.cleanSubject(messageInfo, subject);
+                commit(event, layer, appContext, authContextID, null, null);
+            } catch (AuthException | RuntimeException e) {
+                commit(event, layer, appContext, authContextID, null, e);
+                throw e;
+            }
+        }
+    }
+
+    private static final class RecordingCallbackHandler implements CallbackHandler, Decorator {
+
+        private final CallbackHandler handler;
+        private final String layer;
+        private final String appContext;
+
+        RecordingCallbackHandler(CallbackHandler handler, String layer, String appContext) {
+            this.handler = handler;
+            this.layer = layer;
+            this.appContext = appContext;
+        }
+
+        @Override
+        public boolean decorates(Object decorated, String first, String second) {
+            return handler == decorated && Objects.equals(appContext, first) && Objects.equals(layer, second);
+        }
+
+        @Override
+        public void handle(Callback[] callbacks) throws IOException, UnsupportedCallbackException {
+            if (!EventTypes.CALLBACK_HANDLER.isEnabled()) {
+                handler.handle(callbacks);
+                return;
+            }
+
+            CallbackHandlerEvent event = new CallbackHandlerEvent();
+            event.begin();
+            try {
+                handler.handle(callbacks);
+                commit(event, callbacks, null);
+            } catch (IOException | UnsupportedCallbackException | RuntimeException e) {
+                commit(event, callbacks, e);
+                throw e;
+            }
+        }
+
+        private void commit(CallbackHandlerEvent event, Callback[] callbacks, Throwable failure) {
+            if (event.shouldCommit()) {
+                StringBuilder names = new StringBuilder();
+                for (Callback callback : callbacks) {
+                    if (names.length() > 0) {
+                        names.append(',');
+                    }
+                    names.append(callback == null ? null : callback.getClass().getSimpleName());
+                }
+                event.callbacks = names.toString();
+                AuthFlightRecorder.commit(event, layer, appContext, null, null, failure);
+            }
+        }
+    }
+
+    @Category({ "Jakarta EE", "Authentication" })
+    @StackTrace(false)
+    abstract static class StageEvent extends Event {
+
+        @Label("Layer")
+        String layer;
+
+        @Label("Application Context")
+        String appContext;
+
+        @Label("Authentication Context ID")
+        String authContextID;
+
+        @Label("Status")
+        @Description("The AuthStatus returned by the call")
+        String status;
+
+        @Label("Exception")
+        String exception;
+    }
+
+    @Name("jakarta.authentication.GetConfigProvider")
+    @Label("Get Config Provider")
+    static final class GetConfigProviderEvent extends StageEvent {
+
+        @Label("Provider")
+        @Description("The class of the AuthConfigProvider returned by the call")
+        String provider;
+    }
+
+    @Name("jakarta.authentication.GetServerAuthConfig")
+    @Label("Get Server Auth Config")
+    static final class GetServerAuthConfigEvent extends StageEvent {
+    }
+
+    @Name("jakarta.authentication.GetAuthContext")
+    @Label("Get Auth Context")
+    static final class GetAuthContextEvent extends StageEvent {
+    }
+
+    @Name("jakarta.authentication.ValidateRequest")
+    @Label("Validate Request")
+    static final class ValidateRequestEvent extends StageEvent {
+    }
+
+    @Name("jakarta.authentication.SecureResponse")
+    @Label("Secure Response")
+    static final class SecureResponseEvent extends StageEvent {
+    }
+
+    @Name("jakarta.authentication.CleanSubject")
+    @Label("Clean Subject")
+    static final class CleanSubjectEvent extends StageEvent {
+    }
+
+    @Name("jakarta.authentication.CallbackHandler")
+    @Label("Handle Callbacks")
+    static final class CallbackHandlerEvent extends StageEvent {
+
+        @Label("Callbacks")
+        String callbacks;
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message.config;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import javax.security.auth.Subject;
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.CallbackHandler;
+import javax.security.auth.callback.UnsupportedCallbackException;
+
+import jakarta.security.auth.message.AuthException;
+import jakarta.security.auth.message.AuthStatus;
+import jakarta.security.auth.message.DefaultMessageInfo;
+import jakarta.security.auth.message.MessageInfo;
+import jakarta.security.auth.message.callback.CallerPrincipalCallback;
+import jakarta.security.auth.message.module.ServerAuthModule;
+
+/**
+ * A ServerAuthContext that offers alternative authentication mechanisms at one endpoint, by evaluating an ordered
+ * chain of initialized ServerAuthModules, for instance a bearer token module, a client certificate module and a BASIC
+ * module.
+ *
+ * <p>
+ * For every request a fingerprint is computed, such as the scheme of the <code>Authorization</code> header combined
+ * with the presence of a client certificate. Each mechanism declares to which fingerprints it applies, and modules
+ * that don't apply are skipped without being called. The modules that apply to a fingerprint are determined once per
+ * distinct fingerprint, so a fingerprint should have few distinct values.
+ *
+ * <p>
+ * <code>validateRequest</code> calls the applicable modules in order, and aggregates their AuthStatus values as
+ * follows:
+ *
+ * <ul>
+ * <li>SUCCESS or SEND_SUCCESS from a module ends the chain, and is returned.
+ * <li>FAILURE or SEND_FAILURE from a module ends the chain, and is returned: credentials that a mechanism rejected are
+ * not passed on to the mechanisms after it.
+ * <li>SEND_CONTINUE from a module continues the chain, so that each mechanism can add its challenge to the response.
+ * If no later module ends the chain, SEND_CONTINUE is returned.
+ * <li>An AuthException from a module ends the chain, and is thrown.
+ * <li>If no module applies, the request is not authenticated: if authentication is mandatory for it, as indicated by
+ * the <code>jakarta.security.auth.message.MessagePolicy.isMandatory</code> property of the MessageInfo, FAILURE is
+ * returned, leaving the error response to the runtime, as no module established one; otherwise the caller principal is
+ * established as null and SUCCESS is returned.
+ * </ul>
+ *
+ * <p>
+ * As the modules after a module that returned SEND_CONTINUE are called with the same response, only challenges that
+ * leave the response open, such as adding a <code>WWW-Authenticate</code> header, can be chained. A module whose
+ * challenge commits the response, such as a redirect to a login page or a written error page, must be the last module
+ * that applies to the fingerprints it applies to.
+ *
+ * <p>
+ * <code>secureResponse</code> is passed to the module that ended the chain of the corresponding
+ * <code>validateRequest</code>, which is recorded in the MessageInfo; <code>cleanSubject</code> is passed to all
+ * modules.
+ *
+ * @param <F> The type of the fingerprint.
+ */
+public class CompositeServerAuthContext<F> implements ServerAuthContext {
+
+    /**
+     * The key of the MessageInfo property holding the index of the module that ended the chain.
+     */
+    private static final String SELECTED_MODULE = CompositeServerAuthContext.class.getName() + ".selectedModule";
+
+    private static final int MAX_FINGERPRINTS = 256;
+
+    /**
+     * Stands in for a null fingerprint, which concurrent maps can't hold.
+     */
+    private static final Object NULL_KEY = new Object();
+
+    private final Function<? super MessageInfo, ? extends F> fingerprint;
+    private final List<Mechanism<F>> mechanisms;
+    private final CallbackHandler handler;
+
+    private final ConcurrentMap<Object, int[]> applicableModules = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a ServerAuthContext for the given chain of mechanisms.
+     *
+     * @param fingerprint Computes the fingerprint of the request in a MessageInfo.
+     *
+     * @param mechanisms The mechanisms, in the order in which their modules are called.
+     *
+     * @param handler The CallbackHandler used to establish the null caller principal when no module applies.
+     */
+    public CompositeServerAuthContext(Function<? super MessageInfo, ? extends F> fingerprint, List<Mechanism<F>> mechanisms, CallbackHandler handler) {
+        if (fingerprint == null) {
+            throw new IllegalArgumentException("invalid null fingerprint");
+        }
+        if (mechanisms == null) {
+            throw new IllegalArgumentException("invalid null mechanisms");
+        }
+        List<Mechanism<F>> chain = new ArrayList<>(mechanisms);
+        if (chain.contains(null)) {
+            throw new IllegalArgumentException("invalid null mechanism");
+        }
+        if (handler == null) {
+            throw new IllegalArgumentException("invalid null handler");
+        }
+        this.fingerprint = fingerprint;
+        this.mechanisms = Collections.unmodifiableList(chain);
+        this.handler = handler;
+    }
+
+    /**
+     * Get the mechanisms of this context.
+     *
+     * @return The unmodifiable list of mechanisms, in the order in which their modules are called.
+     */
+    public List<Mechanism<F>> getMechanisms() {
+        return mechanisms;
+    }
+
+    @Override
+    public AuthStatus validateRequest(MessageInfo messageInfo, Subject clientSubject, Subject serviceSubject) throws AuthException {
+        int[] applicable = getApplicableModules(fingerprint.apply(messageInfo));
+
+        AuthStatus status = null;
+        for (int index : applicable) {
+            AuthStatus moduleStatus = mechanisms.get(index).getModule().validateRequest(messageInfo, clientSubject, serviceSubject);
+            if (moduleStatus == AuthStatus.SEND_CONTINUE) {
+                if (status == null) {
+                    status = moduleStatus;
+                    messageInfo.getMap().put(SELECTED_MODULE, index);
+                }
+                continue;
+            }
+
+            messageInfo.getMap().put(SELECTED_MODULE, index);
+            return moduleStatus;
+        }
+
+        if (status != null) {
+            return status;
+        }
+        messageInfo.getMap().remove(SELECTED_MODULE);
+
+        if (Boolean.parseBoolean(String.valueOf(messageInfo.getMap().get(DefaultMessageInfo.IS_MANDATORY)))) {
+            // no module replaced the response with an error message, so it is not SEND_FAILURE
+            return AuthStatus.FAILURE;
+        }
+
+        try {
+            handler.handle(new Callback[] { new CallerPrincipalCallback(clientSubject, (Principal) null) });
+        } catch (IOException | UnsupportedCallbackException e) {
+            throw new AuthException("Could not establish the unauthenticated caller", e);
+        }
+
+        return AuthStatus.SUCCESS;
+    }
+
+    /**
+     * Passes the response to the module that ended the chain of the corresponding <code>validateRequest</code>.
+     *
+     * @return The AuthStatus returned by that module, or SEND_SUCCESS if no module was selected.
+     */
+    @Override
+    public AuthStatus secureResponse(MessageInfo messageInfo, Subject serviceSubject) throws AuthException {
+        Object index = messageInfo.getMap().get(SELECTED_MODULE);
+        if (!(index instanceof Integer)) {
+            return AuthStatus.SEND_SUCCESS;
+        }
+
+        return mechanisms.get((Integer) index).getModule().secureResponse(messageInfo, serviceSubject);
+    }
+
+    @Override
+    public void cleanSubject(MessageInfo messageInfo, Subject subject) throws AuthException {
+        for (Mechanism<F> mechanism : mechanisms) {
+            mechanism.getModule().cleanSubject(messageInfo, subject);
+        }
+    }
+
+    private int[] getApplicableModules(F requestFingerprint) {
+        Object key = requestFingerprint == null ? NULL_KEY : requestFingerprint;
+
+        int[] applicable = applicableModules.get(key);
+        if (applicable == null) {
+            int count = 0;
+            int[] indexes = new int[mechanisms.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                if (mechanisms.get(i).appliesTo(requestFingerprint)) {
+                    indexes[count++] = i;
+                }
+            }
+            applicable = count == indexes.length ? indexes : Arrays.copyOf(indexes, count);
+
+            // an unbounded number of fingerprints is still handled, just not cached
+            if (applicableModules.size() < MAX_FINGERPRINTS) {
+                applicableModules.putIfAbsent(key, applicable);
+            }
+        }
+
+        return applicable;
+    }
+
+    /**
+     * An authentication mechanism of a CompositeServerAuthContext: an initialized ServerAuthModule, and the
+     * fingerprints of the requests it applies to.
+     *
+     * @param <F> The type of the fingerprint.
+     */
+    public static final class Mechanism<F> {
+
+        private final ServerAuthModule module;
+        private final Predicate<? super F> applicability;
+
+        /**
+         * Creates a mechanism.
+         *
+         * @param module The initialized ServerAuthModule implementing the mechanism.
+         *
+         * @param applicability Decides whether the module applies to a request with a given fingerprint. It is only
+         * called once per distinct fingerprint, so it must depend on the fingerprint only.
+         */
+        public Mechanism(ServerAuthModule module, Predicate<? super F> applicability) {
+            if (module == null) {
+                throw new IllegalArgumentException("invalid null module");
+            }
+            if (applicability == null) {
+                throw new IllegalArgumentException("invalid null applicability");
+            }
+            this.module = module;
+            this.applicability = applicability;
+        }
+
+        /**
+         * Get the ServerAuthModule implementing this mechanism.
+         *
+         * @return The module.
+         */
+        public ServerAuthModule getModule() {
+            return module;
+        }
+
+        /**
+         * Get whether this mechanism applies to requests with the given fingerprint.
+         *
+         * @param fingerprint The fingerprint of a request.
+         *
+         * @return True if the module is to be called for such requests.
+         */
+        public boolean appliesTo(F fingerprint) {
+            return applicability.test(fingerprint);
+        }
+    }
+}
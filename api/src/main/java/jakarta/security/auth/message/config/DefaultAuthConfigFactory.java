@@ -0,0 +1,735 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message.config;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Collections.unmodifiableSet;
+
+import java.lang.System.Logger;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.auth.Subject;
+import javax.security.auth.callback.CallbackHandler;
+
+import jakarta.security.auth.message.AuthException;
+import jakarta.security.auth.message.AuthStatus;
+import jakarta.security.auth.message.MessageInfo;
+import jakarta.security.auth.message.MessagePolicy;
+import jakarta.security.auth.message.MessagePolicy.ProtectionPolicy;
+import jakarta.security.auth.message.module.ServerAuthModule;
+
+/**
+ * A reference <code>AuthConfigFactory</code> implementation tuned for concurrent use by a message processing runtime.
+ *
+ * <p>
+ * All provider registrations are held in an immutable snapshot that is replaced (copy-on-write) whenever a registration
+ * is added, replaced or removed. <code>getConfigProvider</code> therefore never takes a lock: it resolves the four
+ * precedence levels described by {@link AuthConfigFactory#getConfigProvider(String, String, RegistrationListener)} with
+ * at most four hash probes into the current snapshot, and only writes when a listener is attached for the first time.
+ *
+ * <p>
+ * When a registration change alters the provider that would be selected for a <code>(layer, appContext)</code> pair a
+ * listener was attached for, that listener is notified on the notification <code>Executor</code> and not on the thread
+ * that changed the registration. Listeners remain attached until they are detached with <code>detachListener</code>.
+ *
+ * <p>
+ * This factory keeps its declarative registrations (those made with a <code>className</code>) in memory only. To make it
+ * the system-wide default, set the {@link AuthConfigFactory#DEFAULT_FACTORY_SECURITY_PROPERTY} security property to the
+ * name of this class.
+ */
+public class DefaultAuthConfigFactory extends AuthConfigFactory {
+
+    private static final Logger logger = System.getLogger(DefaultAuthConfigFactory.class.getName());
+
+    /**
+     * The message layer used for modules registered via <code>registerServerAuthModule</code>, as defined by the Servlet
+     * Container Profile.
+     */
+    private static final String SERVLET_LAYER = "HttpServlet";
+
+    private final Executor notificationExecutor;
+
+    /**
+     * Guards all writes to {@link #registrations} and {@link #registrationIDs}. Listener notifications are scheduled while
+     * holding it, so that they are submitted in the order the registrations changed.
+     */
+    private final Object registrationLock = new Object();
+
+    /**
+     * Guards all writes to {@link #listeners}.
+     */
+    private final Object listenerLock = new Object();
+
+    private volatile Registrations registrations = Registrations.EMPTY;
+
+    private volatile Listeners listeners = Listeners.EMPTY;
+
+    /**
+     * Every registration ID handed out for a <code>(layer, appContext)</code> pair, kept for the lifetime of the factory so
+     * that an ID is never reused for a different pair.
+     */
+    private final Map<String, Map<String, String>> registrationIDs = new HashMap<>();
+
+    private long nextRegistrationID;
+
+    private final Map<Object, String> serverAuthModuleRegistrations = new ConcurrentHashMap<>();
+
+    private final List<Runnable> refreshListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a factory that notifies registration listeners from a single, on demand created, daemon thread.
+     */
+    public DefaultAuthConfigFactory() {
+        this(createNotificationExecutor());
+    }
+
+    /**
+     * Creates a factory that notifies registration listeners using the given executor.
+     *
+     * @param notificationExecutor The executor on which <code>RegistrationListener.notify</code> is called. Listeners are
+     * submitted in the order their registrations changed, so an executor that runs tasks in submission order preserves that
+     * order.
+     */
+    public DefaultAuthConfigFactory(Executor notificationExecutor) {
+        if (notificationExecutor == null) {
+            throw new IllegalArgumentException("invalid null notificationExecutor");
+        }
+        this.notificationExecutor = notificationExecutor;
+    }
+
+    @Override
+    public AuthConfigProvider getConfigProvider(String layer, String appContext, RegistrationListener listener) {
+        if (listener != null) {
+            attachListener(listener, layer, appContext);
+        }
+
+        Registration registration = registrations.select(layer, appContext);
+
+        return registration == null ? null : registration.provider;
+    }
+
+    @Override
+    public String registerConfigProvider(String className, Map<String, String> properties, String layer, String appContext, String description) {
+        checkRegistrationPermission();
+
+        AuthConfigProvider provider = className == null ? null : newProvider(className, properties);
+        Map<String, String> copiedProperties = properties == null ? emptyMap() : unmodifiableMap(new HashMap<>(properties));
+
+        return register(provider, className, copiedProperties, layer, appContext, description, true);
+    }
+
+    @Override
+    public String registerConfigProvider(AuthConfigProvider provider, String layer, String appContext, String description) {
+        checkRegistrationPermission();
+
+        return register(provider, null, emptyMap(), layer, appContext, description, false);
+    }
+
+    @Override
+    public String registerServerAuthModule(ServerAuthModule serverAuthModule, Object context) {
+        if (serverAuthModule == null) {
+            throw new IllegalArgumentException("invalid null serverAuthModule");
+        }
+
+        String appContext = getAppContextID(context);
+        String registrationID = registerConfigProvider(
+                new ServerAuthModuleConfigProvider(serverAuthModule), SERVLET_LAYER, appContext, "ServerAuthModule " + serverAuthModule.getClass().getName());
+
+        serverAuthModuleRegistrations.put(context, registrationID);
+
+        return registrationID;
+    }
+
+    @Override
+    public void removeServerAuthModule(Object context) {
+        String registrationID = serverAuthModuleRegistrations.remove(context);
+        if (registrationID != null) {
+            removeRegistration(registrationID);
+        }
+    }
+
+    @Override
+    public boolean removeRegistration(String registrationID) {
+        checkRegistrationPermission();
+
+        if (registrationID == null) {
+            return false;
+        }
+
+        Registrations previous;
+        Registrations current;
+        synchronized (registrationLock) {
+            previous = registrations;
+            Registration registration = previous.byID.get(registrationID);
+            if (registration == null) {
+                return false;
+            }
+
+            current = previous.without(registration);
+            registrations = current;
+
+            notifyListeners(previous, current);
+        }
+
+        return true;
+    }
+
+    @Override
+    public String[] detachListener(RegistrationListener listener, String layer, String appContext) {
+        checkRegistrationPermission();
+
+        if (listener == null) {
+            return new String[0];
+        }
+
+        Set<String> detachedFrom = new LinkedHashSet<>();
+        synchronized (listenerLock) {
+            Listeners current = listeners;
+            Map<String, Map<String, Set<RegistrationListener>>> byAppContext = current.copy();
+
+            for (Map.Entry<String, Map<String, Set<RegistrationListener>>> appContextEntry : current.byAppContext.entrySet()) {
+                if (appContext != null && !appContext.equals(appContextEntry.getKey())) {
+                    continue;
+                }
+
+                for (Map.Entry<String, Set<RegistrationListener>> layerEntry : appContextEntry.getValue().entrySet()) {
+                    if ((layer != null && !layer.equals(layerEntry.getKey())) || !layerEntry.getValue().contains(listener)) {
+                        continue;
+                    }
+
+                    Set<RegistrationListener> remaining = new LinkedHashSet<>(layerEntry.getValue());
+                    remaining.remove(listener);
+                    Map<String, Set<RegistrationListener>> byLayer = byAppContext.get(appContextEntry.getKey());
+                    if (remaining.isEmpty()) {
+                        byLayer.remove(layerEntry.getKey());
+                    } else {
+                        byLayer.put(layerEntry.getKey(), unmodifiableSet(remaining));
+                    }
+
+                    Registration registration = registrations.select(layerEntry.getKey(), appContextEntry.getKey());
+                    if (registration != null) {
+                        detachedFrom.add(registration.id);
+                    }
+                }
+            }
+
+            byAppContext.values().removeIf(Map::isEmpty);
+            listeners = new Listeners(byAppContext);
+        }
+
+        return detachedFrom.toArray(new String[0]);
+    }
+
+    @Override
+    public String[] getRegistrationIDs(AuthConfigProvider provider) {
+        List<String> ids = new ArrayList<>();
+        for (Registration registration : registrations.byID.values()) {
+            if (provider == null || provider.equals(registration.provider)) {
+                ids.add(registration.id);
+            }
+        }
+
+        return ids.toArray(new String[0]);
+    }
+
+    @Override
+    public RegistrationContext getRegistrationContext(String registrationID) {
+        // Registrations are immutable, so the registration itself serves as the copy
+        return registrationID == null ? null : registrations.byID.get(registrationID);
+    }
+
+    /**
+     * Refreshes every registered provider.
+     *
+     * <p>
+     * As the declarative registrations of this factory are only held in memory, there is no persistent representation to
+     * reprocess and no registration is replaced.
+     */
+    @Override
+    public void refresh() {
+        checkRegistrationPermission();
+
+        for (Registration registration : registrations.byID.values()) {
+            if (registration.provider != null) {
+                registration.provider.refresh();
+            }
+        }
+
+        for (Runnable listener : refreshListeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                logger.log(Logger.Level.WARNING, "Refresh listener " + listener + " failed", e);
+            }
+        }
+    }
+
+    /**
+     * Adds a listener that is run at the end of every {@link #refresh()}, on the thread calling it, after all providers
+     * have been refreshed. Caches of state derived from the configuration, such as a
+     * {@link jakarta.security.auth.message.callback.GroupMappingCache}, use this to invalidate themselves.
+     *
+     * @param listener The listener to run.
+     */
+    public void addRefreshListener(Runnable listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("invalid null listener");
+        }
+        refreshListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener added with {@link #addRefreshListener(Runnable)}.
+     *
+     * @param listener The listener to remove.
+     *
+     * @return true if the listener was removed.
+     */
+    public boolean removeRefreshListener(Runnable listener) {
+        return refreshListeners.remove(listener);
+    }
+
+    private String register(AuthConfigProvider provider, String className, Map<String, String> properties, String layer, String appContext, String description, boolean persistent) {
+        Registrations previous;
+        Registrations current;
+        String registrationID;
+        synchronized (registrationLock) {
+            registrationID = registrationIDs.computeIfAbsent(appContext, e -> new HashMap<>())
+                                            .computeIfAbsent(layer, e -> String.valueOf(++nextRegistrationID));
+
+            previous = registrations;
+            current = previous.with(new Registration(registrationID, layer, appContext, description, persistent, provider, className, properties));
+            registrations = current;
+
+            notifyListeners(previous, current);
+        }
+
+        return registrationID;
+    }
+
+    private void attachListener(RegistrationListener listener, String layer, String appContext) {
+        if (listeners.contains(listener, layer, appContext)) {
+            return;
+        }
+
+        synchronized (listenerLock) {
+            Listeners current = listeners;
+            if (current.contains(listener, layer, appContext)) {
+                return;
+            }
+
+            Map<String, Map<String, Set<RegistrationListener>>> byAppContext = current.copy();
+            Map<String, Set<RegistrationListener>> byLayer = byAppContext.computeIfAbsent(appContext, e -> new HashMap<>());
+            Set<RegistrationListener> attached = new LinkedHashSet<>(byLayer.getOrDefault(layer, Set.of()));
+            attached.add(listener);
+            byLayer.put(layer, unmodifiableSet(attached));
+
+            listeners = new Listeners(byAppContext);
+        }
+    }
+
+    /**
+     * Schedules a notification for every listener whose <code>(layer, appContext)</code> pair now selects a different
+     * registration than before. Must be called while holding {@link #registrationLock}.
+     */
+    private void notifyListeners(Registrations previous, Registrations current) {
+        for (Map.Entry<String, Map<String, Set<RegistrationListener>>> appContextEntry : listeners.byAppContext.entrySet()) {
+            String appContext = appContextEntry.getKey();
+
+            for (Map.Entry<String, Set<RegistrationListener>> layerEntry : appContextEntry.getValue().entrySet()) {
+                String layer = layerEntry.getKey();
+
+                if (previous.select(layer, appContext) == current.select(layer, appContext)) {
+                    continue;
+                }
+
+                for (RegistrationListener listener : layerEntry.getValue()) {
+                    notificationExecutor.execute(() -> {
+                        try {
+                            listener.notify(layer, appContext);
+                        } catch (RuntimeException e) {
+                            logger.log(Logger.Level.WARNING, "RegistrationListener " + listener + " failed", e);
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    private static AuthConfigProvider newProvider(String className, Map<String, String> properties) {
+        try {
+            return (AuthConfigProvider)
+                    Class.forName(
+                            className,
+                            true,
+                            Thread.currentThread().getContextClassLoader())
+                         .getConstructor(Map.class, AuthConfigFactory.class)
+                         .newInstance(properties, null);
+        } catch (InvocationTargetException e) {
+            throw new SecurityException(e.getCause());
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new SecurityException(e);
+        }
+    }
+
+    /**
+     * Derives the application context identifier from a profile specific context object. For the Servlet Container Profile
+     * this is the virtual server name and the context path of the <code>ServletContext</code>, separated by a blank.
+     */
+    private static String getAppContextID(Object context) {
+        if (context instanceof String) {
+            return (String) context;
+        }
+
+        if (context != null) {
+            try {
+                Method getVirtualServerName = context.getClass().getMethod("getVirtualServerName");
+                Method getContextPath = context.getClass().getMethod("getContextPath");
+
+                return getVirtualServerName.invoke(context) + " " + getContextPath.invoke(context);
+            } catch (ReflectiveOperationException e) {
+                // Not a ServletContext, fall through
+            }
+        }
+
+        throw new IllegalArgumentException("Unsupported profile specific context: " + context);
+    }
+
+    @SuppressWarnings("removal")
+    private static void checkRegistrationPermission() {
+        SecurityManager securityManager = System.getSecurityManager();
+        if (securityManager != null) {
+            securityManager.checkPermission(providerRegistrationSecurityPermission);
+        }
+    }
+
+    private static Executor createNotificationExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "AuthConfigFactory-RegistrationListener");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
+
+    /**
+     * An immutable snapshot of all registrations, indexed by appContext and then layer. A <code>null</code> key stands for
+     * "all appContexts" respectively "all layers".
+     */
+    private static final class Registrations {
+
+        static final Registrations EMPTY = new Registrations(emptyMap(), emptyMap());
+
+        final Map<String, Map<String, Registration>> byAppContext;
+        final Map<String, Registration> byID;
+
+        private Registrations(Map<String, Map<String, Registration>> byAppContext, Map<String, Registration> byID) {
+            this.byAppContext = byAppContext;
+            this.byID = byID;
+        }
+
+        /**
+         * Applies the precedence rules of <code>getConfigProvider</code>: (layer, appContext), (all layers, appContext),
+         * (layer, all appContexts) and finally (all layers, all appContexts).
+         */
+        Registration select(String layer, String appContext) {
+            Registration registration = null;
+
+            Map<String, Registration> byLayer = byAppContext.get(appContext);
+            if (byLayer != null) {
+                registration = byLayer.get(layer);
+                if (registration == null) {
+                    registration = byLayer.get(null);
+                }
+            }
+
+            if (registration == null && appContext != null) {
+                byLayer = byAppContext.get(null);
+                if (byLayer != null) {
+                    registration = byLayer.get(layer);
+                    if (registration == null) {
+                        registration = byLayer.get(null);
+                    }
+                }
+            }
+
+            return registration;
+        }
+
+        Registrations with(Registration registration) {
+            Map<String, Map<String, Registration>> newByAppContext = new HashMap<>(byAppContext);
+            Map<String, Registration> byLayer = new HashMap<>(newByAppContext.getOrDefault(registration.appContext, emptyMap()));
+            byLayer.put(registration.layer, registration);
+            newByAppContext.put(registration.appContext, byLayer);
+
+            Map<String, Registration> newByID = new HashMap<>(byID);
+            newByID.put(registration.id, registration);
+
+            return new Registrations(newByAppContext, newByID);
+        }
+
+        Registrations without(Registration registration) {
+            Map<String, Map<String, Registration>> newByAppContext = new HashMap<>(byAppContext);
+            Map<String, Registration> byLayer = new HashMap<>(newByAppContext.get(registration.appContext));
+            byLayer.remove(registration.layer);
+            if (byLayer.isEmpty()) {
+                newByAppContext.remove(registration.appContext);
+            } else {
+                newByAppContext.put(registration.appContext, byLayer);
+            }
+
+            Map<String, Registration> newByID = new HashMap<>(byID);
+            newByID.remove(registration.id);
+
+            return new Registrations(newByAppContext, newByID);
+        }
+    }
+
+    /**
+     * An immutable snapshot of the attached listeners, indexed by the appContext and layer they were attached for.
+     */
+    private static final class Listeners {
+
+        static final Listeners EMPTY = new Listeners(emptyMap());
+
+        final Map<String, Map<String, Set<RegistrationListener>>> byAppContext;
+
+        Listeners(Map<String, Map<String, Set<RegistrationListener>>> byAppContext) {
+            this.byAppContext = byAppContext;
+        }
+
+        boolean contains(RegistrationListener listener, String layer, String appContext) {
+            Map<String, Set<RegistrationListener>> byLayer = byAppContext.get(appContext);
+            if (byLayer == null) {
+                return false;
+            }
+
+            Set<RegistrationListener> attached = byLayer.get(layer);
+
+            return attached != null && attached.contains(listener);
+        }
+
+        /**
+         * Copies the two map levels so they can be modified; the listener sets themselves are immutable and shared.
+         */
+        Map<String, Map<String, Set<RegistrationListener>>> copy() {
+            Map<String, Map<String, Set<RegistrationListener>>> copy = new HashMap<>();
+            for (Map.Entry<String, Map<String, Set<RegistrationListener>>> entry : byAppContext.entrySet()) {
+                copy.put(entry.getKey(), new HashMap<>(entry.getValue()));
+            }
+
+            return copy;
+        }
+    }
+
+    private static final class Registration implements RegistrationContext {
+
+        final String id;
+        final String layer;
+        final String appContext;
+        final String description;
+        final boolean persistent;
+        final AuthConfigProvider provider;
+        final String className;
+        final Map<String, String> properties;
+
+        Registration(String id, String layer, String appContext, String description, boolean persistent, AuthConfigProvider provider, String className, Map<String, String> properties) {
+            this.id = id;
+            this.layer = layer;
+            this.appContext = appContext;
+            this.description = description;
+            this.persistent = persistent;
+            this.provider = provider;
+            this.className = className;
+            this.properties = properties;
+        }
+
+        @Override
+        public String getMessageLayer() {
+            return layer;
+        }
+
+        @Override
+        public String getAppContext() {
+            return appContext;
+        }
+
+        @Override
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public boolean isPersistent() {
+            return persistent;
+        }
+    }
+
+    /**
+     * Wraps a single <code>ServerAuthModule</code> registered via <code>registerServerAuthModule</code>.
+     *
+     * <p>
+     * The module is initialized once per provider, by the first <code>getAuthContext</code> call on any of its configs, as
+     * the same module instance serves all of them. A config is reused for as long as it is requested with the same layer,
+     * appContext and CallbackHandler.
+     */
+    private static final class ServerAuthModuleConfigProvider implements AuthConfigProvider {
+
+        private final ServerAuthModule serverAuthModule;
+
+        private volatile ServerAuthContext serverAuthContext;
+        private volatile ServerAuthModuleConfig lastServerAuthConfig;
+
+        ServerAuthModuleConfigProvider(ServerAuthModule serverAuthModule) {
+            this.serverAuthModule = serverAuthModule;
+        }
+
+        @Override
+        public ClientAuthConfig getClientAuthConfig(String layer, String appContext, CallbackHandler handler) throws AuthException {
+            return null;
+        }
+
+        @Override
+        public ServerAuthConfig getServerAuthConfig(String layer, String appContext, CallbackHandler handler) throws AuthException {
+            ServerAuthModuleConfig config = lastServerAuthConfig;
+            if (config == null || !config.matches(layer, appContext, handler)) {
+                config = new ServerAuthModuleConfig(layer, appContext, handler, this);
+                lastServerAuthConfig = config;
+            }
+
+            return config;
+        }
+
+        @Override
+        public void refresh() {
+        }
+
+        ServerAuthContext getAuthContext(CallbackHandler handler, Map<String, Object> properties) throws AuthException {
+            ServerAuthContext context = serverAuthContext;
+            if (context == null) {
+                synchronized (this) {
+                    context = serverAuthContext;
+                    if (context == null) {
+                        serverAuthModule.initialize(ServerAuthModuleConfig.REQUEST_POLICY, null, handler, properties == null ? emptyMap() : properties);
+                        context = new ServerAuthModuleContext(serverAuthModule);
+                        serverAuthContext = context;
+                    }
+                }
+            }
+
+            return context;
+        }
+    }
+
+    private static final class ServerAuthModuleConfig implements ServerAuthConfig {
+
+        private static final MessagePolicy REQUEST_POLICY = MessagePolicy.of(true, ProtectionPolicy.AUTHENTICATE_SENDER);
+
+        private final String layer;
+        private final String appContext;
+        private final CallbackHandler handler;
+        private final ServerAuthModuleConfigProvider provider;
+
+        ServerAuthModuleConfig(String layer, String appContext, CallbackHandler handler, ServerAuthModuleConfigProvider provider) {
+            this.layer = layer;
+            this.appContext = appContext;
+            this.handler = handler;
+            this.provider = provider;
+        }
+
+        boolean matches(String layer, String appContext, CallbackHandler handler) {
+            return Objects.equals(this.layer, layer) && Objects.equals(this.appContext, appContext) && this.handler == handler;
+        }
+
+        @Override
+        public ServerAuthContext getAuthContext(String authContextID, Subject serviceSubject, Map<String, Object> properties) throws AuthException {
+            return provider.getAuthContext(handler, properties);
+        }
+
+        @Override
+        public String getMessageLayer() {
+            return layer;
+        }
+
+        @Override
+        public String getAppContext() {
+            return appContext;
+        }
+
+        @Override
+        public String getAuthContextID(MessageInfo messageInfo) {
+            return appContext;
+        }
+
+        @Override
+        public void refresh() {
+        }
+
+        @Override
+        public boolean isProtected() {
+            return false;
+        }
+    }
+
+    private static final class ServerAuthModuleContext implements ServerAuthContext {
+
+        private final ServerAuthModule serverAuthModule;
+
+        ServerAuthModuleContext(ServerAuthModule serverAuthModule) {
+            this.serverAuthModule = serverAuthModule;
+        }
+
+        @Override
+        public AuthStatus validateRequest(MessageInfo messageInfo, Subject clientSubject, Subject serviceSubject) throws AuthException {
+            return serverAuthModule.validateRequest(messageInfo, clientSubject, serviceSubject);
+        }
+
+        @Override
+        public CompletionStage<AuthStatus> validateRequestAsync(MessageInfo messageInfo, Subject clientSubject, Subject serviceSubject) {
+            return serverAuthModule.validateRequestAsync(messageInfo, clientSubject, serviceSubject);
+        }
+
+        @Override
+        public AuthStatus secureResponse(MessageInfo messageInfo, Subject serviceSubject) throws AuthException {
+            return serverAuthModule.secureResponse(messageInfo, serviceSubject);
+        }
+
+        @Override
+        public void cleanSubject(MessageInfo messageInfo, Subject subject) throws AuthException {
+            serverAuthModule.cleanSubject(messageInfo, subject);
+        }
+    }
+
+}
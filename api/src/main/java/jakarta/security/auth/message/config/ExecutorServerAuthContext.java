@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message.config;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.UnaryOperator;
+
+import javax.security.auth.Subject;
+
+import jakarta.security.auth.message.AuthException;
+import jakarta.security.auth.message.AuthStatus;
+import jakarta.security.auth.message.MessageInfo;
+
+/**
+ * A ServerAuthContext that runs the <code>validateRequest</code> and <code>secureResponse</code> processing of another
+ * ServerAuthContext on an Executor, for use by a message processing runtime whose modules block on I/O, for instance in
+ * the identity store lookups behind a <code>PasswordValidationCallback</code> or the keystore access behind a
+ * <code>PrivateKeyCallback</code>.
+ *
+ * <p>
+ * The asynchronous methods {@link #validateRequestAsync(MessageInfo, Subject, Subject)} and
+ * {@link #secureResponseAsync(MessageInfo, Subject)} hand the processing to the Executor, and return a CompletionStage
+ * that is completed with its outcome. The callbacks a module passes to its CallbackHandler are handled on the thread
+ * that runs the module, so with the Executor returned by {@link #virtualThreadExecutor()} both the module and the
+ * CallbackHandler block a virtual thread only. The synchronous methods call the wrapped context on the calling thread.
+ *
+ * <p>
+ * The MessageInfo and the Subjects are handed to the thread that runs the module, and everything the module and the
+ * CallbackHandler store in them happens-before the completion of the returned CompletionStage. The runtime must not
+ * access them until then. The task passed to the Executor is first passed to a context propagator on the calling
+ * thread, which can capture the thread context of the request, such as the security or naming context established by
+ * the runtime, and apply it around the task.
+ *
+ * <p>
+ * The propagator is required, as only the runtime knows which thread context it relies on. Thread context the
+ * propagator does not establish is not available to the module and its CallbackHandler on the Executor's thread. This
+ * includes the security context on which a runtime bases the propagation of the authenticated identity to Enterprise
+ * Beans and to Jakarta Authorization. A runtime that relies on such thread context must pass a propagator that
+ * captures it on the calling thread, establishes it around the task and restores the previous context of the
+ * Executor's thread afterwards. {@link #contextClassLoaderPropagator()} is only suited to a runtime that relies on no
+ * thread context other than the context class loader.
+ */
+public class ExecutorServerAuthContext implements ServerAuthContext {
+
+    private static final Executor VIRTUAL_THREAD_EXECUTOR = createVirtualThreadExecutor();
+
+    private final ServerAuthContext context;
+    private final Executor executor;
+    private final UnaryOperator<Runnable> contextPropagator;
+
+    /**
+     * Creates a ServerAuthContext that runs the processing of the given context on the given Executor.
+     *
+     * @param context The ServerAuthContext that processes the messages.
+     *
+     * @param executor The Executor that runs the processing.
+     *
+     * @param contextPropagator Called on the calling thread with each task, and returns the task that is passed to the
+     * Executor, which runs the given task with the thread context of the calling thread.
+     */
+    public ExecutorServerAuthContext(ServerAuthContext context, Executor executor, UnaryOperator<Runnable> contextPropagator) {
+        if (context == null) {
+            throw new IllegalArgumentException("invalid null context");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("invalid null executor");
+        }
+        if (contextPropagator == null) {
+            throw new IllegalArgumentException("invalid null contextPropagator");
+        }
+        this.context = context;
+        this.executor = executor;
+        this.contextPropagator = contextPropagator;
+    }
+
+    /**
+     * Get a context propagator that propagates the context class loader of the calling thread, and no other thread
+     * context.
+     *
+     * <p>
+     * With this propagator the module and its CallbackHandler do not run with the security context of the request, so
+     * a runtime that bases identity propagation to Enterprise Beans or to Jakarta Authorization on thread context must
+     * pass its own propagator instead.
+     *
+     * @return A propagator that only propagates the context class loader.
+     */
+    public static UnaryOperator<Runnable> contextClassLoaderPropagator() {
+        return ExecutorServerAuthContext::propagateContextClassLoader;
+    }
+
+    /**
+     * Get an Executor that runs each task on a new virtual thread.
+     *
+     * <p>
+     * Virtual threads are obtained reflectively, as this API does not require a Java version that has them. On a Java
+     * version without virtual threads, the returned Executor runs the tasks on a shared, unbounded pool of daemon
+     * platform threads instead.
+     *
+     * @return An Executor for tasks that block on I/O.
+     */
+    public static Executor virtualThreadExecutor() {
+        return VIRTUAL_THREAD_EXECUTOR;
+    }
+
+    /**
+     * Get whether {@link #virtualThreadExecutor()} runs its tasks on virtual threads.
+     *
+     * @return True if the Java runtime supports virtual threads, false if platform threads are used instead.
+     */
+    public static boolean isVirtualThreadExecutorSupported() {
+        return VIRTUAL_THREAD_EXECUTOR instanceof VirtualThreadExecutor;
+    }
+
+    /**
+     * Get the ServerAuthContext whose processing this context runs.
+     *
+     * @return The wrapped context.
+     */
+    public ServerAuthContext getContext() {
+        return context;
+    }
+
+    @Override
+    public AuthStatus validateRequest(MessageInfo messageInfo, Subject clientSubject, Subject serviceSubject) throws AuthException {
+        return context.validateRequest(messageInfo, clientSubject, serviceSubject);
+    }
+
+    /**
+     * Runs <code>validateRequest</code> of the wrapped context on the Executor.
+     */
+    @Override
+    public CompletionStage<AuthStatus> validateRequestAsync(MessageInfo messageInfo, Subject clientSubject, Subject serviceSubject) {
+        return submit(() -> context.validateRequest(messageInfo, clientSubject, serviceSubject));
+    }
+
+    @Override
+    public AuthStatus secureResponse(MessageInfo messageInfo, Subject serviceSubject) throws AuthException {
+        return context.secureResponse(messageInfo, serviceSubject);
+    }
+
+    /**
+     * Secure a service response before sending it to the client, running <code>secureResponse</code> of the wrapped
+     * context on the Executor.
+     *
+     * @param messageInfo A contextual object that encapsulates the client request and server response objects.
+     *
+     * @param serviceSubject A Subject that represents the source of the service response, or null.
+     *
+     * @return A CompletionStage that is completed with the AuthStatus returned by <code>secureResponse</code>, or
+     * completed exceptionally with the exception it threw.
+     */
+    public CompletionStage<AuthStatus> secureResponseAsync(MessageInfo messageInfo, Subject serviceSubject) {
+        return submit(() -> context.secureResponse(messageInfo, serviceSubject));
+    }
+
+    @Override
+    public void cleanSubject(MessageInfo messageInfo, Subject subject) throws AuthException {
+        context.cleanSubject(messageInfo, subject);
+    }
+
+    private CompletionStage<AuthStatus> submit(Processing processing) {
+        CompletableFuture<AuthStatus> status = new CompletableFuture<>();
+        try {
+            executor.execute(contextPropagator.apply(() -> {
+                try {
+                    status.complete(processing.process());
+                } catch (Exception e) {
+                    status.completeExceptionally(e);
+                }
+            }));
+        } catch (RuntimeException e) {
+            // rejected by the executor, or failed to capture the thread context
+            status.completeExceptionally(e);
+        }
+
+        return status;
+    }
+
+    private static Runnable propagateContextClassLoader(Runnable task) {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+        return () -> {
+            Thread thread = Thread.currentThread();
+            ClassLoader previous = thread.getContextClassLoader();
+            thread.setContextClassLoader(contextClassLoader);
+            try {
+                task.run();
+            } finally {
+                thread.setContextClassLoader(previous);
+            }
+        };
+    }
+
+    private static Executor createVirtualThreadExecutor() {
+        try {
+            // Thread.ofVirtual().name("jakarta-authentication-", 0).factory()
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Class<?> virtualBuilderClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+
+            MethodHandle ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(virtualBuilderClass));
+            MethodHandle name = lookup.findVirtual(builderClass, "name", MethodType.methodType(builderClass, String.class, long.class));
+            MethodHandle factory = lookup.findVirtual(builderClass, "factory", MethodType.methodType(ThreadFactory.class));
+
+            Object builder = name.invoke(ofVirtual.invoke(), "jakarta-authentication-", 0L);
+
+            return new VirtualThreadExecutor((ThreadFactory) factory.invoke(builder));
+        } catch (Throwable e) {
+            // no virtual threads in this Java version
+            ExecutorService platformThreads = Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "jakarta-authentication");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            return platformThreads::execute;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Processing {
+        AuthStatus process() throws AuthException;
+    }
+
+    private static final class VirtualThreadExecutor implements Executor {
+
+        private final ThreadFactory factory;
+
+        VirtualThreadExecutor(ThreadFactory factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            factory.newThread(task).start();
+        }
+    }
+}
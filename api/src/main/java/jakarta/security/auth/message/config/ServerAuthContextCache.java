@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message.config;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.security.auth.Subject;
+import javax.security.auth.callback.CallbackHandler;
+
+import jakarta.security.auth.message.AuthException;
+import jakarta.security.auth.message.MessageInfo;
+
+/**
+ * A cache of <code>ServerAuthConfig</code> and <code>ServerAuthContext</code> objects for use by a message processing
+ * runtime, so that the <code>getConfigProvider</code>, <code>getServerAuthConfig</code> and <code>getAuthContext</code>
+ * calls are only made once per layer, appContext and authentication context identifier instead of once per request.
+ *
+ * <p>
+ * The cache attaches itself as the <code>RegistrationListener</code> when it obtains a provider from the factory. When
+ * the factory notifies it for a layer and appContext, exactly the entries of that layer and appContext are evicted.
+ * Entries are also evicted when the provider is refreshed via one of the <code>refresh</code> methods of this class.
+ *
+ * <p>
+ * Nothing is cached for a layer and appContext for which the factory returns no provider, as factories need not attach
+ * a listener in that case and the cache would not learn of a provider registered later. Such calls ask the factory
+ * again each time.
+ *
+ * <p>
+ * The <code>serviceSubject</code> and <code>properties</code> arguments of
+ * {@link #getAuthContext(String, String, MessageInfo, Subject, Map)} are only used when a context is created, and do not
+ * take part in the cache key. This cache is therefore only suitable for runtimes that pass the same values for the same
+ * authentication context identifier, and for contexts that may be used concurrently by multiple callers.
+ */
+public class ServerAuthContextCache implements RegistrationListener {
+
+    /**
+     * Stands in for a null layer, appContext or authentication context identifier, which concurrent maps can't hold.
+     */
+    private static final Object NULL_KEY = new Object();
+
+    private final AuthConfigFactory factory;
+    private final CallbackHandler handler;
+
+    private final ConcurrentMap<Object, ConcurrentMap<Object, ConfigEntry>> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache for the providers registered at the given factory.
+     *
+     * @param factory The factory from which providers are obtained.
+     *
+     * @param handler The CallbackHandler passed to <code>getServerAuthConfig</code>.
+     */
+    public ServerAuthContextCache(AuthConfigFactory factory, CallbackHandler handler) {
+        if (factory == null) {
+            throw new IllegalArgumentException("invalid null factory");
+        }
+        this.factory = factory;
+        this.handler = handler;
+    }
+
+    /**
+     * Get the ServerAuthContext for a message, creating and caching it (and the ServerAuthConfig it is obtained from) on
+     * first use.
+     *
+     * @param layer A String identifying the message layer, or null.
+     *
+     * @param appContext A String identifying the application context, or null.
+     *
+     * @param messageInfo The MessageInfo from which the authentication context identifier is obtained.
+     *
+     * @param serviceSubject The Subject passed to <code>getAuthContext</code> when the context is created, or null.
+     *
+     * @param properties The properties passed to <code>getAuthContext</code> when the context is created, or null.
+     *
+     * @return The ServerAuthContext for the message, or null if no provider is registered for the layer and appContext,
+     * the provider has no ServerAuthConfig, or no modules are configured for the authentication context identifier.
+     *
+     * @exception AuthException If obtaining the ServerAuthConfig or ServerAuthContext fails.
+     */
+    public ServerAuthContext getAuthContext(String layer, String appContext, MessageInfo messageInfo, Subject serviceSubject, Map<String, Object> properties) throws AuthException {
+        ConfigEntry configEntry = getConfigEntry(layer, appContext);
+        if (configEntry.config == null) {
+            return null;
+        }
+
+        String authContextID = configEntry.config.getAuthContextID(messageInfo);
+        Object authContextKey = authContextID == null ? NULL_KEY : authContextID;
+
+        Optional<ServerAuthContext> context = configEntry.contexts.get(authContextKey);
+        if (context != null) {
+            hits.increment();
+            return context.orElse(null);
+        }
+
+        try {
+            return configEntry.contexts.computeIfAbsent(authContextKey, e -> {
+                misses.increment();
+                try {
+                    return Optional.ofNullable(configEntry.config.getAuthContext(authContextID, serviceSubject, properties));
+                } catch (AuthException authException) {
+                    throw new WrappedAuthException(authException);
+                }
+            }).orElse(null);
+        } catch (WrappedAuthException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Evicts the entries for the layer and appContext the factory notified this cache for.
+     */
+    @Override
+    public void notify(String layer, String appContext) {
+        evict(layer, appContext);
+    }
+
+    /**
+     * Refreshes the provider cached for the given layer and appContext and evicts its entries.
+     *
+     * @param layer A String identifying the message layer, or null.
+     *
+     * @param appContext A String identifying the application context, or null.
+     */
+    public void refresh(String layer, String appContext) {
+        ConfigEntry configEntry = evict(layer, appContext);
+        if (configEntry != null) {
+            configEntry.provider.refresh();
+        }
+    }
+
+    /**
+     * Refreshes all cached providers and evicts all entries.
+     */
+    public void refresh() {
+        for (Map.Entry<Object, ConcurrentMap<Object, ConfigEntry>> layerEntry : entries.entrySet()) {
+            for (Object appContextKey : layerEntry.getValue().keySet()) {
+                ConfigEntry configEntry = layerEntry.getValue().remove(appContextKey);
+                if (configEntry != null) {
+                    evictions.increment();
+                    configEntry.provider.refresh();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The number of <code>getAuthContext</code> calls that were served from the cache.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of <code>getAuthContext</code> calls that had to obtain a new ServerAuthContext.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The number of layer and appContext entries that were evicted.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private ConfigEntry getConfigEntry(String layer, String appContext) throws AuthException {
+        Object layerKey = layer == null ? NULL_KEY : layer;
+        ConcurrentMap<Object, ConfigEntry> byAppContext = entries.get(layerKey);
+        if (byAppContext == null) {
+            byAppContext = entries.computeIfAbsent(layerKey, e -> new ConcurrentHashMap<>());
+        }
+        Object appContextKey = appContext == null ? NULL_KEY : appContext;
+
+        ConfigEntry configEntry = byAppContext.get(appContextKey);
+        if (configEntry != null) {
+            return configEntry;
+        }
+
+        // Creating the entry within computeIfAbsent only makes a concurrent remove of the same key, as done by notify and
+        // refresh(layer, appContext), wait until the entry is in place; it then evicts the new entry. It does not order
+        // the creation against refresh(), which may skip an entry that is still being created.
+        try {
+            configEntry = byAppContext.computeIfAbsent(appContextKey, e -> {
+                AuthConfigProvider provider = factory.getConfigProvider(layer, appContext, this);
+                if (provider == null) {
+                    return null;
+                }
+                try {
+                    return new ConfigEntry(provider, provider.getServerAuthConfig(layer, appContext, handler));
+                } catch (AuthException authException) {
+                    throw new WrappedAuthException(authException);
+                }
+            });
+        } catch (WrappedAuthException e) {
+            throw e.getCause();
+        }
+
+        return configEntry == null ? ConfigEntry.NO_PROVIDER : configEntry;
+    }
+
+    private ConfigEntry evict(String layer, String appContext) {
+        ConcurrentMap<Object, ConfigEntry> byAppContext = entries.get(layer == null ? NULL_KEY : layer);
+        if (byAppContext == null) {
+            return null;
+        }
+
+        ConfigEntry configEntry = byAppContext.remove(appContext == null ? NULL_KEY : appContext);
+        if (configEntry != null) {
+            evictions.increment();
+        }
+
+        return configEntry;
+    }
+
+    private static final class ConfigEntry {
+
+        static final ConfigEntry NO_PROVIDER = new ConfigEntry(null, null);
+
+        final AuthConfigProvider provider;
+        final ServerAuthConfig config;
+        final ConcurrentMap<Object, Optional<ServerAuthContext>> contexts = new ConcurrentHashMap<>();
+
+        ConfigEntry(AuthConfigProvider provider, ServerAuthConfig config) {
+            this.provider = provider;
+            this.config = config;
+        }
+    }
+
+    /**
+     * Carries an AuthException out of a mapping function.
+     */
+    private static final class WrappedAuthException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        WrappedAuthException(AuthException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized AuthException getCause() {
+            return (AuthException) super.getCause();
+        }
+    }
+
+}
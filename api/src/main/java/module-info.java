@@ -14,6 +14,8 @@
  * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
  */
 module jakarta.security.auth.message {
+    requires static jdk.jfr;
+
     exports jakarta.security.auth.message;
     exports jakarta.security.auth.message.callback;
     exports jakarta.security.auth.message.config;
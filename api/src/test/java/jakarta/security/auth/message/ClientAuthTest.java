@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import javax.security.auth.Subject;
+
+import org.junit.Test;
+
+/**
+ * Tests the default <code>secureRequestAsync</code> of {@link ClientAuth}, which adapts <code>secureRequest</code>.
+ */
+public class ClientAuthTest {
+
+    @Test
+    public void testSecureRequestAsyncCompletesWithStatus() throws Exception {
+        Thread[] calledOn = new Thread[1];
+        ClientAuth clientAuth = new TestClientAuth() {
+            @Override
+            public AuthStatus secureRequest(MessageInfo messageInfo, Subject clientSubject) {
+                calledOn[0] = Thread.currentThread();
+                return AuthStatus.SEND_CONTINUE;
+            }
+        };
+
+        CompletableFuture<AuthStatus> status = clientAuth.secureRequestAsync(null, new Subject()).toCompletableFuture();
+
+        assertSame(Thread.currentThread(), calledOn[0]);
+        assertTrue(status.isDone());
+        assertSame(AuthStatus.SEND_CONTINUE, status.get());
+    }
+
+    @Test
+    public void testSecureRequestAsyncCompletesWithAuthException() {
+        AuthException failure = new AuthException("invalid credentials");
+        ClientAuth clientAuth = new TestClientAuth() {
+            @Override
+            public AuthStatus secureRequest(MessageInfo messageInfo, Subject clientSubject) throws AuthException {
+                throw failure;
+            }
+        };
+
+        CompletableFuture<AuthStatus> status = clientAuth.secureRequestAsync(null, new Subject()).toCompletableFuture();
+
+        assertTrue(status.isCompletedExceptionally());
+        try {
+            status.join();
+            fail("AuthException expected");
+        } catch (CompletionException e) {
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    @Test
+    public void testSecureRequestAsyncCompletesWithRuntimeException() {
+        IllegalStateException failure = new IllegalStateException("no session");
+        ClientAuth clientAuth = new TestClientAuth() {
+            @Override
+            public AuthStatus secureRequest(MessageInfo messageInfo, Subject clientSubject) {
+                throw failure;
+            }
+        };
+
+        CompletableFuture<AuthStatus> status = clientAuth.secureRequestAsync(null, new Subject()).toCompletableFuture();
+
+        assertTrue(status.isCompletedExceptionally());
+        try {
+            status.join();
+            fail("IllegalStateException expected");
+        } catch (CompletionException e) {
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    private abstract static class TestClientAuth implements ClientAuth {
+
+        @Override
+        public AuthStatus validateResponse(MessageInfo messageInfo, Subject clientSubject, Subject serviceSubject) {
+            return AuthStatus.SUCCESS;
+        }
+
+        @Override
+        public void cleanSubject(MessageInfo messageInfo, Subject subject) {
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests that the map of {@link DefaultMessageInfo} behaves as a <code>java.util.Map</code>, for its well-known and its
+ * overflow keys.
+ */
+public class DefaultMessageInfoTest {
+
+    private static final String[] WELL_KNOWN_KEYS = { DefaultMessageInfo.IS_MANDATORY, DefaultMessageInfo.REGISTER_SESSION,
+            DefaultMessageInfo.AUTH_TYPE, DefaultMessageInfo.WSDL_SERVICE };
+
+    @Test
+    public void testWellKnownKeys() {
+        Map<String, Object> map = new DefaultMessageInfo().getMap();
+
+        assertNull(map.put(DefaultMessageInfo.IS_MANDATORY, "true"));
+        // Found by equality as well as by identity
+        assertEquals("true", map.get(new String(DefaultMessageInfo.IS_MANDATORY)));
+        assertEquals("true", map.put(new String(DefaultMessageInfo.IS_MANDATORY), "false"));
+        assertEquals(1, map.size());
+
+        // Null values are entries too
+        assertNull(map.put(DefaultMessageInfo.AUTH_TYPE, null));
+        assertTrue(map.containsKey(DefaultMessageInfo.AUTH_TYPE));
+        assertEquals(2, map.size());
+
+        assertEquals("false", map.remove(DefaultMessageInfo.IS_MANDATORY));
+        assertNull(map.remove(DefaultMessageInfo.IS_MANDATORY));
+        assertFalse(map.containsKey(DefaultMessageInfo.IS_MANDATORY));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testOverflowKeys() {
+        Map<String, Object> map = new DefaultMessageInfo().getMap();
+
+        assertNull(map.put("custom", 1));
+        assertEquals(1, map.put("custom", 2));
+        assertEquals(2, map.get("custom"));
+        assertNull(map.put("nullValue", null));
+        assertTrue(map.containsKey("nullValue"));
+        assertFalse(map.containsKey("missing"));
+        assertEquals(2, map.size());
+
+        assertEquals(2, map.remove("custom"));
+        assertNull(map.remove("custom"));
+        assertNull(map.get("custom"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testGrowthPastInitialCapacity() {
+        Map<String, Object> map = new DefaultMessageInfo().getMap();
+        Map<String, Object> expected = new HashMap<>();
+
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, i);
+            expected.put("key" + i, i);
+            assertEquals(expected, map);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, map.get("key" + i));
+        }
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        Map<String, Object> map = new DefaultMessageInfo().getMap();
+        Map<String, Object> expected = new HashMap<>();
+        for (String key : WELL_KNOWN_KEYS) {
+            map.put(key, key);
+            expected.put(key, key);
+        }
+        for (int i = 0; i < 20; i++) {
+            map.put("key" + i, i);
+            expected.put("key" + i, i);
+        }
+
+        int visited = 0;
+        for (Iterator<Map.Entry<String, Object>> entries = map.entrySet().iterator(); entries.hasNext();) {
+            Map.Entry<String, Object> entry = entries.next();
+            visited++;
+            if (visited % 2 == 0) {
+                entries.remove();
+                expected.remove(entry.getKey());
+            }
+        }
+
+        assertEquals(24, visited);
+        assertEquals(expected, map);
+        for (String key : expected.keySet()) {
+            assertTrue(map.containsKey(key));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testIteratorRemoveTwice() {
+        Map<String, Object> map = new DefaultMessageInfo().getMap();
+        map.put("custom", 1);
+
+        Iterator<Map.Entry<String, Object>> entries = map.entrySet().iterator();
+        entries.next();
+        entries.remove();
+        entries.remove();
+    }
+
+    @Test
+    public void testEntrySetValue() {
+        Map<String, Object> map = new DefaultMessageInfo().getMap();
+        map.put(DefaultMessageInfo.AUTH_TYPE, "BASIC");
+        map.put("custom", 1);
+
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            entry.setValue("changed");
+        }
+
+        assertEquals("changed", map.get(DefaultMessageInfo.AUTH_TYPE));
+        assertEquals("changed", map.get("custom"));
+    }
+
+    @Test
+    public void testResetAfterRemovals() {
+        DefaultMessageInfo messageInfo = new DefaultMessageInfo("request", "response");
+        Map<String, Object> map = messageInfo.getMap();
+        for (int i = 0; i < 20; i++) {
+            map.put("key" + i, i);
+        }
+        for (int i = 0; i < 20; i += 2) {
+            map.remove("key" + i);
+        }
+        map.put(DefaultMessageInfo.REGISTER_SESSION, "true");
+
+        messageInfo.reset();
+
+        assertNull(messageInfo.getRequestMessage());
+        assertNull(messageInfo.getResponseMessage());
+        assertTrue(map.isEmpty());
+        assertFalse(map.entrySet().iterator().hasNext());
+        assertFalse(map.containsKey("key1"));
+        assertFalse(map.containsKey(DefaultMessageInfo.REGISTER_SESSION));
+
+        // The reused instance behaves as a new one
+        map.put("key1", "again");
+        assertEquals(Map.of("key1", "again"), map);
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        Map<String, Object> map = new DefaultMessageInfo().getMap();
+        Map<String, Object> expected = new HashMap<>();
+        assertEquals(expected, map);
+
+        map.put(DefaultMessageInfo.WSDL_SERVICE, "service");
+        map.put("custom", null);
+        expected.put("custom", null);
+        assertFalse(expected.equals(map));
+        assertFalse(map.equals(expected));
+
+        expected.put(DefaultMessageInfo.WSDL_SERVICE, "service");
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertEquals(expected.entrySet(), map.entrySet());
+        assertEquals(expected.keySet(), map.keySet());
+
+        assertEquals(expected, new DefaultMessageInfo(expected).getMap());
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        Random random = new Random(42);
+        DefaultMessageInfo messageInfo = new DefaultMessageInfo();
+        Map<String, Object> map = messageInfo.getMap();
+        Map<String, Object> expected = new HashMap<>();
+
+        for (int operation = 0; operation < 50_000; operation++) {
+            String key = random.nextInt(4) == 0 ? WELL_KNOWN_KEYS[random.nextInt(WELL_KNOWN_KEYS.length)] : "key" + random.nextInt(40);
+            Integer value = random.nextInt(5) == 0 ? null : random.nextInt(100);
+
+            switch (random.nextInt(10)) {
+            case 0:
+            case 1:
+            case 2:
+            case 3:
+                assertEquals(expected.put(key, value), map.put(key, value));
+                break;
+            case 4:
+            case 5:
+            case 6:
+                assertEquals(expected.remove(key), map.remove(key));
+                break;
+            case 7:
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+                assertEquals(expected.get(key), map.get(key));
+                break;
+            case 8:
+                Iterator<Map.Entry<String, Object>> entries = map.entrySet().iterator();
+                while (entries.hasNext()) {
+                    Map.Entry<String, Object> entry = entries.next();
+                    if (random.nextBoolean()) {
+                        entries.remove();
+                        expected.remove(entry.getKey());
+                    }
+                }
+                break;
+            default:
+                if (random.nextInt(20) == 0) {
+                    messageInfo.reset();
+                    expected.clear();
+                }
+            }
+
+            assertEquals(expected.size(), map.size());
+        }
+
+        assertEquals(expected, map);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullKeyIsRejected() {
+        new DefaultMessageInfo().getMap().put(null, "value");
+    }
+
+    @Test
+    public void testMessages() {
+        DefaultMessageInfo messageInfo = new DefaultMessageInfo();
+        Object request = new Object();
+
+        messageInfo.setRequestMessage(request);
+        assertSame(request, messageInfo.getRequestMessage());
+        assertNull(messageInfo.getResponseMessage());
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message;
+
+import static jakarta.security.auth.message.MessagePolicy.ProtectionPolicy.AUTHENTICATE_CONTENT;
+import static jakarta.security.auth.message.MessagePolicy.ProtectionPolicy.AUTHENTICATE_RECIPIENT;
+import static jakarta.security.auth.message.MessagePolicy.ProtectionPolicy.AUTHENTICATE_SENDER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import jakarta.security.auth.message.MessagePolicy.ProtectionPolicy;
+import jakarta.security.auth.message.MessagePolicy.TargetPolicy;
+
+/**
+ * Tests how {@link MessagePolicy#of(boolean, String...)} and {@link MessagePolicy.Interner} share policies.
+ */
+public class MessagePolicyTest {
+
+    @Test
+    public void testOfSharesDefinedProtectionPolicies() {
+        MessagePolicy policy = MessagePolicy.of(true, AUTHENTICATE_SENDER, AUTHENTICATE_CONTENT);
+
+        assertSame(policy, MessagePolicy.of(true, AUTHENTICATE_SENDER, AUTHENTICATE_CONTENT));
+        assertNotSame(policy, MessagePolicy.of(false, AUTHENTICATE_SENDER, AUTHENTICATE_CONTENT));
+        assertNotSame(policy, MessagePolicy.of(true, AUTHENTICATE_CONTENT, AUTHENTICATE_SENDER));
+        assertNotSame(policy, MessagePolicy.of(true, AUTHENTICATE_SENDER));
+        assertSame(MessagePolicy.of(false), MessagePolicy.of(false));
+        assertSame(MessagePolicy.of(false, AUTHENTICATE_RECIPIENT, AUTHENTICATE_RECIPIENT, AUTHENTICATE_RECIPIENT),
+                MessagePolicy.of(false, AUTHENTICATE_RECIPIENT, AUTHENTICATE_RECIPIENT, AUTHENTICATE_RECIPIENT));
+
+        assertTrue(policy.isMandatory());
+        assertEquals(2, policy.getTargetPolicyList().size());
+        assertEquals(AUTHENTICATE_SENDER, policy.getTargetPolicyList().get(0).getProtectionPolicy().getID());
+        assertEquals(AUTHENTICATE_CONTENT, policy.getTargetPolicyList().get(1).getProtectionPolicy().getID());
+    }
+
+    @Test
+    public void testOfDoesNotShareOtherProtectionPolicies() {
+        assertNotSame(MessagePolicy.of(true, "custom"), MessagePolicy.of(true, "custom"));
+        assertNotSame(MessagePolicy.of(true, AUTHENTICATE_SENDER, AUTHENTICATE_SENDER, AUTHENTICATE_SENDER, AUTHENTICATE_SENDER),
+                MessagePolicy.of(true, AUTHENTICATE_SENDER, AUTHENTICATE_SENDER, AUTHENTICATE_SENDER, AUTHENTICATE_SENDER));
+        assertEquals("custom", MessagePolicy.of(true, "custom").getTargetPolicyList().get(0).getProtectionPolicy().getID());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfRejectsNullProtectionPolicyID() {
+        MessagePolicy.of(true, AUTHENTICATE_SENDER, null);
+    }
+
+    @Test
+    public void testInternerSharesEqualPolicies() {
+        MessagePolicy.Interner interner = new MessagePolicy.Interner();
+        MessagePolicy policy = policy("custom", true);
+
+        assertSame(policy, interner.intern(policy));
+        assertSame(policy, interner.intern(policy("custom", true)));
+        assertNotSame(policy, interner.intern(policy("custom", false)));
+        assertNotSame(policy, interner.intern(policy("other", true)));
+
+        // Each interner is independent of the others
+        MessagePolicy equal = policy("custom", true);
+        assertSame(equal, new MessagePolicy.Interner().intern(equal));
+
+        interner.clear();
+        assertSame(equal, interner.intern(equal));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInternerRejectsNull() {
+        new MessagePolicy.Interner().intern(null);
+    }
+
+    private static MessagePolicy policy(String protectionPolicyID, boolean mandatory) {
+        ProtectionPolicy protectionPolicy = () -> protectionPolicyID;
+
+        return new MessagePolicy(new TargetPolicy[] { new TargetPolicy(null, protectionPolicy) }, mandatory);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message.callback;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import javax.security.auth.Subject;
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.CallbackHandler;
+import javax.security.auth.callback.UnsupportedCallbackException;
+import javax.security.auth.x500.X500Principal;
+
+import org.junit.Test;
+
+/**
+ * Tests how {@link CallerIdentityCallback} is passed to handlers, and how handlers establish it.
+ */
+public class CallerIdentityCallbackTest {
+
+    private static final X500Principal ALICE = new X500Principal("CN=alice");
+
+    private final List<Callback[]> handled = new ArrayList<>();
+
+    @Test
+    public void testHandleWithSupportingHandler() throws Exception {
+        Subject subject = new Subject();
+        CallerIdentityCallback callback = new CallerIdentityCallback(subject, "alice", new String[] { "admins" });
+
+        CallerIdentityCallback.handle(callbacks -> {
+            handled.add(callbacks);
+            ((CallerIdentityCallback) callbacks[0]).establish(ALICE, CallerIdentityCallbackTest::groupPrincipal);
+        }, callback);
+
+        assertEquals(1, handled.size());
+        assertArrayEquals(new Callback[] { callback }, handled.get(0));
+        assertEquals(Set.of(ALICE, groupPrincipal("admins")), subject.getPrincipals());
+    }
+
+    @Test
+    public void testHandleFallsBackToEquivalentCallbacks() throws Exception {
+        Subject subject = new Subject();
+        String[] groups = { "admins", "users" };
+        CallerIdentityCallback callback = new CallerIdentityCallback(subject, "alice", groups);
+
+        CallerIdentityCallback.handle(separateCallbacksHandler(), callback);
+
+        assertEquals(2, handled.size());
+        Callback[] fallback = handled.get(1);
+        assertEquals(2, fallback.length);
+
+        CallerPrincipalCallback callerPrincipalCallback = (CallerPrincipalCallback) fallback[0];
+        assertSame(subject, callerPrincipalCallback.getSubject());
+        assertEquals("alice", callerPrincipalCallback.getName());
+        assertNull(callerPrincipalCallback.getPrincipal());
+
+        GroupPrincipalCallback groupPrincipalCallback = (GroupPrincipalCallback) fallback[1];
+        assertSame(subject, groupPrincipalCallback.getSubject());
+        assertArrayEquals(groups, groupPrincipalCallback.getGroups());
+    }
+
+    @Test
+    public void testHandleRethrowsForOtherCallback() throws Exception {
+        CallerIdentityCallback callback = new CallerIdentityCallback(new Subject(), "alice", null);
+        Callback other = new CallerPrincipalCallback(new Subject(), "bob");
+
+        try {
+            CallerIdentityCallback.handle(callbacks -> {
+                handled.add(callbacks);
+                throw new UnsupportedCallbackException(other);
+            }, callback);
+            fail("UnsupportedCallbackException expected");
+        } catch (UnsupportedCallbackException e) {
+            assertSame(other, e.getCallback());
+        }
+        assertEquals(1, handled.size());
+    }
+
+    @Test
+    public void testHandleFailsIfFallbackIsUnsupported() throws Exception {
+        CallerIdentityCallback callback = new CallerIdentityCallback(new Subject(), "alice", null);
+
+        try {
+            CallerIdentityCallback.handle(callbacks -> {
+                handled.add(callbacks);
+                throw new UnsupportedCallbackException(callbacks[0]);
+            }, callback);
+            fail("UnsupportedCallbackException expected");
+        } catch (UnsupportedCallbackException e) {
+            assertTrue(e.getCallback() instanceof CallerPrincipalCallback);
+        }
+        assertEquals(2, handled.size());
+    }
+
+    @Test
+    public void testToCallbacks() {
+        Subject subject = new Subject();
+
+        CallerPrincipalCallback byPrincipal = (CallerPrincipalCallback) new CallerIdentityCallback(subject, ALICE, null).toCallbacks()[0];
+        assertSame(ALICE, byPrincipal.getPrincipal());
+        assertNull(byPrincipal.getName());
+
+        Callback[] unauthenticated = new CallerIdentityCallback(subject, (String) null, null).toCallbacks();
+        assertNull(((CallerPrincipalCallback) unauthenticated[0]).getPrincipal());
+        assertNull(((CallerPrincipalCallback) unauthenticated[0]).getName());
+        assertNull(((GroupPrincipalCallback) unauthenticated[1]).getGroups());
+    }
+
+    @Test
+    public void testEstablish() {
+        Subject subject = new Subject();
+        subject.getPrincipals().add(groupPrincipal("admins"));
+
+        new CallerIdentityCallback(subject, "alice", new String[] { "admins", "users", "users" })
+                .establish(ALICE, CallerIdentityCallbackTest::groupPrincipal);
+
+        assertEquals(Set.of(ALICE, groupPrincipal("admins"), groupPrincipal("users")), subject.getPrincipals());
+    }
+
+    @Test
+    public void testEstablishWithoutCallerOrGroups() {
+        Subject subject = new Subject();
+
+        new CallerIdentityCallback(subject, (String) null, null).establish(null, group -> {
+            throw new AssertionError("no groups to map");
+        });
+        new CallerIdentityCallback(subject, "alice", new String[0]).establish(null, CallerIdentityCallbackTest::groupPrincipal);
+
+        assertTrue(subject.getPrincipals().isEmpty());
+    }
+
+    /**
+     * Supports only CallerPrincipalCallback and GroupPrincipalCallback, like a handler predating CallerIdentityCallback.
+     */
+    private CallbackHandler separateCallbacksHandler() {
+        return callbacks -> {
+            handled.add(Arrays.copyOf(callbacks, callbacks.length));
+            for (Callback callback : callbacks) {
+                if (!(callback instanceof CallerPrincipalCallback) && !(callback instanceof GroupPrincipalCallback)) {
+                    throw new UnsupportedCallbackException(callback);
+                }
+            }
+        };
+    }
+
+    private static X500Principal groupPrincipal(String group) {
+        return new X500Principal("CN=" + group + ",OU=groups");
+    }
+}
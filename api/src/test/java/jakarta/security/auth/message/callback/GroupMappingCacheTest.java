@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message.callback;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.junit.Test;
+
+import jakarta.security.auth.message.callback.GroupMappingCache.Mapping;
+import jakarta.security.auth.message.config.AuthConfigProvider;
+import jakarta.security.auth.message.config.DefaultAuthConfigFactory;
+
+/**
+ * Tests the hits, misses and invalidation of {@link GroupMappingCache}.
+ */
+public class GroupMappingCacheTest {
+
+    private static final String APP_CONTEXT = "server /app";
+    private static final String OTHER_APP_CONTEXT = "server /other";
+
+    private final List<String> mapped = new ArrayList<>();
+
+    private final GroupMappingCache.RoleMapper roleMapper = (appContext, groups) -> {
+        mapped.add(appContext + ":" + String.join(",", groups));
+
+        Set<String> roles = new LinkedHashSet<>();
+        for (String group : groups) {
+            roles.add("role-" + group);
+        }
+        return roles;
+    };
+
+    @Test
+    public void testHitsAndMisses() {
+        GroupMappingCache cache = new GroupMappingCache(roleMapper, GroupMappingCacheTest::groupPrincipal, 10);
+
+        Mapping mapping = cache.getMapping(APP_CONTEXT, new String[] { "admins", "users" });
+        assertEquals(Set.of("role-admins", "role-users"), mapping.getRoles());
+        assertEquals(Set.of(new X500Principal("CN=admins"), new X500Principal("CN=users")), mapping.getGroupPrincipals());
+
+        assertSame(mapping, cache.getMapping(APP_CONTEXT, new String[] { "admins", "users" }));
+        // Another order, or another appContext, is another entry
+        assertNotSame(mapping, cache.getMapping(APP_CONTEXT, new String[] { "users", "admins" }));
+        assertNotSame(mapping, cache.getMapping(OTHER_APP_CONTEXT, new String[] { "admins", "users" }));
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(3, mapped.size());
+    }
+
+    @Test
+    public void testCallerMayReuseGroupsArray() {
+        GroupMappingCache cache = new GroupMappingCache(roleMapper, GroupMappingCacheTest::groupPrincipal, 10);
+
+        String[] groups = { "admins" };
+        Mapping mapping = cache.getMapping(APP_CONTEXT, groups);
+        groups[0] = "users";
+
+        assertSame(mapping, cache.getMapping(APP_CONTEXT, new String[] { "admins" }));
+        assertEquals(Set.of("role-users"), cache.getMapping(APP_CONTEXT, groups).getRoles());
+    }
+
+    @Test
+    public void testNullGroupsHaveEmptyMapping() {
+        GroupMappingCache cache = new GroupMappingCache(roleMapper, GroupMappingCacheTest::groupPrincipal, 10);
+
+        Mapping mapping = cache.getMapping(APP_CONTEXT, null);
+
+        assertTrue(mapping.getRoles().isEmpty());
+        assertTrue(mapping.getGroupPrincipals().isEmpty());
+        assertTrue(mapped.isEmpty());
+    }
+
+    @Test
+    public void testMaxSizeEvicts() {
+        GroupMappingCache cache = new GroupMappingCache(roleMapper, GroupMappingCacheTest::groupPrincipal, 2);
+
+        cache.getMapping(APP_CONTEXT, new String[] { "a" });
+        cache.getMapping(APP_CONTEXT, new String[] { "b" });
+        Mapping c = cache.getMapping(APP_CONTEXT, new String[] { "c" });
+
+        // c was added last and is still cached, one of a and b was evicted for it
+        assertSame(c, cache.getMapping(APP_CONTEXT, new String[] { "c" }));
+        cache.getMapping(APP_CONTEXT, new String[] { "a" });
+        cache.getMapping(APP_CONTEXT, new String[] { "b" });
+        assertTrue(mapped.size() >= 4);
+    }
+
+    @Test
+    public void testInvalidate() {
+        GroupMappingCache cache = new GroupMappingCache(roleMapper, GroupMappingCacheTest::groupPrincipal, 10);
+
+        Mapping mapping = cache.getMapping(APP_CONTEXT, new String[] { "admins" });
+        cache.invalidate();
+
+        assertNotSame(mapping, cache.getMapping(APP_CONTEXT, new String[] { "admins" }));
+        assertEquals(2, mapped.size());
+    }
+
+    @Test
+    public void testMappingComputedDuringInvalidateIsNotCached() {
+        GroupMappingCache[] cache = new GroupMappingCache[1];
+        cache[0] = new GroupMappingCache((appContext, groups) -> {
+            mapped.add(appContext);
+            if (mapped.size() == 1) {
+                // the configuration changes while the first mapping is computed
+                cache[0].invalidate();
+            }
+            return Set.of("role");
+        }, GroupMappingCacheTest::groupPrincipal, 10);
+
+        Mapping stale = cache[0].getMapping(APP_CONTEXT, new String[] { "admins" });
+        assertEquals(Set.of("role"), stale.getRoles());
+
+        Mapping current = cache[0].getMapping(APP_CONTEXT, new String[] { "admins" });
+        assertNotSame(stale, current);
+        assertSame(current, cache[0].getMapping(APP_CONTEXT, new String[] { "admins" }));
+        assertEquals(2, mapped.size());
+    }
+
+    @Test
+    public void testNotifyDropsOnlyItsAppContext() {
+        GroupMappingCache cache = new GroupMappingCache(roleMapper, GroupMappingCacheTest::groupPrincipal, 10);
+
+        Mapping app = cache.getMapping(APP_CONTEXT, new String[] { "admins" });
+        Mapping other = cache.getMapping(OTHER_APP_CONTEXT, new String[] { "admins" });
+
+        cache.notify("HttpServlet", APP_CONTEXT);
+        assertNotSame(app, cache.getMapping(APP_CONTEXT, new String[] { "admins" }));
+        assertSame(other, cache.getMapping(OTHER_APP_CONTEXT, new String[] { "admins" }));
+
+        cache.notify("HttpServlet", null);
+        assertNotSame(other, cache.getMapping(OTHER_APP_CONTEXT, new String[] { "admins" }));
+    }
+
+    @Test
+    public void testFactoryInvalidatesCache() {
+        GroupMappingCache cache = new GroupMappingCache(roleMapper, GroupMappingCacheTest::groupPrincipal, 10);
+        DefaultAuthConfigFactory factory = new DefaultAuthConfigFactory(Runnable::run);
+        factory.addRefreshListener(cache::invalidate);
+        factory.getConfigProvider("HttpServlet", APP_CONTEXT, cache);
+
+        Mapping mapping = cache.getMapping(APP_CONTEXT, new String[] { "admins" });
+        factory.refresh();
+        Mapping refreshed = cache.getMapping(APP_CONTEXT, new String[] { "admins" });
+        assertNotSame(mapping, refreshed);
+
+        // Registering a provider for the appContext notifies the cache
+        factory.registerConfigProvider((AuthConfigProvider) null, "HttpServlet", APP_CONTEXT, null);
+        assertNotSame(refreshed, cache.getMapping(APP_CONTEXT, new String[] { "admins" }));
+    }
+
+    @Test
+    public void testNullRolesAreRejected() {
+        GroupMappingCache cache = new GroupMappingCache((appContext, groups) -> null, GroupMappingCacheTest::groupPrincipal, 10);
+
+        try {
+            cache.getMapping(APP_CONTEXT, new String[] { "admins" });
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains(APP_CONTEXT));
+        }
+
+        // nothing was cached
+        try {
+            cache.getMapping(APP_CONTEXT, new String[] { "admins" });
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            assertEquals(2, cache.getMissCount());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNullGroupPrincipalIsRejected() {
+        new GroupMappingCache(roleMapper, group -> null, 10).getMapping(APP_CONTEXT, new String[] { "admins" });
+    }
+
+    private static X500Principal groupPrincipal(String group) {
+        return new X500Principal("CN=" + group);
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message.callback;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import javax.security.auth.callback.Callback;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests which callbacks {@link KeyMaterialCachingCallbackHandler} completes from remembered key material and which it
+ * passes to the wrapped handler.
+ */
+public class KeyMaterialCachingCallbackHandlerTest {
+
+    private static final byte[] SUBJECT_KEY_ID = { 1, 2, 3 };
+    private static final byte[] DIGEST = { 4, 5, 6 };
+
+    private static PrivateKey privateKey;
+
+    private final SecretKey secretKey = new SecretKeySpec(new byte[16], "AES");
+
+    private final List<List<Callback>> handled = new ArrayList<>();
+
+    @BeforeClass
+    public static void generateKey() throws Exception {
+        privateKey = KeyPairGenerator.getInstance("EC").generateKeyPair().getPrivate();
+    }
+
+    @Test
+    public void testAliasLookupIsCached() throws Exception {
+        KeyMaterialCachingCallbackHandler handler = newHandler(Duration.ofMinutes(5));
+
+        assertSame(privateKey, resolve(handler, new PrivateKeyCallback.AliasRequest("signing")));
+        assertSame(privateKey, resolve(handler, new PrivateKeyCallback.AliasRequest("signing")));
+        assertSame(secretKey, resolveSecret(handler, "encryption"));
+        assertSame(secretKey, resolveSecret(handler, "encryption"));
+
+        assertEquals(2, handled.size());
+    }
+
+    @Test
+    public void testSubjectKeyIDAndDigestAreKeyedByContent() throws Exception {
+        KeyMaterialCachingCallbackHandler handler = newHandler(Duration.ofMinutes(5));
+        byte[] subjectKeyID = SUBJECT_KEY_ID.clone();
+
+        assertSame(privateKey, resolve(handler, new PrivateKeyCallback.SubjectKeyIDRequest(subjectKeyID)));
+        // Changing the array after the lookup doesn't change the remembered key
+        subjectKeyID[0] = 9;
+        assertSame(privateKey, resolve(handler, new PrivateKeyCallback.SubjectKeyIDRequest(SUBJECT_KEY_ID.clone())));
+
+        assertSame(privateKey, resolve(handler, new PrivateKeyCallback.DigestRequest(DIGEST.clone(), "SHA-256")));
+        assertSame(privateKey, resolve(handler, new PrivateKeyCallback.DigestRequest(DIGEST.clone(), "SHA-256")));
+        assertEquals(2, handled.size());
+
+        // A different algorithm or digest is a different request
+        assertNull(resolve(handler, new PrivateKeyCallback.DigestRequest(DIGEST.clone(), "SHA-1")));
+        assertNull(resolve(handler, new PrivateKeyCallback.DigestRequest(new byte[] { 7 }, "SHA-256")));
+        assertEquals(4, handled.size());
+    }
+
+    @Test
+    public void testMissingKeyMaterialIsNotCached() throws Exception {
+        KeyMaterialCachingCallbackHandler handler = newHandler(Duration.ofMinutes(5));
+
+        assertNull(resolve(handler, new PrivateKeyCallback.AliasRequest("unknown")));
+        assertNull(resolve(handler, new PrivateKeyCallback.AliasRequest("unknown")));
+
+        assertEquals(2, handled.size());
+    }
+
+    @Test
+    public void testExpiredEntriesAreResolvedAgain() throws Exception {
+        KeyMaterialCachingCallbackHandler handler = newHandler(Duration.ofMillis(50));
+
+        resolve(handler, new PrivateKeyCallback.AliasRequest("signing"));
+        resolve(handler, new PrivateKeyCallback.AliasRequest("signing"));
+        assertEquals(1, handled.size());
+
+        Thread.sleep(100);
+        resolve(handler, new PrivateKeyCallback.AliasRequest("signing"));
+        assertEquals(2, handled.size());
+
+        KeyMaterialCachingCallbackHandler uncached = newHandler(Duration.ZERO);
+        resolve(uncached, new PrivateKeyCallback.AliasRequest("signing"));
+        resolve(uncached, new PrivateKeyCallback.AliasRequest("signing"));
+        assertEquals(4, handled.size());
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        KeyMaterialCachingCallbackHandler handler = newHandler(Duration.ofMinutes(5));
+
+        resolve(handler, new PrivateKeyCallback.AliasRequest("signing"));
+        handler.invalidate();
+        resolve(handler, new PrivateKeyCallback.AliasRequest("signing"));
+
+        assertEquals(2, handled.size());
+    }
+
+    @Test
+    public void testOnlyUnresolvedCallbacksArePassedOn() throws Exception {
+        KeyMaterialCachingCallbackHandler handler = newHandler(Duration.ofMinutes(5));
+        resolve(handler, new PrivateKeyCallback.AliasRequest("signing"));
+
+        PrivateKeyCallback cached = new PrivateKeyCallback(new PrivateKeyCallback.AliasRequest("signing"));
+        SecretKeyCallback secret = new SecretKeyCallback(new SecretKeyCallback.AliasRequest("encryption"));
+        CallerPrincipalCallback other = new CallerPrincipalCallback(null, "caller");
+        handler.handle(new Callback[] { cached, secret, other });
+
+        assertSame(privateKey, cached.getKey());
+        assertSame(secretKey, secret.getKey());
+        assertEquals(Arrays.asList(secret, other), handled.get(1));
+    }
+
+    private KeyMaterialCachingCallbackHandler newHandler(Duration timeToLive) {
+        return new KeyMaterialCachingCallbackHandler(callbacks -> {
+            handled.add(Arrays.asList(callbacks));
+            for (Callback callback : callbacks) {
+                if (callback instanceof PrivateKeyCallback) {
+                    PrivateKeyCallback privateKeyCallback = (PrivateKeyCallback) callback;
+                    if (knows(privateKeyCallback.getRequest())) {
+                        privateKeyCallback.setKey(privateKey, null);
+                    }
+                } else if (callback instanceof SecretKeyCallback) {
+                    ((SecretKeyCallback) callback).setKey(secretKey);
+                }
+            }
+        }, timeToLive);
+    }
+
+    private static boolean knows(PrivateKeyCallback.Request request) {
+        if (request instanceof PrivateKeyCallback.AliasRequest) {
+            return "signing".equals(((PrivateKeyCallback.AliasRequest) request).getAlias());
+        }
+        if (request instanceof PrivateKeyCallback.SubjectKeyIDRequest) {
+            return Arrays.equals(SUBJECT_KEY_ID, ((PrivateKeyCallback.SubjectKeyIDRequest) request).getSubjectKeyID());
+        }
+        if (request instanceof PrivateKeyCallback.DigestRequest) {
+            PrivateKeyCallback.DigestRequest digestRequest = (PrivateKeyCallback.DigestRequest) request;
+            return "SHA-256".equals(digestRequest.getAlgorithm()) && Arrays.equals(DIGEST, digestRequest.getDigest());
+        }
+
+        return false;
+    }
+
+    private static PrivateKey resolve(KeyMaterialCachingCallbackHandler handler, PrivateKeyCallback.Request request) throws Exception {
+        PrivateKeyCallback callback = new PrivateKeyCallback(request);
+        handler.handle(new Callback[] { callback });
+
+        return callback.getKey();
+    }
+
+    private static SecretKey resolveSecret(KeyMaterialCachingCallbackHandler handler, String alias) throws Exception {
+        SecretKeyCallback callback = new SecretKeyCallback(new SecretKeyCallback.AliasRequest(alias));
+        handler.handle(new Callback[] { callback });
+
+        return callback.getKey();
+    }
+}
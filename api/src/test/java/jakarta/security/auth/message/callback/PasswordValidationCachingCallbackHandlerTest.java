@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message.callback;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.security.auth.Subject;
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.CallbackHandler;
+import javax.security.auth.x500.X500Principal;
+
+import org.junit.Test;
+
+/**
+ * Tests which password validations {@link PasswordValidationCachingCallbackHandler} answers from remembered outcomes,
+ * and what it remembers.
+ */
+public class PasswordValidationCachingCallbackHandlerTest {
+
+    private static final String PASSWORD = "s3cr3t-passw0rd";
+
+    private static final X500Principal ALICE = new X500Principal("CN=alice");
+    private static final X500Principal ADMINS = new X500Principal("CN=admins");
+
+    private final List<char[]> validatedPasswords = new ArrayList<>();
+
+    /**
+     * Accepts PASSWORD for every user, and adds a principal for the user and one for a group.
+     */
+    private final CallbackHandler store = callbacks -> {
+        for (Callback callback : callbacks) {
+            PasswordValidationCallback validation = (PasswordValidationCallback) callback;
+            validatedPasswords.add(validation.getPassword());
+
+            boolean valid = Arrays.equals(PASSWORD.toCharArray(), validation.getPassword());
+            if (valid) {
+                validation.getSubject().getPrincipals().add(new X500Principal("CN=" + validation.getUsername()));
+                validation.getSubject().getPrincipals().add(ADMINS);
+                validation.getSubject().getPublicCredentials().add("token");
+            }
+            validation.setResult(valid);
+        }
+    };
+
+    @Test
+    public void testSuccessIsCachedWithPrincipals() throws Exception {
+        PasswordValidationCachingCallbackHandler handler = newHandler(Duration.ofMinutes(5), Duration.ofMinutes(5), 10);
+
+        Subject first = new Subject();
+        assertTrue(validate(handler, first, "alice", PASSWORD));
+        assertEquals(Set.of(ALICE, ADMINS), first.getPrincipals());
+        assertEquals(Set.of("token"), first.getPublicCredentials());
+
+        Subject second = new Subject();
+        assertTrue(validate(handler, second, "alice", PASSWORD));
+        assertEquals(Set.of(ALICE, ADMINS), second.getPrincipals());
+        // Credentials are not remembered
+        assertTrue(second.getPublicCredentials().isEmpty());
+
+        assertEquals(1, validatedPasswords.size());
+    }
+
+    @Test
+    public void testHitOnFreshSubjectGetsPrincipalsTheFirstSubjectHeld() throws Exception {
+        PasswordValidationCachingCallbackHandler handler = newHandler(Duration.ofMinutes(5), Duration.ofMinutes(5), 10);
+
+        Subject first = new Subject();
+        first.getPrincipals().add(ALICE);
+        assertTrue(validate(handler, first, "alice", PASSWORD));
+        assertEquals(Set.of(ALICE, ADMINS), first.getPrincipals());
+
+        Subject fresh = new Subject();
+        assertTrue(validate(handler, fresh, "alice", PASSWORD));
+        assertEquals(Set.of(ALICE, ADMINS), fresh.getPrincipals());
+        assertEquals(1, validatedPasswords.size());
+    }
+
+    @Test
+    public void testFailureIsCachedForNegativeTimeToLive() throws Exception {
+        PasswordValidationCachingCallbackHandler handler = newHandler(Duration.ofMinutes(5), Duration.ofMinutes(5), 10);
+
+        Subject subject = new Subject();
+        assertFalse(validate(handler, subject, "alice", "wrong"));
+        assertFalse(validate(handler, subject, "alice", "wrong"));
+        assertTrue(subject.getPrincipals().isEmpty());
+        assertEquals(1, validatedPasswords.size());
+
+        // A different password for the same user is a different outcome
+        assertTrue(validate(handler, subject, "alice", PASSWORD));
+        assertEquals(2, validatedPasswords.size());
+
+        PasswordValidationCachingCallbackHandler uncachedFailures = newHandler(Duration.ofMinutes(5), Duration.ZERO, 10);
+        assertFalse(validate(uncachedFailures, new Subject(), "alice", "wrong"));
+        assertFalse(validate(uncachedFailures, new Subject(), "alice", "wrong"));
+        assertEquals(4, validatedPasswords.size());
+    }
+
+    @Test
+    public void testExpiredOutcomesAreValidatedAgain() throws Exception {
+        PasswordValidationCachingCallbackHandler handler = newHandler(Duration.ofMillis(50), Duration.ofMinutes(5), 10);
+
+        validate(handler, new Subject(), "alice", PASSWORD);
+        validate(handler, new Subject(), "alice", PASSWORD);
+        assertEquals(1, validatedPasswords.size());
+
+        Thread.sleep(100);
+        assertTrue(validate(handler, new Subject(), "alice", PASSWORD));
+        assertEquals(2, validatedPasswords.size());
+    }
+
+    @Test
+    public void testMaxSizeEvicts() throws Exception {
+        PasswordValidationCachingCallbackHandler handler = newHandler(Duration.ofMinutes(5), Duration.ofMinutes(5), 2);
+
+        validate(handler, new Subject(), "alice", PASSWORD);
+        validate(handler, new Subject(), "bob", PASSWORD);
+        validate(handler, new Subject(), "carol", PASSWORD);
+        assertEquals(3, validatedPasswords.size());
+
+        // carol was added last and is still cached, one of alice and bob was evicted for it
+        validate(handler, new Subject(), "carol", PASSWORD);
+        assertEquals(3, validatedPasswords.size());
+        validate(handler, new Subject(), "alice", PASSWORD);
+        validate(handler, new Subject(), "bob", PASSWORD);
+        assertTrue(validatedPasswords.size() >= 4);
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        PasswordValidationCachingCallbackHandler handler = newHandler(Duration.ofMinutes(5), Duration.ofMinutes(5), 10);
+
+        validate(handler, new Subject(), "alice", PASSWORD);
+        handler.invalidate();
+        validate(handler, new Subject(), "alice", PASSWORD);
+
+        assertEquals(2, validatedPasswords.size());
+    }
+
+    @Test
+    public void testClearPassword() throws Exception {
+        PasswordValidationCachingCallbackHandler handler = newHandler(Duration.ofMinutes(5), Duration.ofMinutes(5), 10);
+
+        PasswordValidationCallback callback = new PasswordValidationCallback(new Subject(), "alice", PASSWORD.toCharArray());
+        handler.handle(new Callback[] { callback });
+
+        // The password of the callback is left for the module to clear, the copy passed to the store is cleared
+        assertArrayEquals(PASSWORD.toCharArray(), callback.getPassword());
+        assertArrayEquals(blank(PASSWORD.length()), validatedPasswords.get(0));
+
+        // A module clearing its password after validation doesn't affect later validations
+        callback.clearPassword();
+        assertTrue(validate(handler, new Subject(), "alice", PASSWORD));
+        assertEquals(1, validatedPasswords.size());
+
+        // A cleared password is a different password
+        PasswordValidationCallback cleared = new PasswordValidationCallback(new Subject(), "alice", PASSWORD.toCharArray());
+        cleared.clearPassword();
+        handler.handle(new Callback[] { cleared });
+        assertFalse(cleared.getResult());
+    }
+
+    @Test
+    public void testNeverHoldsPlaintext() throws Exception {
+        PasswordValidationCachingCallbackHandler handler = newHandler(Duration.ofMinutes(5), Duration.ofMinutes(5), 10);
+
+        validate(handler, new Subject(), "alice", PASSWORD);
+        validate(handler, new Subject(), "bob", PASSWORD + "-wrong");
+
+        assertNoPlaintext(handler, new IdentityHashMap<>());
+    }
+
+    private PasswordValidationCachingCallbackHandler newHandler(Duration timeToLive, Duration negativeTimeToLive, int maxSize) {
+        return new PasswordValidationCachingCallbackHandler(store, timeToLive, negativeTimeToLive, maxSize);
+    }
+
+    private static boolean validate(CallbackHandler handler, Subject subject, String username, String password) throws Exception {
+        PasswordValidationCallback callback = new PasswordValidationCallback(subject, username, password.toCharArray());
+        handler.handle(new Callback[] { callback });
+
+        return callback.getResult();
+    }
+
+    private static char[] blank(int length) {
+        char[] blank = new char[length];
+        Arrays.fill(blank, ' ');
+
+        return blank;
+    }
+
+    /**
+     * Walks the objects reachable from the handler, other than the wrapped handler, and fails if any of them holds one of
+     * the passwords in plaintext.
+     */
+    private static void assertNoPlaintext(Object object, Map<Object, Boolean> visited) throws IllegalAccessException {
+        if (object == null || visited.put(object, Boolean.TRUE) != null || object instanceof CallbackHandler && visited.size() > 1) {
+            return;
+        }
+
+        if (object instanceof char[]) {
+            assertFalse(new String((char[]) object).contains(PASSWORD));
+        } else if (object instanceof byte[]) {
+            assertFalse(new String((byte[]) object, UTF_8).contains(PASSWORD));
+        } else if (object instanceof CharSequence) {
+            assertFalse(object.toString().contains(PASSWORD));
+        } else if (object instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                assertNoPlaintext(entry.getKey(), visited);
+                assertNoPlaintext(entry.getValue(), visited);
+            }
+        } else if (object instanceof Collection) {
+            for (Object element : (Collection<?>) object) {
+                assertNoPlaintext(element, visited);
+            }
+        } else if (object.getClass().getName().startsWith("jakarta.security.auth.message.")) {
+            for (Class<?> type = object.getClass(); type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()) {
+                        field.setAccessible(true);
+                        assertNoPlaintext(field.get(object), visited);
+                    }
+                }
+            }
+        }
+    }
+}
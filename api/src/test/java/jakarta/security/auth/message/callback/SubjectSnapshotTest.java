@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message.callback;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.security.auth.Subject;
+import javax.security.auth.x500.X500Principal;
+
+import org.junit.Test;
+
+/**
+ * Tests the principals, the shared Subject and the serialization of {@link SubjectSnapshot}.
+ */
+public class SubjectSnapshotTest {
+
+    private static final X500Principal ALICE = new X500Principal("CN=alice");
+    private static final X500Principal ADMINS = new X500Principal("CN=admins,OU=groups");
+    private static final X500Principal USERS = new X500Principal("CN=users,OU=groups");
+
+    @Test
+    public void testPrincipals() {
+        SubjectSnapshot snapshot = new SubjectSnapshot(ALICE, List.of(ADMINS, USERS, ALICE));
+
+        assertSame(ALICE, snapshot.getCallerPrincipal());
+        assertEquals(List.of(ALICE, ADMINS, USERS), new ArrayList<>(snapshot.getPrincipals()));
+        assertEquals(Set.of(ALICE), new SubjectSnapshot(ALICE, null).getPrincipals());
+
+        try {
+            snapshot.getPrincipals().add(USERS);
+            fail("UnsupportedOperationException expected");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        try {
+            new SubjectSnapshot(null, List.of(ADMINS));
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        List<Principal> withNull = new ArrayList<>();
+        withNull.add(null);
+        try {
+            new SubjectSnapshot(ALICE, withNull);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testOfTakesAllPrincipalsButNoCredentials() {
+        Subject subject = new Subject();
+        Principal tenant = new TenantPrincipal("acme");
+        subject.getPrincipals().add(ALICE);
+        subject.getPrincipals().add(ADMINS);
+        subject.getPrincipals().add(tenant);
+        subject.getPublicCredentials().add("token");
+        subject.getPrivateCredentials().add("secret");
+
+        SubjectSnapshot snapshot = SubjectSnapshot.of(subject, ALICE);
+
+        assertEquals(Set.of(ALICE, ADMINS, tenant), snapshot.getPrincipals());
+        assertTrue(snapshot.getSubject().getPublicCredentials().isEmpty());
+        assertTrue(snapshot.getSubject().getPrivateCredentials().isEmpty());
+    }
+
+    @Test
+    public void testSharedSubjectIsReadOnly() {
+        SubjectSnapshot snapshot = new SubjectSnapshot(ALICE, List.of(ADMINS));
+        Subject subject = snapshot.getSubject();
+
+        assertSame(subject, snapshot.getSubject());
+        assertTrue(subject.isReadOnly());
+        assertEquals(Set.of(ALICE, ADMINS), subject.getPrincipals());
+
+        try {
+            subject.getPrincipals().add(USERS);
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testEstablish() {
+        SubjectSnapshot snapshot = new SubjectSnapshot(ALICE, List.of(ADMINS));
+
+        Subject target = new Subject();
+        target.getPrincipals().add(ADMINS);
+        target.getPublicCredentials().add("token");
+        snapshot.establish(target);
+
+        assertEquals(Set.of(ALICE, ADMINS), target.getPrincipals());
+        assertEquals(Set.of("token"), target.getPublicCredentials());
+
+        // Establishing into the shared, read-only Subject itself is a no-op
+        snapshot.establish(snapshot.getSubject());
+        assertEquals(Set.of(ALICE, ADMINS), snapshot.getSubject().getPrincipals());
+    }
+
+    @Test
+    public void testSerializationRestoresSubject() throws Exception {
+        SubjectSnapshot snapshot = new SubjectSnapshot(ALICE, List.of(ADMINS, USERS));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(snapshot);
+        }
+        SubjectSnapshot restored;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            restored = (SubjectSnapshot) in.readObject();
+        }
+
+        assertNotSame(snapshot, restored);
+        assertEquals(ALICE, restored.getCallerPrincipal());
+        assertEquals(List.of(ALICE, ADMINS, USERS), new ArrayList<>(restored.getPrincipals()));
+
+        // The transient Subject is recreated by readResolve
+        Subject subject = restored.getSubject();
+        assertTrue(subject.isReadOnly());
+        assertEquals(Set.of(ALICE, ADMINS, USERS), subject.getPrincipals());
+        assertSame(subject, restored.getSubject());
+
+        Subject target = new Subject();
+        restored.establish(target);
+        assertEquals(Set.of(ALICE, ADMINS, USERS), target.getPrincipals());
+    }
+
+    /**
+     * A principal that is neither a caller nor a group principal.
+     */
+    private static final class TenantPrincipal implements Principal {
+
+        private final String name;
+
+        TenantPrincipal(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
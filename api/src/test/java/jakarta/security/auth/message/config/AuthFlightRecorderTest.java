@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+import javax.security.auth.Subject;
+import javax.security.auth.callback.CallbackHandler;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import jakarta.security.auth.message.AuthException;
+import jakarta.security.auth.message.AuthStatus;
+import jakarta.security.auth.message.DefaultMessageInfo;
+import jakarta.security.auth.message.MessageInfo;
+import jakarta.security.auth.message.MessagePolicy;
+import jakarta.security.auth.message.module.ServerAuthModule;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Tests the decorators of {@link AuthFlightRecorder} and the events they emit.
+ */
+public class AuthFlightRecorderTest {
+
+    private static final String LAYER = "HttpServlet";
+    private static final String APP_CONTEXT = "server /test";
+
+    private final CallbackHandler handler = callbacks -> {
+    };
+
+    private AuthConfigFactory factory;
+
+    @Before
+    public void setUp() {
+        assumeTrue(AuthFlightRecorder.isAvailable());
+
+        DefaultAuthConfigFactory defaultFactory = new DefaultAuthConfigFactory(Runnable::run);
+        defaultFactory.registerServerAuthModule(new SuccessModule(), APP_CONTEXT);
+        factory = AuthFlightRecorder.record(defaultFactory);
+    }
+
+    @Test
+    public void testDecoratorsAreReused() throws Exception {
+        AuthConfigProvider provider = factory.getConfigProvider(LAYER, APP_CONTEXT, null);
+        ServerAuthConfig serverAuthConfig = provider.getServerAuthConfig(LAYER, APP_CONTEXT, handler);
+        ServerAuthContext serverAuthContext = serverAuthConfig.getAuthContext(APP_CONTEXT, null, null);
+
+        AuthConfigProvider sameProvider = factory.getConfigProvider(LAYER, APP_CONTEXT, null);
+        ServerAuthConfig sameServerAuthConfig = sameProvider.getServerAuthConfig(LAYER, APP_CONTEXT, handler);
+
+        assertSame(provider, sameProvider);
+        assertSame(serverAuthConfig, sameServerAuthConfig);
+        assertSame(serverAuthContext, sameServerAuthConfig.getAuthContext(APP_CONTEXT, null, null));
+        assertSame(factory, AuthFlightRecorder.record(factory));
+        assertEquals(1, factory.getRegistrationIDs(provider).length);
+    }
+
+    @Test
+    public void testEventsAreRecorded() throws Exception {
+        Path file = Files.createTempFile("authentication", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jakarta.authentication.GetConfigProvider");
+            recording.enable("jakarta.authentication.ValidateRequest");
+            recording.start();
+
+            ServerAuthConfig serverAuthConfig = factory.getConfigProvider(LAYER, APP_CONTEXT, null)
+                    .getServerAuthConfig(LAYER, APP_CONTEXT, handler);
+            ServerAuthContext serverAuthContext = serverAuthConfig.getAuthContext(APP_CONTEXT, null, null);
+            serverAuthContext.validateRequest(new DefaultMessageInfo(), new Subject(), null);
+            serverAuthContext.validateRequestAsync(new DefaultMessageInfo(), new Subject(), null).toCompletableFuture().get();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Map<String, Integer> counts = new HashMap<>();
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        for (RecordedEvent event : events) {
+            counts.merge(event.getEventType().getName(), 1, Integer::sum);
+            if (event.getEventType().getName().equals("jakarta.authentication.GetConfigProvider")) {
+                assertNotNull(event.getString("provider"));
+                assertEquals(APP_CONTEXT, event.getString("appContext"));
+            } else if (event.getEventType().getName().equals("jakarta.authentication.ValidateRequest")) {
+                assertEquals(AuthStatus.SUCCESS.toString(), event.getString("status"));
+                assertEquals(APP_CONTEXT, event.getString("authContextID"));
+            }
+        }
+        Files.delete(file);
+
+        assertEquals(Integer.valueOf(1), counts.get("jakarta.authentication.GetConfigProvider"));
+        assertEquals(Integer.valueOf(2), counts.get("jakarta.authentication.ValidateRequest"));
+    }
+
+    @Test
+    public void testFailedAsyncValidationsAreRecorded() throws Exception {
+        DefaultAuthConfigFactory defaultFactory = new DefaultAuthConfigFactory(Runnable::run);
+        defaultFactory.registerServerAuthModule(new FailingAsyncModule(), APP_CONTEXT);
+        ServerAuthConfig serverAuthConfig = AuthFlightRecorder.record(defaultFactory).getConfigProvider(LAYER, APP_CONTEXT, null)
+                .getServerAuthConfig(LAYER, APP_CONTEXT, handler);
+        ServerAuthContext serverAuthContext = serverAuthConfig.getAuthContext(APP_CONTEXT, null, null);
+
+        Path file = Files.createTempFile("authentication", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jakarta.authentication.ValidateRequest");
+            recording.start();
+
+            // A failed dependent stage, which the delegate completes with a CompletionException
+            try {
+                serverAuthContext.validateRequestAsync(new DefaultMessageInfo(), new Subject(), null).toCompletableFuture().get();
+                fail("ExecutionException expected");
+            } catch (ExecutionException e) {
+                assertEquals(AuthException.class, e.getCause().getClass());
+            }
+
+            // A synchronous throw of the delegate
+            try {
+                serverAuthContext.validateRequestAsync(null, new Subject(), null);
+                fail("IllegalStateException expected");
+            } catch (IllegalStateException e) {
+                // expected
+            }
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        assertEquals(2, events.size());
+        assertEquals(AuthException.class.getName(), events.get(0).getString("exception"));
+        assertEquals(IllegalStateException.class.getName(), events.get(1).getString("exception"));
+    }
+
+    private static class SuccessModule implements ServerAuthModule {
+
+        @Override
+        public void initialize(MessagePolicy requestPolicy, MessagePolicy responsePolicy, CallbackHandler handler, Map<String, Object> options) {
+        }
+
+        @Override
+        public Class<?>[] getSupportedMessageTypes() {
+            return new Class<?>[0];
+        }
+
+        @Override
+        public AuthStatus validateRequest(MessageInfo messageInfo, Subject clientSubject, Subject serviceSubject) {
+            return AuthStatus.SUCCESS;
+        }
+
+        @Override
+        public AuthStatus secureResponse(MessageInfo messageInfo, Subject serviceSubject) {
+            return AuthStatus.SEND_SUCCESS;
+        }
+
+        @Override
+        public void cleanSubject(MessageInfo messageInfo, Subject subject) {
+        }
+    }
+
+    /**
+     * Fails asynchronous validations of a message with a failed dependent stage, and throws for a null message.
+     */
+    private static class FailingAsyncModule extends SuccessModule {
+
+        @Override
+        public CompletionStage<AuthStatus> validateRequestAsync(MessageInfo messageInfo, Subject clientSubject, Subject serviceSubject) {
+            if (messageInfo == null) {
+                throw new IllegalStateException("no message");
+            }
+
+            return CompletableFuture.<AuthStatus>failedFuture(new AuthException("invalid credentials")).thenApply(status -> status);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.security.auth.Subject;
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.CallbackHandler;
+
+import org.junit.Test;
+
+import jakarta.security.auth.message.AuthStatus;
+import jakarta.security.auth.message.DefaultMessageInfo;
+import jakarta.security.auth.message.MessageInfo;
+import jakarta.security.auth.message.MessagePolicy;
+import jakarta.security.auth.message.callback.CallerPrincipalCallback;
+import jakarta.security.auth.message.config.CompositeServerAuthContext.Mechanism;
+import jakarta.security.auth.message.module.ServerAuthModule;
+
+/**
+ * Tests how {@link CompositeServerAuthContext} aggregates the AuthStatus values of its modules.
+ */
+public class CompositeServerAuthContextTest {
+
+    private final List<Callback> handled = new ArrayList<>();
+    private final CallbackHandler handler = callbacks -> handled.addAll(List.of(callbacks));
+
+    @Test
+    public void testSendContinueContinuesChain() throws Exception {
+        StatusModule token = new StatusModule(AuthStatus.SEND_CONTINUE);
+        StatusModule basic = new StatusModule(AuthStatus.SEND_CONTINUE);
+        StatusModule certificate = new StatusModule(AuthStatus.SUCCESS);
+        MessageInfo messageInfo = new DefaultMessageInfo();
+
+        assertSame(AuthStatus.SUCCESS, newContext(token, basic, certificate).validateRequest(messageInfo, new Subject(), null));
+        assertEquals(1, token.calls);
+        assertEquals(1, basic.calls);
+        assertEquals(1, certificate.calls);
+    }
+
+    @Test
+    public void testFailureEndsChain() throws Exception {
+        StatusModule token = new StatusModule(AuthStatus.SEND_FAILURE);
+        StatusModule basic = new StatusModule(AuthStatus.SUCCESS);
+
+        assertSame(AuthStatus.SEND_FAILURE, newContext(token, basic).validateRequest(new DefaultMessageInfo(), new Subject(), null));
+        assertEquals(0, basic.calls);
+    }
+
+    @Test
+    public void testNoApplicableModuleOnMandatoryRequestFails() throws Exception {
+        MessageInfo messageInfo = new DefaultMessageInfo();
+        messageInfo.getMap().put(DefaultMessageInfo.IS_MANDATORY, "true");
+
+        assertSame(AuthStatus.FAILURE, newContext().validateRequest(messageInfo, new Subject(), null));
+        assertTrue(handled.isEmpty());
+    }
+
+    @Test
+    public void testNoApplicableModuleOnOptionalRequestSucceedsUnauthenticated() throws Exception {
+        assertSame(AuthStatus.SUCCESS, newContext().validateRequest(new DefaultMessageInfo(), new Subject(), null));
+        assertEquals(1, handled.size());
+        assertNull(((CallerPrincipalCallback) handled.get(0)).getPrincipal());
+    }
+
+    private CompositeServerAuthContext<String> newContext(ServerAuthModule... modules) {
+        List<Mechanism<String>> mechanisms = new ArrayList<>();
+        for (ServerAuthModule module : modules) {
+            mechanisms.add(new Mechanism<>(module, fingerprint -> true));
+        }
+
+        return new CompositeServerAuthContext<>(messageInfo -> "", mechanisms, handler);
+    }
+
+    private static class StatusModule implements ServerAuthModule {
+
+        private final AuthStatus status;
+
+        int calls;
+
+        StatusModule(AuthStatus status) {
+            this.status = status;
+        }
+
+        @Override
+        public void initialize(MessagePolicy requestPolicy, MessagePolicy responsePolicy, CallbackHandler handler, Map<String, Object> options) {
+        }
+
+        @Override
+        public Class<?>[] getSupportedMessageTypes() {
+            return new Class<?>[0];
+        }
+
+        @Override
+        public AuthStatus validateRequest(MessageInfo messageInfo, Subject clientSubject, Subject serviceSubject) {
+            calls++;
+            return status;
+        }
+
+        @Override
+        public AuthStatus secureResponse(MessageInfo messageInfo, Subject serviceSubject) {
+            return AuthStatus.SEND_SUCCESS;
+        }
+
+        @Override
+        public void cleanSubject(MessageInfo messageInfo, Subject subject) {
+        }
+    }
+}
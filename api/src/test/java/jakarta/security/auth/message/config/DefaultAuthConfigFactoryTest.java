@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message.config;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.security.auth.Subject;
+import javax.security.auth.callback.CallbackHandler;
+
+import org.junit.Test;
+
+import jakarta.security.auth.message.AuthStatus;
+import jakarta.security.auth.message.MessageInfo;
+import jakarta.security.auth.message.MessagePolicy;
+import jakarta.security.auth.message.module.ServerAuthModule;
+
+/**
+ * Tests the registration, selection and listener notification of {@link DefaultAuthConfigFactory}.
+ */
+public class DefaultAuthConfigFactoryTest {
+
+    private static final String LAYER = "HttpServlet";
+    private static final String APP_CONTEXT = "server /app";
+
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private final DefaultAuthConfigFactory factory = new DefaultAuthConfigFactory(scheduled::add);
+
+    private final List<String> notified = new ArrayList<>();
+    private final RegistrationListener listener = (layer, appContext) -> notified.add(layer + "|" + appContext);
+
+    @Test
+    public void testSelectionPrecedence() {
+        TestProvider all = new TestProvider();
+        TestProvider allLayers = new TestProvider();
+        TestProvider allAppContexts = new TestProvider();
+        TestProvider exact = new TestProvider();
+
+        factory.registerConfigProvider(all, null, null, null);
+        assertSame(all, factory.getConfigProvider(LAYER, APP_CONTEXT, null));
+
+        factory.registerConfigProvider(allAppContexts, LAYER, null, null);
+        assertSame(allAppContexts, factory.getConfigProvider(LAYER, APP_CONTEXT, null));
+        assertSame(all, factory.getConfigProvider("SOAP", APP_CONTEXT, null));
+
+        factory.registerConfigProvider(allLayers, null, APP_CONTEXT, null);
+        assertSame(allLayers, factory.getConfigProvider(LAYER, APP_CONTEXT, null));
+        assertSame(allLayers, factory.getConfigProvider("SOAP", APP_CONTEXT, null));
+        assertSame(allAppContexts, factory.getConfigProvider(LAYER, "server /other", null));
+
+        String exactID = factory.registerConfigProvider(exact, LAYER, APP_CONTEXT, null);
+        assertSame(exact, factory.getConfigProvider(LAYER, APP_CONTEXT, null));
+        assertSame(allLayers, factory.getConfigProvider("SOAP", APP_CONTEXT, null));
+        assertSame(all, factory.getConfigProvider("SOAP", "server /other", null));
+
+        assertTrue(factory.removeRegistration(exactID));
+        assertSame(allLayers, factory.getConfigProvider(LAYER, APP_CONTEXT, null));
+    }
+
+    @Test
+    public void testNullProviderRegistrationSelectsNoProvider() {
+        factory.registerConfigProvider(new TestProvider(), null, null, null);
+        String id = factory.registerConfigProvider((AuthConfigProvider) null, LAYER, APP_CONTEXT, null);
+
+        assertNull(factory.getConfigProvider(LAYER, APP_CONTEXT, null));
+        assertNotNull(factory.getConfigProvider("SOAP", APP_CONTEXT, null));
+        assertEquals(LAYER, factory.getRegistrationContext(id).getMessageLayer());
+    }
+
+    @Test
+    public void testReplacingRegistrationKeepsIDAndNotifiesOnExecutor() {
+        String id = factory.registerConfigProvider(new TestProvider(), LAYER, APP_CONTEXT, "first");
+        factory.getConfigProvider(LAYER, APP_CONTEXT, listener);
+
+        TestProvider replacement = new TestProvider();
+        assertEquals(id, factory.registerConfigProvider(replacement, LAYER, APP_CONTEXT, "second"));
+        assertEquals("second", factory.getRegistrationContext(id).getDescription());
+        assertSame(replacement, factory.getConfigProvider(LAYER, APP_CONTEXT, null));
+
+        // Not on the registering thread
+        assertTrue(notified.isEmpty());
+        runScheduled();
+        assertEquals(List.of(LAYER + "|" + APP_CONTEXT), notified);
+    }
+
+    @Test
+    public void testRemovingRegistrationNotifies() {
+        String id = factory.registerConfigProvider(new TestProvider(), LAYER, APP_CONTEXT, null);
+        factory.getConfigProvider(LAYER, APP_CONTEXT, listener);
+
+        assertTrue(factory.removeRegistration(id));
+        assertFalse(factory.removeRegistration(id));
+        runScheduled();
+
+        assertEquals(List.of(LAYER + "|" + APP_CONTEXT), notified);
+        assertNull(factory.getConfigProvider(LAYER, APP_CONTEXT, null));
+        assertNull(factory.getRegistrationContext(id));
+    }
+
+    @Test
+    public void testUnrelatedRegistrationDoesNotNotify() {
+        factory.registerConfigProvider(new TestProvider(), LAYER, APP_CONTEXT, null);
+        factory.getConfigProvider(LAYER, APP_CONTEXT, listener);
+
+        // Neither of these changes the provider selected for (LAYER, APP_CONTEXT)
+        factory.registerConfigProvider(new TestProvider(), LAYER, "server /other", null);
+        factory.registerConfigProvider(new TestProvider(), null, null, null);
+        runScheduled();
+
+        assertTrue(notified.isEmpty());
+    }
+
+    @Test
+    public void testDetachListener() {
+        String id = factory.registerConfigProvider(new TestProvider(), LAYER, APP_CONTEXT, null);
+        factory.getConfigProvider(LAYER, APP_CONTEXT, listener);
+        factory.getConfigProvider("SOAP", APP_CONTEXT, listener);
+
+        assertArrayEquals(new String[] { id }, factory.detachListener(listener, LAYER, APP_CONTEXT));
+        assertArrayEquals(new String[0], factory.detachListener(listener, LAYER, APP_CONTEXT));
+
+        factory.registerConfigProvider(new TestProvider(), LAYER, APP_CONTEXT, null);
+        factory.registerConfigProvider(new TestProvider(), "SOAP", APP_CONTEXT, null);
+        runScheduled();
+
+        assertEquals(List.of("SOAP|" + APP_CONTEXT), notified);
+    }
+
+    @Test
+    public void testGetRegistrationIDs() {
+        TestProvider shared = new TestProvider();
+        String first = factory.registerConfigProvider(shared, LAYER, APP_CONTEXT, null);
+        String second = factory.registerConfigProvider(shared, "SOAP", null, null);
+        String other = factory.registerConfigProvider(new TestProvider(), null, null, null);
+
+        assertNotEquals(first, second);
+        assertEquals(sorted(first, second), sorted(factory.getRegistrationIDs(shared)));
+        assertEquals(sorted(first, second, other), sorted(factory.getRegistrationIDs(null)));
+
+        factory.removeRegistration(first);
+        assertArrayEquals(new String[] { second }, factory.getRegistrationIDs(shared));
+    }
+
+    @Test
+    public void testRegistrationContextOutlivesChange() {
+        String id = factory.registerConfigProvider(new TestProvider(), LAYER, APP_CONTEXT, "first");
+        AuthConfigFactory.RegistrationContext context = factory.getRegistrationContext(id);
+
+        factory.registerConfigProvider(new TestProvider(), LAYER, APP_CONTEXT, "second");
+
+        assertEquals("first", context.getDescription());
+        assertEquals("second", factory.getRegistrationContext(id).getDescription());
+    }
+
+    @Test
+    public void testRegisterAndRemoveServerAuthModule() throws Exception {
+        TestModule module = new TestModule();
+        String id = factory.registerServerAuthModule(module, APP_CONTEXT);
+
+        AuthConfigProvider provider = factory.getConfigProvider(LAYER, APP_CONTEXT, listener);
+        ServerAuthContext context = provider.getServerAuthConfig(LAYER, APP_CONTEXT, callbacks -> { })
+                                            .getAuthContext(null, null, null);
+        assertSame(AuthStatus.SUCCESS, context.validateRequest(null, new Subject(), null));
+        assertEquals(1, module.initialized);
+        assertEquals(LAYER, factory.getRegistrationContext(id).getMessageLayer());
+
+        factory.removeServerAuthModule(APP_CONTEXT);
+        factory.removeServerAuthModule(APP_CONTEXT);
+        runScheduled();
+
+        assertNull(factory.getConfigProvider(LAYER, APP_CONTEXT, null));
+        assertEquals(List.of(LAYER + "|" + APP_CONTEXT), notified);
+    }
+
+    @Test
+    public void testRefreshRunsProvidersAndListeners() {
+        TestProvider provider = new TestProvider();
+        factory.registerConfigProvider(provider, LAYER, APP_CONTEXT, null);
+        factory.registerConfigProvider((AuthConfigProvider) null, "SOAP", APP_CONTEXT, null);
+
+        List<String> refreshed = new ArrayList<>();
+        Runnable failing = () -> {
+            throw new IllegalStateException("refresh failed");
+        };
+        Runnable recording = () -> refreshed.add("listener");
+        factory.addRefreshListener(failing);
+        factory.addRefreshListener(recording);
+
+        factory.refresh();
+        assertEquals(1, provider.refreshed);
+        assertEquals(List.of("listener"), refreshed);
+
+        assertTrue(factory.removeRefreshListener(recording));
+        factory.refresh();
+        assertEquals(2, provider.refreshed);
+        assertEquals(List.of("listener"), refreshed);
+    }
+
+    private void runScheduled() {
+        List<Runnable> tasks = new ArrayList<>(scheduled);
+        scheduled.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private static List<String> sorted(String... ids) {
+        List<String> list = new ArrayList<>(Arrays.asList(ids));
+        list.sort(null);
+
+        return list;
+    }
+
+    private static class TestProvider implements AuthConfigProvider {
+
+        int refreshed;
+
+        @Override
+        public ClientAuthConfig getClientAuthConfig(String layer, String appContext, CallbackHandler handler) {
+            return null;
+        }
+
+        @Override
+        public ServerAuthConfig getServerAuthConfig(String layer, String appContext, CallbackHandler handler) {
+            return null;
+        }
+
+        @Override
+        public void refresh() {
+            refreshed++;
+        }
+    }
+
+    private static class TestModule implements ServerAuthModule {
+
+        int initialized;
+
+        @Override
+        public void initialize(MessagePolicy requestPolicy, MessagePolicy responsePolicy, CallbackHandler handler, Map<String, Object> options) {
+            initialized++;
+        }
+
+        @Override
+        public Class<?>[] getSupportedMessageTypes() {
+            return new Class<?>[0];
+        }
+
+        @Override
+        public AuthStatus validateRequest(MessageInfo messageInfo, Subject clientSubject, Subject serviceSubject) {
+            return AuthStatus.SUCCESS;
+        }
+
+        @Override
+        public AuthStatus secureResponse(MessageInfo messageInfo, Subject serviceSubject) {
+            return AuthStatus.SEND_SUCCESS;
+        }
+
+        @Override
+        public void cleanSubject(MessageInfo messageInfo, Subject subject) {
+        }
+    }
+}
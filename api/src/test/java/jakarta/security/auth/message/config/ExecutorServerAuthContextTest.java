@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.UnaryOperator;
+
+import javax.security.auth.Subject;
+
+import org.junit.After;
+import org.junit.Test;
+
+import jakarta.security.auth.message.AuthException;
+import jakarta.security.auth.message.AuthStatus;
+import jakarta.security.auth.message.MessageInfo;
+
+/**
+ * Tests which thread context of the calling thread {@link ExecutorServerAuthContext} makes available to the wrapped
+ * context on the Executor's thread.
+ */
+public class ExecutorServerAuthContextTest {
+
+    /**
+     * Stands in for the security context a runtime establishes on the request thread, and on which it bases identity
+     * propagation to Enterprise Beans and Jakarta Authorization.
+     */
+    private static final ThreadLocal<String> SECURITY_CONTEXT = new ThreadLocal<>();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void tearDown() {
+        SECURITY_CONTEXT.remove();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testPropagatorEstablishesSecurityContext() throws Exception {
+        ContextRecordingServerAuthContext context = new ContextRecordingServerAuthContext();
+        ExecutorServerAuthContext executorContext = new ExecutorServerAuthContext(context, executor, propagateSecurityContext());
+
+        SECURITY_CONTEXT.set("caller");
+        assertSame(AuthStatus.SUCCESS, executorContext.validateRequestAsync(null, new Subject(), null).toCompletableFuture().get());
+        assertSame(AuthStatus.SEND_SUCCESS, executorContext.secureResponseAsync(null, null).toCompletableFuture().get());
+
+        assertEquals("caller", context.validateRequestSecurityContext);
+        assertEquals("caller", context.secureResponseSecurityContext);
+        assertNull("security context left on the executor's thread", executor.submit(SECURITY_CONTEXT::get).get());
+    }
+
+    @Test
+    public void testContextClassLoaderPropagatorOnlyPropagatesContextClassLoader() throws Exception {
+        ContextRecordingServerAuthContext context = new ContextRecordingServerAuthContext();
+        ExecutorServerAuthContext executorContext = new ExecutorServerAuthContext(context, executor,
+                ExecutorServerAuthContext.contextClassLoaderPropagator());
+
+        ClassLoader contextClassLoader = new URLClassLoader(new URL[0]);
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(contextClassLoader);
+        SECURITY_CONTEXT.set("caller");
+        try {
+            executorContext.validateRequestAsync(null, new Subject(), null).toCompletableFuture().get();
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+
+        assertSame(contextClassLoader, context.validateRequestContextClassLoader);
+        assertNull(context.validateRequestSecurityContext);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPropagatorIsRequired() {
+        new ExecutorServerAuthContext(new ContextRecordingServerAuthContext(), executor, null);
+    }
+
+    @Test
+    public void testExceptionCompletesStage() throws Exception {
+        AuthException failure = new AuthException("invalid credentials");
+        ExecutorServerAuthContext executorContext = new ExecutorServerAuthContext(new ContextRecordingServerAuthContext() {
+            @Override
+            public AuthStatus validateRequest(MessageInfo messageInfo, Subject clientSubject, Subject serviceSubject) throws AuthException {
+                throw failure;
+            }
+        }, executor, ExecutorServerAuthContext.contextClassLoaderPropagator());
+
+        try {
+            executorContext.validateRequestAsync(null, new Subject(), null).toCompletableFuture().get();
+            fail("ExecutionException expected");
+        } catch (ExecutionException e) {
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    private static UnaryOperator<Runnable> propagateSecurityContext() {
+        return task -> {
+            String securityContext = SECURITY_CONTEXT.get();
+
+            return () -> {
+                String previous = SECURITY_CONTEXT.get();
+                SECURITY_CONTEXT.set(securityContext);
+                try {
+                    task.run();
+                } finally {
+                    SECURITY_CONTEXT.set(previous);
+                }
+            };
+        };
+    }
+
+    private static class ContextRecordingServerAuthContext implements ServerAuthContext {
+
+        volatile String validateRequestSecurityContext;
+        volatile ClassLoader validateRequestContextClassLoader;
+        volatile String secureResponseSecurityContext;
+
+        @Override
+        public AuthStatus validateRequest(MessageInfo messageInfo, Subject clientSubject, Subject serviceSubject) throws AuthException {
+            validateRequestSecurityContext = SECURITY_CONTEXT.get();
+            validateRequestContextClassLoader = Thread.currentThread().getContextClassLoader();
+            return AuthStatus.SUCCESS;
+        }
+
+        @Override
+        public AuthStatus secureResponse(MessageInfo messageInfo, Subject serviceSubject) {
+            secureResponseSecurityContext = SECURITY_CONTEXT.get();
+            return AuthStatus.SEND_SUCCESS;
+        }
+
+        @Override
+        public void cleanSubject(MessageInfo messageInfo, Subject subject) {
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.security.auth.Subject;
+import javax.security.auth.callback.CallbackHandler;
+
+import org.junit.Test;
+
+import jakarta.security.auth.message.AuthException;
+import jakarta.security.auth.message.AuthStatus;
+import jakarta.security.auth.message.DefaultMessageInfo;
+import jakarta.security.auth.message.MessageInfo;
+import jakarta.security.auth.message.MessagePolicy;
+import jakarta.security.auth.message.module.ServerAuthModule;
+
+/**
+ * Tests that validations a module leaves pending do not hold the threads of the runtime that started them.
+ */
+public class PendingAuthenticationTest {
+
+    private static final int REQUESTS = 10_000;
+
+    private static final String INDEX = "index";
+
+    @Test
+    public void testPendingValidationsDoNotBlockThreads() throws Exception {
+        PendingModule module = new PendingModule();
+        DefaultAuthConfigFactory factory = new DefaultAuthConfigFactory();
+        factory.registerServerAuthModule(module, "server /pending");
+
+        CallbackHandler handler = callbacks -> { };
+        ServerAuthContext context = factory.getConfigProvider("HttpServlet", "server /pending", null)
+                                           .getServerAuthConfig("HttpServlet", "server /pending", handler)
+                                           .getAuthContext(null, null, null);
+
+        AtomicReferenceArray<AuthStatus> statuses = new AtomicReferenceArray<>(REQUESTS);
+        AtomicReferenceArray<Throwable> failures = new AtomicReferenceArray<>(REQUESTS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        for (int i = 0; i < REQUESTS; i++) {
+            int index = i;
+            executor.execute(() -> {
+                MessageInfo messageInfo = new DefaultMessageInfo();
+                messageInfo.getMap().put(INDEX, index);
+
+                context.validateRequestAsync(messageInfo, new Subject(), null)
+                       .whenComplete((status, failure) -> {
+                           statuses.set(index, status);
+                           failures.set(index, failure);
+                       });
+            });
+        }
+        executor.shutdown();
+
+        // Both threads have run every request while no validation has completed yet
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        for (int i = 0; i < REQUESTS; i++) {
+            assertFalse(module.pending.get(i).isDone());
+            assertNull(statuses.get(i));
+            assertNull(failures.get(i));
+        }
+
+        for (int i = 0; i < REQUESTS; i++) {
+            switch (i % 3) {
+            case 0:
+                module.pending.get(i).complete(AuthStatus.SUCCESS);
+                break;
+            case 1:
+                module.pending.get(i).complete(AuthStatus.SEND_FAILURE);
+                break;
+            default:
+                module.pending.get(i).completeExceptionally(new AuthException("request " + i));
+            }
+        }
+
+        for (int i = 0; i < REQUESTS; i++) {
+            switch (i % 3) {
+            case 0:
+                assertSame(AuthStatus.SUCCESS, statuses.get(i));
+                assertNull(failures.get(i));
+                break;
+            case 1:
+                assertSame(AuthStatus.SEND_FAILURE, statuses.get(i));
+                assertNull(failures.get(i));
+                break;
+            default:
+                assertNull(statuses.get(i));
+                assertTrue(failures.get(i) instanceof AuthException);
+                assertEquals("request " + i, failures.get(i).getMessage());
+            }
+        }
+    }
+
+    private static class PendingModule implements ServerAuthModule {
+
+        final AtomicReferenceArray<CompletableFuture<AuthStatus>> pending = new AtomicReferenceArray<>(REQUESTS);
+
+        @Override
+        public void initialize(MessagePolicy requestPolicy, MessagePolicy responsePolicy, CallbackHandler handler, Map<String, Object> options) {
+        }
+
+        @Override
+        public Class<?>[] getSupportedMessageTypes() {
+            return new Class<?>[0];
+        }
+
+        @Override
+        public AuthStatus validateRequest(MessageInfo messageInfo, Subject clientSubject, Subject serviceSubject) {
+            throw new UnsupportedOperationException("validateRequestAsync only");
+        }
+
+        @Override
+        public CompletionStage<AuthStatus> validateRequestAsync(MessageInfo messageInfo, Subject clientSubject, Subject serviceSubject) {
+            CompletableFuture<AuthStatus> status = new CompletableFuture<>();
+            pending.set((Integer) messageInfo.getMap().get(INDEX), status);
+            return status;
+        }
+
+        @Override
+        public AuthStatus secureResponse(MessageInfo messageInfo, Subject serviceSubject) {
+            return AuthStatus.SEND_SUCCESS;
+        }
+
+        @Override
+        public void cleanSubject(MessageInfo messageInfo, Subject subject) {
+        }
+    }
+}
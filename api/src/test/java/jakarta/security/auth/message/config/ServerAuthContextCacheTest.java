@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.security.auth.message.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Map;
+
+import javax.security.auth.Subject;
+import javax.security.auth.callback.CallbackHandler;
+
+import org.junit.Test;
+
+import jakarta.security.auth.message.AuthStatus;
+import jakarta.security.auth.message.DefaultMessageInfo;
+import jakarta.security.auth.message.MessageInfo;
+
+/**
+ * Tests the hit, miss and eviction behavior of {@link ServerAuthContextCache}.
+ */
+public class ServerAuthContextCacheTest {
+
+    private static final String LAYER = "HttpServlet";
+    private static final String APP_CONTEXT = "server /app";
+    private static final String OTHER_APP_CONTEXT = "server /other";
+
+    private static final String AUTH_CONTEXT_ID = "authContextID";
+
+    private final DefaultAuthConfigFactory factory = new DefaultAuthConfigFactory(Runnable::run);
+    private final ServerAuthContextCache cache = new ServerAuthContextCache(factory, callbacks -> { });
+
+    @Test
+    public void testHitsAndMisses() throws Exception {
+        TestProvider provider = new TestProvider();
+        factory.registerConfigProvider(provider, LAYER, APP_CONTEXT, null);
+
+        ServerAuthContext first = cache.getAuthContext(LAYER, APP_CONTEXT, message("a"), null, null);
+        assertNotNull(first);
+        assertSame(first, cache.getAuthContext(LAYER, APP_CONTEXT, message("a"), null, null));
+        ServerAuthContext second = cache.getAuthContext(LAYER, APP_CONTEXT, message("b"), null, null);
+        assertNotSame(first, second);
+        assertSame(first, cache.getAuthContext(LAYER, APP_CONTEXT, message("a"), null, null));
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+        assertEquals(1, provider.configs);
+        assertEquals(2, provider.contexts);
+    }
+
+    @Test
+    public void testNullContextIsCached() throws Exception {
+        TestProvider provider = new TestProvider();
+        factory.registerConfigProvider(provider, LAYER, APP_CONTEXT, null);
+
+        assertNull(cache.getAuthContext(LAYER, APP_CONTEXT, message(null), null, null));
+        assertNull(cache.getAuthContext(LAYER, APP_CONTEXT, message(null), null, null));
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, provider.contexts);
+    }
+
+    @Test
+    public void testNotifyEvictsOnlyItsLayerAndAppContext() throws Exception {
+        TestProvider provider = new TestProvider();
+        factory.registerConfigProvider(provider, null, null, null);
+
+        ServerAuthContext app = cache.getAuthContext(LAYER, APP_CONTEXT, message("a"), null, null);
+        ServerAuthContext other = cache.getAuthContext(LAYER, OTHER_APP_CONTEXT, message("a"), null, null);
+        ServerAuthContext soap = cache.getAuthContext("SOAP", APP_CONTEXT, message("a"), null, null);
+
+        cache.notify(LAYER, APP_CONTEXT);
+        assertEquals(1, cache.getEvictionCount());
+
+        assertNotSame(app, cache.getAuthContext(LAYER, APP_CONTEXT, message("a"), null, null));
+        assertSame(other, cache.getAuthContext(LAYER, OTHER_APP_CONTEXT, message("a"), null, null));
+        assertSame(soap, cache.getAuthContext("SOAP", APP_CONTEXT, message("a"), null, null));
+
+        cache.notify("SOAP", OTHER_APP_CONTEXT);
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testFactoryNotificationEvicts() throws Exception {
+        factory.registerConfigProvider(new TestProvider(), LAYER, APP_CONTEXT, null);
+        ServerAuthContext before = cache.getAuthContext(LAYER, APP_CONTEXT, message("a"), null, null);
+
+        TestProvider replacement = new TestProvider();
+        factory.registerConfigProvider(replacement, LAYER, APP_CONTEXT, null);
+
+        assertEquals(1, cache.getEvictionCount());
+        ServerAuthContext after = cache.getAuthContext(LAYER, APP_CONTEXT, message("a"), null, null);
+        assertNotSame(before, after);
+        assertEquals(1, replacement.contexts);
+    }
+
+    @Test
+    public void testNoProviderIsNotCached() throws Exception {
+        // A factory need not notify for a pair it returned no provider for, so the cache must ask again
+        ServerAuthContextCache unnotified = new ServerAuthContextCache(new NotifyingOnlyWithProviderFactory(factory), callbacks -> { });
+        assertNull(unnotified.getAuthContext(LAYER, APP_CONTEXT, message("a"), null, null));
+
+        TestProvider provider = new TestProvider();
+        factory.registerConfigProvider(provider, LAYER, APP_CONTEXT, null);
+
+        assertNotNull(unnotified.getAuthContext(LAYER, APP_CONTEXT, message("a"), null, null));
+        assertEquals(0, unnotified.getEvictionCount());
+        assertEquals(1, provider.configs);
+    }
+
+    @Test
+    public void testRefreshLayerAndAppContext() throws Exception {
+        TestProvider provider = new TestProvider();
+        factory.registerConfigProvider(provider, null, null, null);
+
+        ServerAuthContext app = cache.getAuthContext(LAYER, APP_CONTEXT, message("a"), null, null);
+        ServerAuthContext other = cache.getAuthContext(LAYER, OTHER_APP_CONTEXT, message("a"), null, null);
+
+        cache.refresh(LAYER, APP_CONTEXT);
+        assertEquals(1, provider.refreshed);
+        assertEquals(1, cache.getEvictionCount());
+        assertNotSame(app, cache.getAuthContext(LAYER, APP_CONTEXT, message("a"), null, null));
+        assertSame(other, cache.getAuthContext(LAYER, OTHER_APP_CONTEXT, message("a"), null, null));
+
+        cache.refresh(LAYER, "server /unused");
+        assertEquals(1, provider.refreshed);
+    }
+
+    @Test
+    public void testRefresh() throws Exception {
+        TestProvider provider = new TestProvider();
+        factory.registerConfigProvider(provider, null, null, null);
+
+        ServerAuthContext app = cache.getAuthContext(LAYER, APP_CONTEXT, message("a"), null, null);
+        ServerAuthContext soap = cache.getAuthContext("SOAP", null, message("a"), null, null);
+
+        cache.refresh();
+        assertEquals(2, provider.refreshed);
+        assertEquals(2, cache.getEvictionCount());
+        assertNotSame(app, cache.getAuthContext(LAYER, APP_CONTEXT, message("a"), null, null));
+        assertNotSame(soap, cache.getAuthContext("SOAP", null, message("a"), null, null));
+    }
+
+    private static MessageInfo message(String authContextID) {
+        MessageInfo messageInfo = new DefaultMessageInfo();
+        messageInfo.getMap().put(AUTH_CONTEXT_ID, authContextID);
+
+        return messageInfo;
+    }
+
+    /**
+     * Delegates to a factory, but like the TS factories only attaches a listener when there is a provider.
+     */
+    private static class NotifyingOnlyWithProviderFactory extends DefaultAuthConfigFactory {
+
+        private final DefaultAuthConfigFactory delegate;
+
+        NotifyingOnlyWithProviderFactory(DefaultAuthConfigFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public AuthConfigProvider getConfigProvider(String layer, String appContext, RegistrationListener listener) {
+            AuthConfigProvider provider = delegate.getConfigProvider(layer, appContext, null);
+            return provider == null ? null : delegate.getConfigProvider(layer, appContext, listener);
+        }
+    }
+
+    private static class TestProvider implements AuthConfigProvider {
+
+        int configs;
+        int contexts;
+        int refreshed;
+
+        @Override
+        public ClientAuthConfig getClientAuthConfig(String layer, String appContext, CallbackHandler handler) {
+            return null;
+        }
+
+        @Override
+        public ServerAuthConfig getServerAuthConfig(String layer, String appContext, CallbackHandler handler) {
+            configs++;
+
+            return new ServerAuthConfig() {
+                @Override
+                public ServerAuthContext getAuthContext(String authContextID, Subject serviceSubject, Map<String, Object> properties) {
+                    contexts++;
+                    return authContextID == null ? null : new TestContext();
+                }
+
+                @Override
+                public String getMessageLayer() {
+                    return layer;
+                }
+
+                @Override
+                public String getAppContext() {
+                    return appContext;
+                }
+
+                @Override
+                public String getAuthContextID(MessageInfo messageInfo) {
+                    return (String) messageInfo.getMap().get(AUTH_CONTEXT_ID);
+                }
+
+                @Override
+                public void refresh() {
+                }
+
+                @Override
+                public boolean isProtected() {
+                    return true;
+                }
+            };
+        }
+
+        @Override
+        public void refresh() {
+            refreshed++;
+        }
+    }
+
+    private static class TestContext implements ServerAuthContext {
+
+        @Override
+        public AuthStatus validateRequest(MessageInfo messageInfo, Subject clientSubject, Subject serviceSubject) {
+            return AuthStatus.SUCCESS;
+        }
+
+        @Override
+        public AuthStatus secureResponse(MessageInfo messageInfo, Subject serviceSubject) {
+            return AuthStatus.SEND_SUCCESS;
+        }
+
+        @Override
+        public void cleanSubject(MessageInfo messageInfo, Subject subject) {
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.eclipse.ee4j.authentication.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import jakarta.security.auth.message.AuthStatus;
+
+/**
+ * Compares the ways a runtime can act on the AuthStatus returned by <code>validateRequest</code>: a chain of
+ * <code>==</code> comparisons, a <code>switch</code> on {@link AuthStatus#ordinal()}, and a table indexed by the
+ * ordinal. The statuses are drawn at random, so that the branch predictor can't learn the sequence.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthStatusDispatchBenchmark {
+
+    private static final int STATUSES = 1024;
+
+    /**
+     * The HTTP status a Servlet runtime would send for each AuthStatus, by ordinal.
+     */
+    private static final int[] HTTP_STATUS_BY_ORDINAL = { 200, 500, 200, 401, 401 };
+
+    private final AuthStatus[] statuses = new AuthStatus[STATUSES];
+
+    @Setup
+    public void setup() {
+        AuthStatus[] values = AuthStatus.values();
+        Random random = new Random(42);
+        for (int i = 0; i < STATUSES; i++) {
+            statuses[i] = values[random.nextInt(values.length)];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STATUSES)
+    public int comparisonChain() {
+        int sum = 0;
+        for (AuthStatus status : statuses) {
+            if (status == AuthStatus.SUCCESS) {
+                sum += 200;
+            } else if (status == AuthStatus.FAILURE) {
+                sum += 500;
+            } else if (status == AuthStatus.SEND_SUCCESS) {
+                sum += 200;
+            } else if (status == AuthStatus.SEND_FAILURE) {
+                sum += 401;
+            } else if (status == AuthStatus.SEND_CONTINUE) {
+                sum += 401;
+            }
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STATUSES)
+    public int switchOnOrdinal() {
+        int sum = 0;
+        for (AuthStatus status : statuses) {
+            switch (status.ordinal()) {
+            case 0:
+                sum += 200;
+                break;
+            case 1:
+                sum += 500;
+                break;
+            case 2:
+                sum += 200;
+                break;
+            default:
+                sum += 401;
+                break;
+            }
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STATUSES)
+    public int tableLookup() {
+        int sum = 0;
+        for (AuthStatus status : statuses) {
+            sum += HTTP_STATUS_BY_ORDINAL[status.ordinal()];
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STATUSES)
+    public int toStringLength() {
+        int sum = 0;
+        for (AuthStatus status : statuses) {
+            sum += status.toString().length();
+        }
+
+        return sum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AuthStatusDispatchBenchmark.class.getSimpleName())
+                .build())
+            .run();
+    }
+
+}
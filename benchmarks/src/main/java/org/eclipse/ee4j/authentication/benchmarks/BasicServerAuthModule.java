@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.eclipse.ee4j.authentication.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static jakarta.security.auth.message.AuthStatus.SEND_FAILURE;
+import static jakarta.security.auth.message.AuthStatus.SEND_SUCCESS;
+import static jakarta.security.auth.message.AuthStatus.SUCCESS;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Map;
+
+import javax.security.auth.Subject;
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.CallbackHandler;
+import javax.security.auth.callback.UnsupportedCallbackException;
+
+import jakarta.security.auth.message.AuthException;
+import jakarta.security.auth.message.AuthStatus;
+import jakarta.security.auth.message.MessageInfo;
+import jakarta.security.auth.message.MessagePolicy;
+import jakarta.security.auth.message.callback.CallerPrincipalCallback;
+import jakarta.security.auth.message.callback.GroupPrincipalCallback;
+import jakarta.security.auth.message.callback.PasswordValidationCallback;
+import jakarta.security.auth.message.module.ServerAuthModule;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Stateless BASIC authentication module, representative of the work a simple SAM does per request.
+ */
+public class BasicServerAuthModule implements ServerAuthModule {
+
+    private final String[] groups;
+
+    private CallbackHandler handler;
+
+    public BasicServerAuthModule() {
+        this(new String[] { "architect", "administrator" });
+    }
+
+    public BasicServerAuthModule(String[] groups) {
+        this.groups = groups;
+    }
+
+    @Override
+    public void initialize(MessagePolicy requestPolicy, MessagePolicy responsePolicy, CallbackHandler handler, Map<String, Object> options) throws AuthException {
+        this.handler = handler;
+    }
+
+    @Override
+    public Class<?>[] getSupportedMessageTypes() {
+        return new Class[] { HttpServletRequest.class, HttpServletResponse.class };
+    }
+
+    @Override
+    public AuthStatus validateRequest(MessageInfo messageInfo, Subject clientSubject, Subject serviceSubject) throws AuthException {
+        HttpServletRequest request = (HttpServletRequest) messageInfo.getRequestMessage();
+        HttpServletResponse response = (HttpServletResponse) messageInfo.getResponseMessage();
+
+        String authorization = request.getHeader("Authorization");
+        if (authorization == null || !authorization.startsWith("Basic ")) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return SEND_FAILURE;
+        }
+
+        String credentials = new String(Base64.getDecoder().decode(authorization.substring(6)), UTF_8);
+        int colon = credentials.indexOf(':');
+        String username = credentials.substring(0, colon);
+
+        PasswordValidationCallback passwordValidation = new PasswordValidationCallback(clientSubject, username, credentials.substring(colon + 1).toCharArray());
+        handle(passwordValidation);
+        passwordValidation.clearPassword();
+
+        if (!passwordValidation.getResult()) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return SEND_FAILURE;
+        }
+
+        handle(new CallerPrincipalCallback(clientSubject, username), new GroupPrincipalCallback(clientSubject, groups));
+
+        return SUCCESS;
+    }
+
+    @Override
+    public AuthStatus secureResponse(MessageInfo messageInfo, Subject serviceSubject) throws AuthException {
+        return SEND_SUCCESS;
+    }
+
+    @Override
+    public void cleanSubject(MessageInfo messageInfo, Subject subject) throws AuthException {
+        if (subject != null) {
+            subject.getPrincipals().clear();
+        }
+    }
+
+    private void handle(Callback... callbacks) throws AuthException {
+        try {
+            handler.handle(callbacks);
+        } catch (IOException | UnsupportedCallbackException e) {
+            throw new AuthException(e);
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.eclipse.ee4j.authentication.benchmarks;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.auth.Subject;
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.UnsupportedCallbackException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import jakarta.security.auth.message.callback.CallerIdentityCallback;
+import jakarta.security.auth.message.callback.CallerPrincipalCallback;
+import jakarta.security.auth.message.callback.GroupPrincipalCallback;
+
+/**
+ * Compares establishing a caller identity with a <code>CallerPrincipalCallback</code> and a
+ * <code>GroupPrincipalCallback</code> against a single {@link CallerIdentityCallback}, for users with few and with many
+ * groups.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CallerIdentityBenchmark {
+
+    @Param({ "2", "20", "200" })
+    public int groupCount;
+
+    private final StubCallbackHandler handler = new StubCallbackHandler(Map.of());
+
+    private String[] groups;
+
+    @Setup
+    public void setup() {
+        groups = new String[groupCount];
+        for (int i = 0; i < groupCount; i++) {
+            groups[i] = "group" + i;
+        }
+    }
+
+    @Benchmark
+    public Subject separateCallbacks() throws IOException, UnsupportedCallbackException {
+        Subject subject = new Subject();
+        handler.handle(new Callback[] { new CallerPrincipalCallback(subject, "test"), new GroupPrincipalCallback(subject, groups) });
+
+        return subject;
+    }
+
+    @Benchmark
+    public Subject callerIdentityCallback() throws IOException, UnsupportedCallbackException {
+        Subject subject = new Subject();
+        CallerIdentityCallback.handle(handler, new CallerIdentityCallback(subject, "test", groups));
+
+        return subject;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CallerIdentityBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+            .run();
+    }
+
+}
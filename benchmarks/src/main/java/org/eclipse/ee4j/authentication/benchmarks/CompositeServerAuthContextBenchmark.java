@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.eclipse.ee4j.authentication.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.auth.Subject;
+import javax.security.auth.callback.CallbackHandler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import jakarta.security.auth.message.AuthException;
+import jakarta.security.auth.message.AuthStatus;
+import jakarta.security.auth.message.MessageInfo;
+import jakarta.security.auth.message.MessagePolicy;
+import jakarta.security.auth.message.config.CompositeServerAuthContext;
+import jakarta.security.auth.message.config.CompositeServerAuthContext.Mechanism;
+import jakarta.security.auth.message.module.ServerAuthModule;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Measures <code>validateRequest</code> of a {@link CompositeServerAuthContext} with 1, 3 and 10 chained mechanisms,
+ * for a BASIC request that is authenticated by the last mechanism of the chain.
+ *
+ * <p>
+ * <code>fingerprinted</code> skips the mechanisms for other <code>Authorization</code> schemes by the fingerprint of
+ * the request; <code>unfiltered</code> applies every mechanism to every request, so that each module inspects the
+ * request itself and passes it on with SEND_CONTINUE, which is what re-dispatching in user code amounts to.
+ * <code>singleModule</code> calls the BASIC module directly, as a baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompositeServerAuthContextBenchmark {
+
+    private static final String CLIENT_CERTIFICATE = "jakarta.servlet.request.X509Certificate";
+
+    @Param({ "1", "3", "10" })
+    public int modules;
+
+    private final CallbackHandler handler = new StubCallbackHandler(Map.of("test", "secret".toCharArray()));
+
+    private ServerAuthModule basicModule;
+    private CompositeServerAuthContext<String> fingerprinted;
+    private CompositeServerAuthContext<String> unfiltered;
+
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+
+    @Setup
+    public void setup() throws AuthException {
+        request = StubServlets.request("GET", "/protected",
+                Map.of("Authorization", "Basic " + Base64.getEncoder().encodeToString("test:secret".getBytes(UTF_8))));
+        response = StubServlets.response();
+
+        basicModule = new BasicServerAuthModule();
+        basicModule.initialize(null, null, handler, null);
+
+        List<Mechanism<String>> filteredMechanisms = new ArrayList<>();
+        List<Mechanism<String>> unfilteredMechanisms = new ArrayList<>();
+        for (int i = 0; i < modules - 1; i++) {
+            // token and certificate mechanisms for other schemes, before the BASIC one
+            String scheme = "Scheme" + i;
+            ServerAuthModule module = new SchemeServerAuthModule(scheme);
+            module.initialize(null, null, handler, null);
+
+            filteredMechanisms.add(new Mechanism<>(module, fingerprint -> fingerprint.startsWith(scheme)));
+            unfilteredMechanisms.add(new Mechanism<>(module, fingerprint -> true));
+        }
+        filteredMechanisms.add(new Mechanism<>(basicModule, fingerprint -> fingerprint.startsWith("Basic")));
+        unfilteredMechanisms.add(new Mechanism<>(basicModule, fingerprint -> true));
+
+        fingerprinted = new CompositeServerAuthContext<>(CompositeServerAuthContextBenchmark::fingerprint, filteredMechanisms, handler);
+        unfiltered = new CompositeServerAuthContext<>(CompositeServerAuthContextBenchmark::fingerprint, unfilteredMechanisms, handler);
+    }
+
+    /**
+     * The scheme of the Authorization header, followed by "+cert" if the client presented a certificate.
+     */
+    static String fingerprint(MessageInfo messageInfo) {
+        HttpServletRequest request = (HttpServletRequest) messageInfo.getRequestMessage();
+
+        String authorization = request.getHeader("Authorization");
+        String scheme = "";
+        if (authorization != null) {
+            int space = authorization.indexOf(' ');
+            scheme = space < 0 ? authorization : authorization.substring(0, space);
+        }
+
+        return request.getAttribute(CLIENT_CERTIFICATE) == null ? scheme : scheme + "+cert";
+    }
+
+    @Benchmark
+    public AuthStatus singleModule() throws AuthException {
+        return basicModule.validateRequest(new StubMessageInfo(request, response), new Subject(), null);
+    }
+
+    @Benchmark
+    public AuthStatus fingerprinted() throws AuthException {
+        return fingerprinted.validateRequest(new StubMessageInfo(request, response), new Subject(), null);
+    }
+
+    @Benchmark
+    public AuthStatus unfiltered() throws AuthException {
+        return unfiltered.validateRequest(new StubMessageInfo(request, response), new Subject(), null);
+    }
+
+    /**
+     * Module for an Authorization scheme other than BASIC, which passes requests of other schemes on.
+     */
+    private static class SchemeServerAuthModule implements ServerAuthModule {
+
+        private final String prefix;
+
+        SchemeServerAuthModule(String scheme) {
+            this.prefix = scheme + " ";
+        }
+
+        @Override
+        public void initialize(MessagePolicy requestPolicy, MessagePolicy responsePolicy, CallbackHandler handler, Map<String, Object> options) {
+        }
+
+        @Override
+        public Class<?>[] getSupportedMessageTypes() {
+            return new Class[] { HttpServletRequest.class, HttpServletResponse.class };
+        }
+
+        @Override
+        public AuthStatus validateRequest(MessageInfo messageInfo, Subject clientSubject, Subject serviceSubject) {
+            HttpServletRequest request = (HttpServletRequest) messageInfo.getRequestMessage();
+
+            String authorization = request.getHeader("Authorization");
+            if (authorization == null || !authorization.startsWith(prefix)) {
+                return AuthStatus.SEND_CONTINUE;
+            }
+
+            return AuthStatus.SUCCESS;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CompositeServerAuthContextBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+            .run();
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.eclipse.ee4j.authentication.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.auth.Subject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import jakarta.security.auth.message.AuthException;
+import jakarta.security.auth.message.AuthStatus;
+import jakarta.security.auth.message.MessageInfo;
+import jakarta.security.auth.message.config.AuthConfigFactory;
+import jakarta.security.auth.message.config.AuthFlightRecorder;
+import jakarta.security.auth.message.config.DefaultAuthConfigFactory;
+import jakarta.security.auth.message.config.ServerAuthConfig;
+import jakarta.security.auth.message.config.ServerAuthContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jdk.jfr.Recording;
+
+/**
+ * Measures the overhead of {@link AuthFlightRecorder} on <code>validateRequest</code> and on the complete message
+ * processing cycle: without the decorators (<code>none</code>), with the decorators while no recording enables their
+ * events (<code>disabled</code>), and while a recording enables all <code>jakarta.authentication</code> events
+ * (<code>enabled</code>).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlightRecorderBenchmark {
+
+    private static final String[] EVENTS = { "GetConfigProvider", "GetServerAuthConfig", "GetAuthContext",
+            "ValidateRequest", "SecureResponse", "CleanSubject", "CallbackHandler" };
+
+    @Param({ "none", "disabled", "enabled" })
+    public String recorder;
+
+    private final StubCallbackHandler handler = new StubCallbackHandler(Map.of("test", "secret".toCharArray()));
+
+    private AuthConfigFactory factory;
+    private ServerAuthContext serverAuthContext;
+    private Recording recording;
+
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+
+    @Setup
+    public void setup() throws AuthException {
+        factory = new DefaultAuthConfigFactory();
+        factory.registerServerAuthModule(new BasicServerAuthModule(), MessageProcessingBenchmark.APP_CONTEXT);
+        if (!recorder.equals("none")) {
+            factory = AuthFlightRecorder.record(factory);
+        }
+        if (recorder.equals("enabled")) {
+            recording = new Recording();
+            for (String event : EVENTS) {
+                recording.enable("jakarta.authentication." + event).withoutStackTrace();
+            }
+            recording.setToDisk(false);
+            recording.start();
+        }
+
+        request = StubServlets.request("GET", "/protected",
+                Map.of("Authorization", "Basic " + Base64.getEncoder().encodeToString("test:secret".getBytes(UTF_8))));
+        response = StubServlets.response();
+
+        ServerAuthConfig serverAuthConfig = factory
+                .getConfigProvider(MessageProcessingBenchmark.LAYER, MessageProcessingBenchmark.APP_CONTEXT, null)
+                .getServerAuthConfig(MessageProcessingBenchmark.LAYER, MessageProcessingBenchmark.APP_CONTEXT, handler);
+        serverAuthContext = serverAuthConfig.getAuthContext(serverAuthConfig.getAuthContextID(newMessageInfo()), null, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Benchmark
+    public AuthStatus validateRequest() throws AuthException {
+        return serverAuthContext.validateRequest(newMessageInfo(), new Subject(), null);
+    }
+
+    /**
+     * The complete cycle as a runtime performs it for a single request.
+     */
+    @Benchmark
+    public AuthStatus fullCycle() throws AuthException {
+        MessageInfo messageInfo = newMessageInfo();
+        Subject clientSubject = new Subject();
+
+        ServerAuthConfig serverAuthConfig = factory
+                .getConfigProvider(MessageProcessingBenchmark.LAYER, MessageProcessingBenchmark.APP_CONTEXT, null)
+                .getServerAuthConfig(MessageProcessingBenchmark.LAYER, MessageProcessingBenchmark.APP_CONTEXT, handler);
+        ServerAuthContext serverAuthContext = serverAuthConfig.getAuthContext(serverAuthConfig.getAuthContextID(messageInfo), null, null);
+
+        AuthStatus status = serverAuthContext.validateRequest(messageInfo, clientSubject, null);
+        if (status == AuthStatus.SUCCESS) {
+            status = serverAuthContext.secureResponse(messageInfo, null);
+        }
+        serverAuthContext.cleanSubject(messageInfo, clientSubject);
+
+        return status;
+    }
+
+    private MessageInfo newMessageInfo() {
+        return new StubMessageInfo(request, response);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FlightRecorderBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+            .run();
+    }
+
+}
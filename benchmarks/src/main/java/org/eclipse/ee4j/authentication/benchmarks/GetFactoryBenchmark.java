@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.eclipse.ee4j.authentication.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jakarta.security.auth.message.config.AuthConfigFactory;
+
+/**
+ * Measures {@link AuthConfigFactory#getFactory()} once the system-wide factory has been resolved, which is the call every
+ * container makes per request before <code>getConfigProvider</code>.
+ *
+ * <p>
+ * The <code>synchronized*</code> variants replay the former <code>static synchronized</code> implementation so the two
+ * can be compared at increasing thread counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetFactoryBenchmark {
+
+    private static AuthConfigFactory synchronizedFactory;
+
+    @Setup
+    public void setup() {
+        AuthConfigFactory factory = new StubAuthConfigFactory();
+        AuthConfigFactory.setFactory(factory);
+        synchronizedFactory = factory;
+    }
+
+    @TearDown
+    public void tearDown() {
+        AuthConfigFactory.setFactory(null);
+    }
+
+    @SuppressWarnings("removal")
+    private static synchronized AuthConfigFactory synchronizedGetFactory() {
+        SecurityManager securityManager = System.getSecurityManager();
+        if (securityManager != null) {
+            securityManager.checkPermission(AuthConfigFactory.getFactorySecurityPermission);
+        }
+
+        return synchronizedFactory;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public AuthConfigFactory getFactory1() {
+        return AuthConfigFactory.getFactory();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public AuthConfigFactory getFactory8() {
+        return AuthConfigFactory.getFactory();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public AuthConfigFactory getFactory64() {
+        return AuthConfigFactory.getFactory();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public AuthConfigFactory synchronizedGetFactory1() {
+        return synchronizedGetFactory();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public AuthConfigFactory synchronizedGetFactory8() {
+        return synchronizedGetFactory();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public AuthConfigFactory synchronizedGetFactory64() {
+        return synchronizedGetFactory();
+    }
+
+}
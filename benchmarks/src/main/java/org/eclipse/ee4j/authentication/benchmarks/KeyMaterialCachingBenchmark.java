@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.eclipse.ee4j.authentication.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.CallbackHandler;
+import javax.security.auth.callback.UnsupportedCallbackException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import jakarta.security.auth.message.callback.KeyMaterialCachingCallbackHandler;
+import jakarta.security.auth.message.callback.SecretKeyCallback;
+
+/**
+ * Compares resolving a <code>SecretKeyCallback</code> with a handler that reads the key from a PKCS12 keystore file, as
+ * a container's handler does, against the same handler wrapped in a {@link KeyMaterialCachingCallbackHandler}, for which
+ * only the first message reads the keystore.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyMaterialCachingBenchmark {
+
+    private static final String ALIAS = "signing";
+
+    private static final char[] PASSWORD = "changeit".toCharArray();
+
+    private Path keyStoreFile;
+
+    private CallbackHandler keyStoreHandler;
+
+    private CallbackHandler cachingHandler;
+
+    @Setup
+    public void setup() throws IOException, GeneralSecurityException {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, null);
+        keyStore.setEntry(ALIAS, new KeyStore.SecretKeyEntry(new SecretKeySpec(new byte[32], "HmacSHA256")),
+                new KeyStore.PasswordProtection(PASSWORD));
+
+        keyStoreFile = Files.createTempFile("benchmark", ".p12");
+        try (OutputStream out = Files.newOutputStream(keyStoreFile)) {
+            keyStore.store(out, PASSWORD);
+        }
+
+        keyStoreHandler = new KeyStoreCallbackHandler(keyStoreFile);
+        cachingHandler = new KeyMaterialCachingCallbackHandler(keyStoreHandler, Duration.ofMinutes(5));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(keyStoreFile);
+    }
+
+    @Benchmark
+    public SecretKey keyStore() throws IOException, UnsupportedCallbackException {
+        return resolve(keyStoreHandler);
+    }
+
+    @Benchmark
+    public SecretKey cached() throws IOException, UnsupportedCallbackException {
+        return resolve(cachingHandler);
+    }
+
+    private static SecretKey resolve(CallbackHandler handler) throws IOException, UnsupportedCallbackException {
+        SecretKeyCallback callback = new SecretKeyCallback(new SecretKeyCallback.AliasRequest(ALIAS));
+        handler.handle(new Callback[] { callback });
+
+        return callback.getKey();
+    }
+
+    /**
+     * Loads the keystore file for every callback, like a handler that doesn't keep the keystore in memory.
+     */
+    private static final class KeyStoreCallbackHandler implements CallbackHandler {
+
+        private final Path keyStoreFile;
+
+        KeyStoreCallbackHandler(Path keyStoreFile) {
+            this.keyStoreFile = keyStoreFile;
+        }
+
+        @Override
+        public void handle(Callback[] callbacks) throws IOException, UnsupportedCallbackException {
+            for (Callback callback : callbacks) {
+                if (!(callback instanceof SecretKeyCallback)) {
+                    throw new UnsupportedCallbackException(callback);
+                }
+                SecretKeyCallback secretKeyCallback = (SecretKeyCallback) callback;
+                String alias = ((SecretKeyCallback.AliasRequest) secretKeyCallback.getRequest()).getAlias();
+
+                try (InputStream in = Files.newInputStream(keyStoreFile)) {
+                    KeyStore keyStore = KeyStore.getInstance("PKCS12");
+                    keyStore.load(in, PASSWORD);
+                    secretKeyCallback.setKey((SecretKey) keyStore.getKey(alias, PASSWORD));
+                } catch (GeneralSecurityException e) {
+                    throw new IOException(e);
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(KeyMaterialCachingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+            .run();
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.eclipse.ee4j.authentication.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import jakarta.security.auth.message.DefaultMessageInfo;
+import jakarta.security.auth.message.MessageInfo;
+
+/**
+ * Compares the per request cost of a <code>HashMap</code> backed MessageInfo allocated per request with a reused
+ * {@link DefaultMessageInfo}, for the map traffic of a typical Servlet Container Profile request: the runtime sets
+ * <code>isMandatory</code>, the module reads it and sets <code>registerSession</code> and <code>authType</code>, and the
+ * runtime reads those back.
+ *
+ * <p>
+ * Run with <code>-prof gc</code>, or via {@link #main(String[])}, to get the allocation rate per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageInfoBenchmark {
+
+    private final Object request = new Object();
+    private final Object response = new Object();
+
+    private final DefaultMessageInfo reused = new DefaultMessageInfo();
+
+    @Benchmark
+    public void hashMap(Blackhole blackhole) {
+        exchange(new StubMessageInfo(request, response), blackhole);
+    }
+
+    @Benchmark
+    public void defaultMessageInfo(Blackhole blackhole) {
+        reused.reset();
+        reused.setRequestMessage(request);
+        reused.setResponseMessage(response);
+        exchange(reused, blackhole);
+    }
+
+    private static void exchange(MessageInfo messageInfo, Blackhole blackhole) {
+        Map<String, Object> map = messageInfo.getMap();
+        map.put(DefaultMessageInfo.IS_MANDATORY, "true");
+
+        blackhole.consume(map.get(DefaultMessageInfo.IS_MANDATORY));
+        map.put(DefaultMessageInfo.REGISTER_SESSION, "true");
+        map.put(DefaultMessageInfo.AUTH_TYPE, "BASIC");
+
+        blackhole.consume(map.get(DefaultMessageInfo.REGISTER_SESSION));
+        blackhole.consume(map.get(DefaultMessageInfo.AUTH_TYPE));
+        blackhole.consume(messageInfo.getRequestMessage());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MessageInfoBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+            .run();
+    }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.eclipse.ee4j.authentication.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.auth.Subject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import jakarta.security.auth.message.AuthException;
+import jakarta.security.auth.message.AuthStatus;
+import jakarta.security.auth.message.MessageInfo;
+import jakarta.security.auth.message.config.AuthConfigFactory;
+import jakarta.security.auth.message.config.AuthConfigProvider;
+import jakarta.security.auth.message.config.DefaultAuthConfigFactory;
+import jakarta.security.auth.message.config.ServerAuthConfig;
+import jakarta.security.auth.message.config.ServerAuthContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Measures the Servlet Container Profile message processing cycle, both per stage and as a whole:
+ *
+ * <ol>
+ * <li><code>AuthConfigFactory.getFactory</code>
+ * <li><code>getConfigProvider</code>
+ * <li><code>getServerAuthConfig</code>
+ * <li><code>getAuthContextID</code>
+ * <li><code>getAuthContext</code>
+ * <li><code>validateRequest</code>
+ * <li><code>secureResponse</code>
+ * <li><code>cleanSubject</code>
+ * </ol>
+ *
+ * <p>
+ * Each stage benchmark starts from the objects the preceding stages resolved during setup, so it measures only its own
+ * stage. Throughput and sample time (which reports the p99 latency) are measured; run with <code>-prof gc</code>, or via
+ * {@link #main(String[])}, to also get the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageProcessingBenchmark {
+
+    static final String LAYER = "HttpServlet";
+    static final String APP_CONTEXT = "server /benchmark";
+
+    private final StubCallbackHandler handler = new StubCallbackHandler(Map.of("test", "secret".toCharArray()));
+
+    private AuthConfigFactory factory;
+    private AuthConfigProvider provider;
+    private ServerAuthConfig serverAuthConfig;
+    private String authContextID;
+    private ServerAuthContext serverAuthContext;
+
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+
+    @Setup
+    public void setup() throws AuthException {
+        AuthConfigFactory.setFactory(new DefaultAuthConfigFactory());
+        AuthConfigFactory.getFactory().registerServerAuthModule(new BasicServerAuthModule(), APP_CONTEXT);
+
+        request = StubServlets.request("GET", "/protected",
+                Map.of("Authorization", "Basic " + Base64.getEncoder().encodeToString("test:secret".getBytes(UTF_8))));
+        response = StubServlets.response();
+
+        factory = AuthConfigFactory.getFactory();
+        provider = factory.getConfigProvider(LAYER, APP_CONTEXT, null);
+        serverAuthConfig = provider.getServerAuthConfig(LAYER, APP_CONTEXT, handler);
+        authContextID = serverAuthConfig.getAuthContextID(newMessageInfo());
+        serverAuthContext = serverAuthConfig.getAuthContext(authContextID, null, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        AuthConfigFactory.setFactory(null);
+    }
+
+    @Benchmark
+    public AuthConfigFactory getFactory() {
+        return AuthConfigFactory.getFactory();
+    }
+
+    @Benchmark
+    public AuthConfigProvider getConfigProvider() {
+        return factory.getConfigProvider(LAYER, APP_CONTEXT, null);
+    }
+
+    @Benchmark
+    public ServerAuthConfig getServerAuthConfig() throws AuthException {
+        return provider.getServerAuthConfig(LAYER, APP_CONTEXT, handler);
+    }
+
+    @Benchmark
+    public String getAuthContextID() {
+        return serverAuthConfig.getAuthContextID(newMessageInfo());
+    }
+
+    @Benchmark
+    public ServerAuthContext getAuthContext() throws AuthException {
+        return serverAuthConfig.getAuthContext(authContextID, null, null);
+    }
+
+    @Benchmark
+    public AuthStatus validateRequest() throws AuthException {
+        return serverAuthContext.validateRequest(newMessageInfo(), new Subject(), null);
+    }
+
+    @Benchmark
+    public AuthStatus secureResponse() throws AuthException {
+        return serverAuthContext.secureResponse(newMessageInfo(), null);
+    }
+
+    @Benchmark
+    public Subject cleanSubject() throws AuthException {
+        Subject subject = new Subject();
+        serverAuthContext.cleanSubject(newMessageInfo(), subject);
+
+        return subject;
+    }
+
+    /**
+     * The complete cycle as a runtime performs it for a single request.
+     */
+    @Benchmark
+    public AuthStatus fullCycle() throws AuthException {
+        MessageInfo messageInfo = newMessageInfo();
+        Subject clientSubject = new Subject();
+
+        AuthConfigProvider provider = AuthConfigFactory.getFactory().getConfigProvider(LAYER, APP_CONTEXT, null);
+        ServerAuthConfig serverAuthConfig = provider.getServerAuthConfig(LAYER, APP_CONTEXT, handler);
+        ServerAuthContext serverAuthContext = serverAuthConfig.getAuthContext(serverAuthConfig.getAuthContextID(messageInfo), null, null);
+
+        AuthStatus status = serverAuthContext.validateRequest(messageInfo, clientSubject, null);
+        if (status == AuthStatus.SUCCESS) {
+            status = serverAuthContext.secureResponse(messageInfo, null);
+        }
+        serverAuthContext.cleanSubject(messageInfo, clientSubject);
+
+        return status;
+    }
+
+    private MessageInfo newMessageInfo() {
+        return new StubMessageInfo(request, response);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MessageProcessingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+            .run();
+    }
+
+}
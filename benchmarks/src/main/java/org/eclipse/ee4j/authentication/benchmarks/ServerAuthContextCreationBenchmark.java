@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.eclipse.ee4j.authentication.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import javax.security.auth.callback.CallbackHandler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.sun.ts.tests.jaspic.tssv.config.TSServerAuthContext;
+import com.sun.ts.tests.jaspic.tssv.util.JASPICData;
+import com.sun.ts.tests.jaspic.tssv.util.TSLogger;
+
+import jakarta.security.auth.message.AuthException;
+import jakarta.security.auth.message.MessagePolicy;
+import jakarta.security.auth.message.config.ServerAuthContext;
+import jakarta.security.auth.message.module.ServerAuthModule;
+
+/**
+ * Measures the creation of the TCK's <code>TSServerAuthContext</code>, which obtains its module from
+ * <code>ServerAuthModuleRegistry</code>, against the selection chain the constructor used before:
+ *
+ * <ul>
+ * <li><code>selectionChain</code> is the former constructor: it logs the same lines, builds fresh request and response
+ * policies, selects the module class with a chain of <code>indexOf</code>/<code>contains</code> tests, and creates and
+ * initializes a new module.
+ * <li><code>registry</code> creates a <code>TSServerAuthContext</code>, which resolves the selection once per (layer,
+ * appContext, operation), shares the policies and reuses an initialized module.
+ * </ul>
+ *
+ * <p>
+ * Both use the TCK modules, which are compiled into this module from the TCK sources. The logger has no
+ * <code>TSFileHandler</code>, so no log file is written. The former constructor also printed the appContext of every
+ * servlet context to standard output, which is left out here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServerAuthContextCreationBenchmark {
+
+    private static final String SOAP_UP_TOKEN_APP_CONTEXT = "HelloService HelloPort";
+    private static final String SERVLET_UP_TOKEN_APP_CONTEXT = "spitests_servlet_web";
+
+    @Param({ JASPICData.LAYER_SERVLET, JASPICData.LAYER_SOAP })
+    public String layer;
+
+    @Param({ "spitests_servlet_web /spitests_servlet_web", "server /benchmark" })
+    public String appContext;
+
+    public String operation = "POST /spitests_servlet_web/WrapperServlet";
+
+    private final CallbackHandler handler = new StubCallbackHandler(Map.of());
+    private final Map<String, Object> properties = new HashMap<>();
+
+    private TSLogger logger;
+
+    @Setup
+    public void setup() {
+        logger = TSLogger.getTSLogger(JASPICData.LOGGER_NAME);
+    }
+
+    @Benchmark
+    public ServerAuthModule selectionChain() throws AuthException {
+        logger.log(Level.INFO, "TSServerAuthContext called");
+        String logStr = "TSServerAuthContext called for messageLayer=" + layer + " : appContext=" + appContext;
+        logger.log(Level.INFO, logStr);
+        logStr += " : operation=" + operation;
+        logger.log(Level.INFO, logStr);
+
+        properties.put("TSLogger", logger);
+
+        MessagePolicy requestMessagePolicy = messagePolicy(MessagePolicy.ProtectionPolicy.AUTHENTICATE_SENDER);
+        MessagePolicy responseMessagePolicy = messagePolicy(MessagePolicy.ProtectionPolicy.AUTHENTICATE_CONTENT);
+
+        ServerAuthModule sam = null;
+        if (layer.equals(JASPICData.LAYER_SOAP)) {
+            sam = new com.sun.ts.tests.jaspic.tssv.module.soap.TSServerAuthModule();
+
+            if (appContext.equals(SOAP_UP_TOKEN_APP_CONTEXT)) {
+                sam.initialize(requestMessagePolicy, responseMessagePolicy, handler, properties);
+            } else if (appContext.indexOf("SendSuccessHello") > -1) {
+                sam = new com.sun.ts.tests.jaspic.tssv.module.soap.TSSendSuccessServerAuthModule();
+                sam.initialize(null, null, handler, properties);
+            } else if (appContext.indexOf("SendFailureHello") > -1) {
+                sam = new com.sun.ts.tests.jaspic.tssv.module.soap.TSSendFailureServerAuthModule();
+                sam.initialize(null, null, handler, properties);
+            } else if (appContext.indexOf("FailureHello") > -1) {
+                sam = new com.sun.ts.tests.jaspic.tssv.module.soap.TSFailureServerAuthModule();
+                sam.initialize(null, null, handler, properties);
+            } else if (appContext.indexOf("AuthExceptionHello") > -1) {
+                sam = new com.sun.ts.tests.jaspic.tssv.module.soap.TSAuthExceptionServerAuthModule();
+                sam.initialize(null, null, handler, properties);
+            } else {
+                sam = new com.sun.ts.tests.jaspic.tssv.module.soap.TSServerAuthModule();
+                sam.initialize(null, null, handler, properties);
+            }
+        } else if (layer.equals(JASPICData.LAYER_SERVLET)) {
+            if (appContext.contains(SERVLET_UP_TOKEN_APP_CONTEXT) && operation.contains("WrapperServlet")) {
+                sam = new com.sun.ts.tests.jaspic.tssv.module.servlet.TSServletWrapperSAM();
+                sam.initialize(requestMessagePolicy, responseMessagePolicy, handler, properties);
+            } else if (appContext.contains(SERVLET_UP_TOKEN_APP_CONTEXT)) {
+                sam = new com.sun.ts.tests.jaspic.tssv.module.servlet.TSServerAuthModule();
+                sam.initialize(requestMessagePolicy, responseMessagePolicy, handler, properties);
+            } else {
+                sam = new com.sun.ts.tests.jaspic.tssv.module.servlet.TSServerAuthModule();
+                sam.initialize(requestMessagePolicy, null, handler, properties);
+            }
+        }
+
+        return sam;
+    }
+
+    @Benchmark
+    public ServerAuthContext registry() throws AuthException {
+        return new TSServerAuthContext(layer, appContext, handler, operation, null, properties, false, logger);
+    }
+
+    private static MessagePolicy messagePolicy(String protectionPolicyID) {
+        MessagePolicy.TargetPolicy msgTargetPolicy = new MessagePolicy.TargetPolicy(null, new MessagePolicy.ProtectionPolicy() {
+            public String getID() {
+                return protectionPolicyID;
+            }
+        });
+        MessagePolicy.TargetPolicy[] msgTargetPolicies = { msgTargetPolicy };
+
+        return new MessagePolicy(msgTargetPolicies, false);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ServerAuthContextCreationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+            .run();
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.eclipse.ee4j.authentication.benchmarks;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.auth.Subject;
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.UnsupportedCallbackException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import jakarta.security.auth.message.callback.CallerPrincipalCallback;
+import jakarta.security.auth.message.callback.GroupPrincipalCallback;
+import jakarta.security.auth.message.callback.SubjectSnapshot;
+
+/**
+ * Measures the identity work of a request that continues a registered authentication session, the way the
+ * <code>register-session</code> TCK module does: the module passes a <code>CallerPrincipalCallback</code> for the
+ * principal of the session, after which the runtime either establishes the caller and its groups again from the names
+ * stored in the session, or uses a {@link SubjectSnapshot} stored in the session.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionContinuationBenchmark {
+
+    @Param({ "2", "20" })
+    public int groupCount;
+
+    private final StubCallbackHandler handler = new StubCallbackHandler(Map.of());
+
+    private Principal sessionPrincipal;
+    private String[] sessionGroups;
+    private SubjectSnapshot sessionSnapshot;
+
+    @Setup
+    public void setup() {
+        sessionPrincipal = new StubCallbackHandler.NamedPrincipal("test");
+        sessionGroups = new String[groupCount];
+        List<Principal> groupPrincipals = new ArrayList<>(groupCount);
+        for (int i = 0; i < groupCount; i++) {
+            sessionGroups[i] = "group" + i;
+            groupPrincipals.add(new StubCallbackHandler.NamedPrincipal(sessionGroups[i]));
+        }
+        sessionSnapshot = new SubjectSnapshot(sessionPrincipal, groupPrincipals);
+    }
+
+    @Benchmark
+    public Subject rebuild() throws IOException, UnsupportedCallbackException {
+        Subject clientSubject = new Subject();
+        handler.handle(new Callback[] { new CallerPrincipalCallback(clientSubject, sessionPrincipal) });
+
+        // The runtime establishes the groups stored with the session again
+        handler.handle(new Callback[] { new GroupPrincipalCallback(clientSubject, sessionGroups) });
+
+        return clientSubject;
+    }
+
+    @Benchmark
+    public Subject snapshotEstablish() throws IOException, UnsupportedCallbackException {
+        Subject clientSubject = new Subject();
+        CallerPrincipalCallback callback = new CallerPrincipalCallback(clientSubject, sessionPrincipal);
+        if (callback.getPrincipal().equals(sessionSnapshot.getCallerPrincipal())) {
+            sessionSnapshot.establish(clientSubject);
+        }
+
+        return clientSubject;
+    }
+
+    @Benchmark
+    public Subject snapshotBind() throws IOException, UnsupportedCallbackException {
+        CallerPrincipalCallback callback = new CallerPrincipalCallback(new Subject(), sessionPrincipal);
+        if (callback.getPrincipal().equals(sessionSnapshot.getCallerPrincipal())) {
+            return sessionSnapshot.getSubject();
+        }
+
+        return callback.getSubject();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SessionContinuationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+            .run();
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.eclipse.ee4j.authentication.benchmarks;
+
+import java.util.Map;
+
+import jakarta.security.auth.message.config.AuthConfigFactory;
+import jakarta.security.auth.message.config.AuthConfigProvider;
+import jakarta.security.auth.message.config.RegistrationListener;
+import jakarta.security.auth.message.module.ServerAuthModule;
+
+/**
+ * Minimal factory that always hands out the single provider it was created with.
+ */
+public class StubAuthConfigFactory extends AuthConfigFactory {
+
+    private final AuthConfigProvider provider;
+
+    public StubAuthConfigFactory() {
+        this(null);
+    }
+
+    public StubAuthConfigFactory(AuthConfigProvider provider) {
+        this.provider = provider;
+    }
+
+    @Override
+    public AuthConfigProvider getConfigProvider(String layer, String appContext, RegistrationListener listener) {
+        return provider;
+    }
+
+    @Override
+    public String registerConfigProvider(String className, Map<String, String> properties, String layer, String appContext, String description) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String registerConfigProvider(AuthConfigProvider provider, String layer, String appContext, String description) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String registerServerAuthModule(ServerAuthModule serverAuthModule, Object context) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeServerAuthModule(Object context) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean removeRegistration(String registrationID) {
+        return false;
+    }
+
+    @Override
+    public String[] detachListener(RegistrationListener listener, String layer, String appContext) {
+        return new String[0];
+    }
+
+    @Override
+    public String[] getRegistrationIDs(AuthConfigProvider provider) {
+        return new String[0];
+    }
+
+    @Override
+    public RegistrationContext getRegistrationContext(String registrationID) {
+        return null;
+    }
+
+    @Override
+    public void refresh() {
+    }
+
+}
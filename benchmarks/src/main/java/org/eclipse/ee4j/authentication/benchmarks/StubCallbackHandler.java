@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.eclipse.ee4j.authentication.benchmarks;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.Map;
+
+import javax.security.auth.Subject;
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.CallbackHandler;
+import javax.security.auth.callback.UnsupportedCallbackException;
+
+import jakarta.security.auth.message.callback.CallerIdentityCallback;
+import jakarta.security.auth.message.callback.CallerPrincipalCallback;
+import jakarta.security.auth.message.callback.GroupPrincipalCallback;
+import jakarta.security.auth.message.callback.PasswordValidationCallback;
+
+/**
+ * CallbackHandler that handles the identity callbacks the way a container would, against an in-memory user store.
+ */
+public class StubCallbackHandler implements CallbackHandler {
+
+    private final Map<String, char[]> passwords;
+
+    public StubCallbackHandler(Map<String, char[]> passwords) {
+        this.passwords = passwords;
+    }
+
+    @Override
+    public void handle(Callback[] callbacks) throws IOException, UnsupportedCallbackException {
+        for (Callback callback : callbacks) {
+            if (callback instanceof CallerPrincipalCallback) {
+                CallerPrincipalCallback callerPrincipalCallback = (CallerPrincipalCallback) callback;
+                Principal principal = callerPrincipalCallback.getPrincipal();
+                if (principal == null && callerPrincipalCallback.getName() != null) {
+                    principal = new NamedPrincipal(callerPrincipalCallback.getName());
+                }
+                if (principal != null) {
+                    callerPrincipalCallback.getSubject().getPrincipals().add(principal);
+                }
+            } else if (callback instanceof GroupPrincipalCallback) {
+                GroupPrincipalCallback groupPrincipalCallback = (GroupPrincipalCallback) callback;
+                Subject subject = groupPrincipalCallback.getSubject();
+                for (String group : groupPrincipalCallback.getGroups()) {
+                    subject.getPrincipals().add(new NamedPrincipal(group));
+                }
+            } else if (callback instanceof CallerIdentityCallback) {
+                CallerIdentityCallback callerIdentityCallback = (CallerIdentityCallback) callback;
+                Principal principal = callerIdentityCallback.getPrincipal();
+                if (principal == null && callerIdentityCallback.getName() != null) {
+                    principal = new NamedPrincipal(callerIdentityCallback.getName());
+                }
+                callerIdentityCallback.establish(principal, NamedPrincipal::new);
+            } else if (callback instanceof PasswordValidationCallback) {
+                PasswordValidationCallback passwordValidationCallback = (PasswordValidationCallback) callback;
+                char[] password = passwords.get(passwordValidationCallback.getUsername());
+                passwordValidationCallback.setResult(password != null && Arrays.equals(password, passwordValidationCallback.getPassword()));
+            } else {
+                throw new UnsupportedCallbackException(callback);
+            }
+        }
+    }
+
+    public static class NamedPrincipal implements Principal {
+
+        private final String name;
+
+        public NamedPrincipal(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof NamedPrincipal && name.equals(((NamedPrincipal) other).name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+    }
+
+}
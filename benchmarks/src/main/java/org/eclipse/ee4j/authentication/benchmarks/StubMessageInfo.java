@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.eclipse.ee4j.authentication.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import jakarta.security.auth.message.MessageInfo;
+
+/**
+ * Plain <code>HashMap</code> backed MessageInfo, as a container would typically create one per request.
+ */
+public class StubMessageInfo implements MessageInfo {
+
+    private Object request;
+    private Object response;
+    private Map<String, Object> map;
+
+    public StubMessageInfo() {
+    }
+
+    public StubMessageInfo(Object request, Object response) {
+        this.request = request;
+        this.response = response;
+    }
+
+    @Override
+    public Object getRequestMessage() {
+        return request;
+    }
+
+    @Override
+    public Object getResponseMessage() {
+        return response;
+    }
+
+    @Override
+    public void setRequestMessage(Object request) {
+        this.request = request;
+    }
+
+    @Override
+    public void setResponseMessage(Object response) {
+        this.response = response;
+    }
+
+    @Override
+    public Map<String, Object> getMap() {
+        if (map == null) {
+            map = new HashMap<>();
+        }
+
+        return map;
+    }
+
+}
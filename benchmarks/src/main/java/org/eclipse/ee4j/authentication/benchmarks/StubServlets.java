@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.eclipse.ee4j.authentication.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Creates stub servlet request and response objects that only implement what the benchmarked modules use.
+ */
+public final class StubServlets {
+
+    private StubServlets() {
+    }
+
+    /**
+     * Creates a request for the given method and servlet path with the given headers. Any other method returns null
+     * (or false, 0).
+     */
+    public static HttpServletRequest request(String method, String servletPath, Map<String, String> headers) {
+        return (HttpServletRequest) Proxy.newProxyInstance(
+                StubServlets.class.getClassLoader(),
+                new Class<?>[] { HttpServletRequest.class },
+                (proxy, invokedMethod, args) -> {
+                    switch (invokedMethod.getName()) {
+                    case "getHeader":
+                        return headers.get(args[0]);
+                    case "getMethod":
+                        return method;
+                    case "getServletPath":
+                        return servletPath;
+                    case "getContextPath":
+                        return "";
+                    case "getRequestURI":
+                        return servletPath;
+                    default:
+                        return defaultValue(invokedMethod.getReturnType());
+                    }
+                });
+    }
+
+    /**
+     * Creates a response on which all methods are no-ops.
+     */
+    public static HttpServletResponse response() {
+        return (HttpServletResponse) Proxy.newProxyInstance(
+                StubServlets.class.getClassLoader(),
+                new Class<?>[] { HttpServletResponse.class },
+                (proxy, invokedMethod, args) -> defaultValue(invokedMethod.getReturnType()));
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+
+        return null;
+    }
+
+}
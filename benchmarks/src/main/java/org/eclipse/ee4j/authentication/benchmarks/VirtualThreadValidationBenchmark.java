@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.eclipse.ee4j.authentication.benchmarks;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.auth.Subject;
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.CallbackHandler;
+import javax.security.auth.callback.UnsupportedCallbackException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import jakarta.security.auth.message.AuthException;
+import jakarta.security.auth.message.AuthStatus;
+import jakarta.security.auth.message.MessageInfo;
+import jakarta.security.auth.message.callback.PasswordValidationCallback;
+import jakarta.security.auth.message.config.AuthConfigFactory;
+import jakarta.security.auth.message.config.DefaultAuthConfigFactory;
+import jakarta.security.auth.message.config.ExecutorServerAuthContext;
+import jakarta.security.auth.message.config.ServerAuthConfig;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Compares the throughput of <code>validateRequest</code> for a module whose password validation blocks on a (simulated)
+ * identity store, when {@link ExecutorServerAuthContext} runs it on a fixed pool of platform threads, the way a
+ * container runs requests on its request thread pool, and on virtual threads.
+ *
+ * <p>
+ * Each invocation validates a burst of concurrent requests. Virtual threads need Java 21 or later; on an earlier Java
+ * version the <code>virtual</code> executor falls back to an unbounded pool of platform threads (see
+ * {@link ExecutorServerAuthContext#isVirtualThreadExecutorSupported()}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VirtualThreadValidationBenchmark {
+
+    private static final int REQUESTS = 1000;
+
+    @Param({ "platform", "virtual" })
+    public String executorType;
+
+    @Param({ "200" })
+    public int platformThreads;
+
+    @Param({ "1" })
+    public int identityStoreMillis;
+
+    private ExecutorService platformExecutor;
+    private ExecutorServerAuthContext serverAuthContext;
+
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+
+    @Setup
+    public void setup() throws AuthException {
+        AuthConfigFactory.setFactory(new DefaultAuthConfigFactory());
+        AuthConfigFactory.getFactory().registerServerAuthModule(new BasicServerAuthModule(), MessageProcessingBenchmark.APP_CONTEXT);
+
+        request = StubServlets.request("GET", "/protected",
+                Map.of("Authorization", "Basic " + Base64.getEncoder().encodeToString("test:secret".getBytes(UTF_8))));
+        response = StubServlets.response();
+
+        CallbackHandler handler = new BlockingIdentityStoreHandler(
+                new StubCallbackHandler(Map.of("test", "secret".toCharArray())), identityStoreMillis);
+
+        ServerAuthConfig serverAuthConfig = AuthConfigFactory.getFactory()
+                .getConfigProvider(MessageProcessingBenchmark.LAYER, MessageProcessingBenchmark.APP_CONTEXT, null)
+                .getServerAuthConfig(MessageProcessingBenchmark.LAYER, MessageProcessingBenchmark.APP_CONTEXT, handler);
+
+        Executor executor;
+        if (executorType.equals("platform")) {
+            platformExecutor = Executors.newFixedThreadPool(platformThreads);
+            executor = platformExecutor;
+        } else {
+            executor = ExecutorServerAuthContext.virtualThreadExecutor();
+        }
+
+        MessageInfo messageInfo = new StubMessageInfo(request, response);
+        serverAuthContext = new ExecutorServerAuthContext(
+                serverAuthConfig.getAuthContext(serverAuthConfig.getAuthContextID(messageInfo), null, null), executor,
+                ExecutorServerAuthContext.contextClassLoaderPropagator());
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (platformExecutor != null) {
+            platformExecutor.shutdownNow();
+        }
+        AuthConfigFactory.setFactory(null);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public int validateRequests() {
+        CompletableFuture<?>[] statuses = new CompletableFuture<?>[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            statuses[i] = serverAuthContext.validateRequestAsync(new StubMessageInfo(request, response), new Subject(), null)
+                    .toCompletableFuture();
+        }
+
+        int succeeded = 0;
+        for (CompletableFuture<?> status : statuses) {
+            if (status.join() == AuthStatus.SUCCESS) {
+                succeeded++;
+            }
+        }
+
+        return succeeded;
+    }
+
+    /**
+     * Validates passwords against an identity store that takes the given time to answer.
+     */
+    private static class BlockingIdentityStoreHandler implements CallbackHandler {
+
+        private final CallbackHandler handler;
+        private final long millis;
+
+        BlockingIdentityStoreHandler(CallbackHandler handler, long millis) {
+            this.handler = handler;
+            this.millis = millis;
+        }
+
+        @Override
+        public void handle(Callback[] callbacks) throws IOException, UnsupportedCallbackException {
+            for (Callback callback : callbacks) {
+                if (callback instanceof PasswordValidationCallback) {
+                    try {
+                        Thread.sleep(millis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException();
+                    }
+                }
+            }
+            handler.handle(callbacks);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(VirtualThreadValidationBenchmark.class.getSimpleName())
+                .build())
+            .run();
+    }
+
+}
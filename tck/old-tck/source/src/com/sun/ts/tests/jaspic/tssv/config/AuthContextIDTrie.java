@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ts.tests.jaspic.tssv.config;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonical servlet profile authContextIDs of one appContext.
+ *
+ * The servlet profile authContextID is the servlet path and the HTTP method separated by a space. This trie maps the
+ * characters of the servlet path, followed by the method, to the ID string built when the pair was first seen, so
+ * looking up a known pair neither builds a string nor takes a lock, and every lookup of a pair returns the same
+ * instance. Caches keyed on the ID therefore compare it by identity on their fast path.
+ *
+ * Pairs are added on first use, as the servlet paths of an application are not known up front. Past MAX_IDS pairs, IDs
+ * are built per call instead of being added, without taking the lock, which bounds the trie for applications mapped to
+ * "/" (where the servlet path is the request path).
+ */
+final class AuthContextIDTrie {
+
+    private static final int MAX_IDS = 4096;
+
+    private static final ConcurrentHashMap<String, AuthContextIDTrie> tries = new ConcurrentHashMap<>();
+
+    private final Node root = new Node();
+
+    // Written while holding the trie's lock
+    private volatile int size;
+
+    /**
+     * Returns the trie of the given appContext.
+     */
+    static AuthContextIDTrie forAppContext(String appContext) {
+        return tries.computeIfAbsent(String.valueOf(appContext), key -> new AuthContextIDTrie());
+    }
+
+    /**
+     * Returns the authContextID for the given servlet path and HTTP method.
+     */
+    String getAuthContextID(String servletPath, String method) {
+        if (servletPath == null || method == null) {
+            return servletPath + " " + method;
+        }
+
+        Node node = root;
+        for (int i = 0; i < servletPath.length() && node != null; i++) {
+            node = node.child(servletPath.charAt(i));
+        }
+        String authContextID = node == null ? null : node.authContextID(method);
+        if (authContextID != null) {
+            return authContextID;
+        }
+
+        return size >= MAX_IDS ? servletPath + " " + method : add(servletPath, method);
+    }
+
+    private synchronized String add(String servletPath, String method) {
+        Node node = root;
+        for (int i = 0; i < servletPath.length(); i++) {
+            Node child = node.child(servletPath.charAt(i));
+            if (child == null) {
+                if (size >= MAX_IDS) {
+                    return servletPath + " " + method;
+                }
+                child = node.addChild(servletPath.charAt(i));
+            }
+            node = child;
+        }
+
+        String authContextID = node.authContextID(method);
+        if (authContextID == null) {
+            authContextID = servletPath + " " + method;
+            if (size < MAX_IDS) {
+                node.addAuthContextID(method, authContextID);
+                size++;
+            }
+        }
+
+        return authContextID;
+    }
+
+    /*
+     * The arrays of a node are replaced, never modified, and each pair of arrays is published through a single
+     * volatile field, so that unsynchronized readers always see a consistent pair. Writers hold the trie's lock.
+     */
+    private static final class Node {
+
+        private static final Edges NO_EDGES = new Edges(new char[0], new Node[0]);
+        private static final IDs NO_IDS = new IDs(new String[0], new String[0]);
+
+        private volatile Edges edges = NO_EDGES;
+        private volatile IDs ids = NO_IDS;
+
+        Node child(char c) {
+            Edges current = edges;
+            int index = Arrays.binarySearch(current.chars, c);
+
+            return index < 0 ? null : current.children[index];
+        }
+
+        Node addChild(char c) {
+            Edges current = edges;
+            int insertAt = -(Arrays.binarySearch(current.chars, c) + 1);
+
+            char[] chars = new char[current.chars.length + 1];
+            Node[] children = new Node[chars.length];
+            System.arraycopy(current.chars, 0, chars, 0, insertAt);
+            System.arraycopy(current.children, 0, children, 0, insertAt);
+            System.arraycopy(current.chars, insertAt, chars, insertAt + 1, current.chars.length - insertAt);
+            System.arraycopy(current.children, insertAt, children, insertAt + 1, current.chars.length - insertAt);
+
+            Node child = new Node();
+            chars[insertAt] = c;
+            children[insertAt] = child;
+            edges = new Edges(chars, children);
+
+            return child;
+        }
+
+        String authContextID(String method) {
+            IDs current = ids;
+            for (int i = 0; i < current.methods.length; i++) {
+                if (current.methods[i].equals(method)) {
+                    return current.authContextIDs[i];
+                }
+            }
+
+            return null;
+        }
+
+        void addAuthContextID(String method, String authContextID) {
+            IDs current = ids;
+            String[] methods = Arrays.copyOf(current.methods, current.methods.length + 1);
+            String[] authContextIDs = Arrays.copyOf(current.authContextIDs, methods.length);
+            methods[methods.length - 1] = method;
+            authContextIDs[methods.length - 1] = authContextID;
+            ids = new IDs(methods, authContextIDs);
+        }
+    }
+
+    private static final class Edges {
+
+        private final char[] chars;
+        private final Node[] children;
+
+        Edges(char[] chars, Node[] children) {
+            this.chars = chars;
+            this.children = children;
+        }
+    }
+
+    private static final class IDs {
+
+        private final String[] methods;
+        private final String[] authContextIDs;
+
+        IDs(String[] methods, String[] authContextIDs) {
+            this.methods = methods;
+            this.authContextIDs = authContextIDs;
+        }
+    }
+}
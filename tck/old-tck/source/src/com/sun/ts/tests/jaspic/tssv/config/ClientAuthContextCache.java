@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ts.tests.jaspic.tssv.config;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.security.auth.Subject;
+
+import jakarta.security.auth.message.config.RegistrationListener;
+
+/**
+ * Caches the TSClientAuthContext created for a (layer, appContext, operation, clientSubject) combination, so that a
+ * client runtime that acquires a context for every outbound message reuses the context and its ClientAuthModule.
+ *
+ * The client Subject is matched by identity and held weakly, so a context is never handed to a caller with a different
+ * Subject, and a cached context doesn't keep the Subject of a finished caller alive. The cache is registered with the
+ * ProviderRegistrationIndex of the TS factories, which notifies it whenever a registration is added, replaced or
+ * removed; the contexts of the affected layer and appContext are then dropped.
+ */
+final class ClientAuthContextCache implements RegistrationListener {
+
+    private static final int MAX_CONTEXTS = 256;
+
+    private static final ClientAuthContextCache INSTANCE = new ClientAuthContextCache();
+
+    private final Map<Key, TSClientAuthContext> contexts = new ConcurrentHashMap<>();
+
+    private ClientAuthContextCache() {
+    }
+
+    static ClientAuthContextCache getInstance() {
+        return INSTANCE;
+    }
+
+    TSClientAuthContext get(String layer, String appContext, String operation, Subject clientSubject) {
+        return contexts.get(new Key(layer, appContext, operation, clientSubject));
+    }
+
+    void put(String layer, String appContext, String operation, Subject clientSubject, TSClientAuthContext context) {
+        if (contexts.size() >= MAX_CONTEXTS) {
+            // contexts of collected Subjects can never be returned again
+            contexts.keySet().removeIf(Key::isCleared);
+        }
+        if (contexts.size() >= MAX_CONTEXTS) {
+            Iterator<Key> keys = contexts.keySet().iterator();
+            if (keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        contexts.put(new Key(layer, appContext, operation, clientSubject), context);
+    }
+
+    /**
+     * Drops the contexts of the given layer and appContext, where null matches any layer respectively appContext.
+     */
+    @Override
+    public void notify(String layer, String appContext) {
+        contexts.keySet().removeIf(key -> (layer == null || layer.equals(key.layer)) && (appContext == null || appContext.equals(key.appContext)));
+    }
+
+    void clear() {
+        contexts.clear();
+    }
+
+    private static final class Key {
+
+        private final String layer;
+        private final String appContext;
+        private final String operation;
+        private final WeakReference<Subject> clientSubject;
+        private final int hash;
+
+        Key(String layer, String appContext, String operation, Subject clientSubject) {
+            this.layer = layer;
+            this.appContext = appContext;
+            this.operation = operation;
+            this.clientSubject = clientSubject == null ? null : new WeakReference<>(clientSubject);
+            this.hash = 31 * Objects.hash(layer, appContext, operation) + System.identityHashCode(clientSubject);
+        }
+
+        boolean isCleared() {
+            return clientSubject != null && clientSubject.get() == null;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            if (hash != other.hash || !Objects.equals(layer, other.layer) || !Objects.equals(appContext, other.appContext)
+                    || !Objects.equals(operation, other.operation)) {
+                return false;
+            }
+            if (clientSubject == null || other.clientSubject == null) {
+                return clientSubject == other.clientSubject;
+            }
+            Subject subject = clientSubject.get();
+
+            return subject != null && subject == other.clientSubject.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
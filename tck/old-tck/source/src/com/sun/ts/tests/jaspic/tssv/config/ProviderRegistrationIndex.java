@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ts.tests.jaspic.tssv.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import jakarta.security.auth.message.config.AuthConfigFactory.RegistrationContext;
+import jakarta.security.auth.message.config.AuthConfigProvider;
+import jakarta.security.auth.message.config.RegistrationListener;
+
+/**
+ * Registration index shared by the TS factories.
+ *
+ * Registrations are keyed by their (layer, appContext) pair, where a null value (or the string "null" the factories
+ * historically used in its place) is the wildcard slot for "all layers" respectively "all appContexts". On every change
+ * an immutable lookup table is rebuilt in which, for each registered appContext and each registered layer, the
+ * registration selected by the getConfigProvider precedence rules has already been resolved. A lookup is then one probe
+ * per key component, without building keys or taking a lock.
+ *
+ * Registration IDs keep their historical form of layer + appContext.
+ *
+ * Listeners added with addRegistrationListener are notified of every registration that is added, replaced or removed,
+ * so that caches of configuration objects can drop what the change may affect. These are internal listeners; the
+ * listeners passed to getConfigProvider are still handled by the factories.
+ */
+public class ProviderRegistrationIndex {
+
+    private final Map<String, Registration> registrations = new LinkedHashMap<>();
+
+    private volatile LookupTable lookupTable = LookupTable.EMPTY;
+
+    private final List<RegistrationListener> registrationListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Returns the provider selected for the given layer and appContext according to the precedence rules of
+     * AuthConfigFactory.getConfigProvider, or null if no registration matches (or the best match has a null provider).
+     */
+    public AuthConfigProvider getProvider(String layer, String appContext) {
+        Registration registration = lookupTable.select(wildcardToNull(layer), wildcardToNull(appContext));
+        return registration == null ? null : registration.provider;
+    }
+
+    /**
+     * Returns the registration ID for the given layer and appContext.
+     */
+    public static String getRegistrationID(String layer, String appContext) {
+        return layer + appContext;
+    }
+
+    /**
+     * Adds or replaces the registration for the given layer and appContext.
+     *
+     * @return the registration ID
+     */
+    public synchronized String put(String layer, String appContext, AuthConfigProvider provider, RegistrationContext registrationContext) {
+        String registrationID = getRegistrationID(layer, appContext);
+        Registration registration = new Registration(wildcardToNull(layer), wildcardToNull(appContext), provider, registrationContext);
+        registrations.put(registrationID, registration);
+        rebuild();
+        notifyRegistrationListeners(registration);
+
+        return registrationID;
+    }
+
+    public synchronized boolean remove(String registrationID) {
+        Registration registration = registrations.remove(registrationID);
+        if (registration == null) {
+            return false;
+        }
+        rebuild();
+        notifyRegistrationListeners(registration);
+
+        return true;
+    }
+
+    public synchronized AuthConfigProvider getRegisteredProvider(String registrationID) {
+        Registration registration = registrations.get(registrationID);
+        return registration == null ? null : registration.provider;
+    }
+
+    public synchronized RegistrationContext getRegistrationContext(String registrationID) {
+        Registration registration = registrations.get(registrationID);
+        return registration == null ? null : registration.registrationContext;
+    }
+
+    /**
+     * Returns the IDs of all registrations of the given provider, or of all registrations if provider is null.
+     */
+    public synchronized String[] getRegistrationIDs(AuthConfigProvider provider) {
+        List<String> registrationIDs = new ArrayList<>();
+        for (Map.Entry<String, Registration> entry : registrations.entrySet()) {
+            if (provider == null || provider.equals(entry.getValue().provider)) {
+                registrationIDs.add(entry.getKey());
+            }
+        }
+
+        return registrationIDs.toArray(new String[registrationIDs.size()]);
+    }
+
+    /**
+     * Adds a listener that is notified with the layer and appContext (null for a wildcard) of every registration that is
+     * added, replaced or removed.
+     */
+    public void addRegistrationListener(RegistrationListener listener) {
+        registrationListeners.add(listener);
+    }
+
+    private void notifyRegistrationListeners(Registration registration) {
+        for (RegistrationListener listener : registrationListeners) {
+            listener.notify(registration.layer, registration.appContext);
+        }
+    }
+
+    private void rebuild() {
+        Map<String, Map<String, Registration>> byAppContext = new HashMap<>();
+        Set<String> layers = new HashSet<>();
+        for (Registration registration : registrations.values()) {
+            byAppContext.computeIfAbsent(registration.appContext, e -> new HashMap<>()).put(registration.layer, registration);
+            if (registration.layer != null) {
+                layers.add(registration.layer);
+            }
+        }
+
+        Map<String, Registration> allAppContexts = byAppContext.getOrDefault(null, Collections.emptyMap());
+
+        Map<String, Slot> slots = new HashMap<>();
+        for (Map.Entry<String, Map<String, Registration>> entry : byAppContext.entrySet()) {
+            if (entry.getKey() != null) {
+                slots.put(entry.getKey(), new Slot(layers, entry.getValue(), allAppContexts));
+            }
+        }
+
+        lookupTable = new LookupTable(slots, new Slot(layers, Collections.emptyMap(), allAppContexts));
+    }
+
+    private static String wildcardToNull(String value) {
+        return "null".equals(value) ? null : value;
+    }
+
+    private static class Registration {
+
+        private final String layer;
+        private final String appContext;
+        private final AuthConfigProvider provider;
+        private final RegistrationContext registrationContext;
+
+        private Registration(String layer, String appContext, AuthConfigProvider provider, RegistrationContext registrationContext) {
+            this.layer = layer;
+            this.appContext = appContext;
+            this.provider = provider;
+            this.registrationContext = registrationContext;
+        }
+    }
+
+    /**
+     * The resolved registrations for one appContext (or for every appContext without a registration of its own).
+     */
+    private static class Slot {
+
+        private final Map<String, Registration> byLayer = new HashMap<>();
+        private final Registration otherLayers;
+
+        private Slot(Set<String> layers, Map<String, Registration> forAppContext, Map<String, Registration> forAllAppContexts) {
+            // Precedence: (layer, appContext), (all layers, appContext), (layer, all appContexts), (all layers, all appContexts)
+            Registration allLayers = forAppContext.get(null);
+            if (allLayers == null) {
+                allLayers = forAllAppContexts.get(null);
+            }
+            otherLayers = allLayers;
+
+            for (String layer : layers) {
+                Registration registration = forAppContext.get(layer);
+                if (registration == null && forAppContext.get(null) == null) {
+                    registration = forAllAppContexts.get(layer);
+                }
+                if (registration == null) {
+                    registration = allLayers;
+                }
+                if (registration != null) {
+                    byLayer.put(layer, registration);
+                }
+            }
+        }
+
+        private Registration select(String layer) {
+            Registration registration = byLayer.get(layer);
+            return registration == null ? otherLayers : registration;
+        }
+    }
+
+    private static class LookupTable {
+
+        private static final LookupTable EMPTY = new LookupTable(Collections.emptyMap(), null);
+
+        private final Map<String, Slot> byAppContext;
+        private final Slot allAppContexts;
+
+        private LookupTable(Map<String, Slot> byAppContext, Slot allAppContexts) {
+            this.byAppContext = byAppContext;
+            this.allAppContexts = allAppContexts;
+        }
+
+        private Registration select(String layer, String appContext) {
+            Slot slot = appContext == null ? null : byAppContext.get(appContext);
+            if (slot == null) {
+                slot = allAppContexts;
+            }
+
+            return slot == null ? null : slot.select(layer);
+        }
+    }
+
+}
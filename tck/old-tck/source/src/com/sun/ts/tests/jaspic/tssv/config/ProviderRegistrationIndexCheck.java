@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ts.tests.jaspic.tssv.config;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.security.auth.callback.CallbackHandler;
+
+import jakarta.security.auth.message.config.AuthConfigProvider;
+import jakarta.security.auth.message.config.ClientAuthConfig;
+import jakarta.security.auth.message.config.ServerAuthConfig;
+
+/**
+ * Checks that <code>ProviderRegistrationIndex</code> selects providers by the precedence rules of
+ * <code>AuthConfigFactory.getConfigProvider</code>: (layer, appContext), (all layers, appContext), (layer, all
+ * appContexts) and finally (all layers, all appContexts), where a selected registration with a null provider yields null
+ * rather than falling back to a wider one.
+ *
+ * A fixed table lists registrations and the provider each lookup must select. In addition, every combination of the
+ * exact, layer-wildcard, appContext-wildcard and both-wildcard registrations (each absent, with a provider or with a null
+ * provider) is compared with a direct evaluation of the precedence rules, both after registering and after removing each
+ * registration again.
+ *
+ * Run with <code>java com.sun.ts.tests.jaspic.tssv.config.ProviderRegistrationIndexCheck</code>; the exit status is 1
+ * if any selection differs.
+ */
+public class ProviderRegistrationIndexCheck {
+
+    private static final String NO_PROVIDER = "-";
+
+    /**
+     * Rows of { registrations, lookups }. A registration is { layer, appContext, provider }, with null or "null" as the
+     * wildcard and NO_PROVIDER for a null provider. A lookup is { layer, appContext, expected provider or null }.
+     */
+    private static final String[][][][] TABLE = {
+            // Exact only
+            { { { "HttpServlet", "server /a", "exact" } },
+              { { "HttpServlet", "server /a", "exact" }, { "SOAP", "server /a", null }, { "HttpServlet", "server /b", null } } },
+            // Layer wildcard
+            { { { null, "server /a", "allLayers" } },
+              { { "HttpServlet", "server /a", "allLayers" }, { "SOAP", "server /a", "allLayers" }, { "HttpServlet", "server /b", null } } },
+            // AppContext wildcard, registered with the historical "null" string
+            { { { "HttpServlet", "null", "allAppContexts" } },
+              { { "HttpServlet", "server /a", "allAppContexts" }, { "HttpServlet", "server /b", "allAppContexts" }, { "SOAP", "server /a", null } } },
+            // Both wildcards
+            { { { "null", "null", "all" } },
+              { { "HttpServlet", "server /a", "all" }, { "SOAP", "server /b", "all" } } },
+            // Layer wildcard takes precedence over appContext wildcard
+            { { { "HttpServlet", null, "allAppContexts" }, { null, "server /a", "allLayers" } },
+              { { "HttpServlet", "server /a", "allLayers" }, { "HttpServlet", "server /b", "allAppContexts" }, { "SOAP", "server /b", null } } },
+            // All four
+            { { { null, null, "all" }, { "HttpServlet", null, "allAppContexts" }, { null, "server /a", "allLayers" }, { "HttpServlet", "server /a", "exact" } },
+              { { "HttpServlet", "server /a", "exact" }, { "SOAP", "server /a", "allLayers" }, { "HttpServlet", "server /b", "allAppContexts" },
+                { "SOAP", "server /b", "all" } } },
+            // A null provider hides every wider registration
+            { { { null, null, "all" }, { "HttpServlet", "server /a", NO_PROVIDER } },
+              { { "HttpServlet", "server /a", null }, { "SOAP", "server /a", "all" } } },
+            { { { null, null, "all" }, { "HttpServlet", null, "allAppContexts" }, { null, "server /a", NO_PROVIDER } },
+              { { "HttpServlet", "server /a", null }, { "SOAP", "server /a", null }, { "HttpServlet", "server /b", "allAppContexts" } } },
+            { { { null, null, "all" }, { "HttpServlet", null, NO_PROVIDER } },
+              { { "HttpServlet", "server /a", null }, { "SOAP", "server /a", "all" } } },
+            { { { null, null, NO_PROVIDER }, { "HttpServlet", "server /a", "exact" } },
+              { { "HttpServlet", "server /a", "exact" }, { "SOAP", "server /a", null } } } };
+
+    private static final String[] LAYERS = { "HttpServlet", "SOAP", "Other" };
+
+    private static final String[] APP_CONTEXTS = { "server /a", "server /b", "server /c" };
+
+    private static final Map<String, AuthConfigProvider> providers = new LinkedHashMap<>();
+
+    private static int failures;
+
+    public static void main(String[] args) {
+        for (String[][][] row : TABLE) {
+            checkRow(row[0], row[1]);
+        }
+
+        checkCombinations();
+
+        if (failures > 0) {
+            System.err.println(failures + " selections differ from the getConfigProvider precedence");
+            System.exit(1);
+        }
+    }
+
+    private static void checkRow(String[][] registrations, String[][] lookups) {
+        ProviderRegistrationIndex index = new ProviderRegistrationIndex();
+        for (String[] registration : registrations) {
+            index.put(registration[0], registration[1], provider(registration[2]), null);
+        }
+
+        for (String[] lookup : lookups) {
+            check(Arrays.deepToString(registrations), index, lookup[0], lookup[1], provider(lookup[2]));
+        }
+    }
+
+    /**
+     * Registers every combination of the four registration kinds for (HttpServlet, server /a), plus an unrelated exact
+     * registration for (SOAP, server /b), and compares all lookups with the precedence rules. Then removes the
+     * registrations one at a time and compares again.
+     */
+    private static void checkCombinations() {
+        String[][] kinds = { { "HttpServlet", "server /a" }, { null, "server /a" }, { "HttpServlet", null }, { null, null } };
+
+        int combinations = (int) Math.pow(3, kinds.length);
+        for (int combination = 0; combination < combinations; combination++) {
+            ProviderRegistrationIndex index = new ProviderRegistrationIndex();
+            Map<String, String[]> registered = new LinkedHashMap<>();
+
+            register(index, registered, "SOAP", "server /b", "unrelated");
+
+            int state = combination;
+            for (int kind = 0; kind < kinds.length; kind++, state /= 3) {
+                if (state % 3 != 0) {
+                    register(index, registered, kinds[kind][0], kinds[kind][1], state % 3 == 1 ? "provider" + kind : NO_PROVIDER);
+                }
+            }
+
+            checkAll(index, registered);
+
+            for (String registrationID : registered.keySet().toArray(new String[0])) {
+                index.remove(registrationID);
+                registered.remove(registrationID);
+                checkAll(index, registered);
+            }
+        }
+    }
+
+    private static void register(ProviderRegistrationIndex index, Map<String, String[]> registered, String layer, String appContext, String provider) {
+        registered.put(index.put(layer, appContext, provider(provider), null), new String[] { layer, appContext, provider });
+    }
+
+    private static void checkAll(ProviderRegistrationIndex index, Map<String, String[]> registered) {
+        for (String layer : LAYERS) {
+            for (String appContext : APP_CONTEXTS) {
+                check(registered.values().stream().map(Arrays::toString).reduce("", String::concat), index, layer, appContext,
+                        select(registered, layer, appContext));
+            }
+        }
+    }
+
+    /**
+     * Evaluates the precedence rules directly on the registrations.
+     */
+    private static AuthConfigProvider select(Map<String, String[]> registered, String layer, String appContext) {
+        String[][] candidates = { { layer, appContext }, { null, appContext }, { layer, null }, { null, null } };
+        for (String[] candidate : candidates) {
+            for (String[] registration : registered.values()) {
+                if (equal(candidate[0], registration[0]) && equal(candidate[1], registration[1])) {
+                    return provider(registration[2]);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private static void check(String registrations, ProviderRegistrationIndex index, String layer, String appContext, AuthConfigProvider expected) {
+        AuthConfigProvider actual = index.getProvider(layer, appContext);
+        if (actual != expected) {
+            failures++;
+            System.err.println("Registrations " + registrations + ", lookup (" + layer + ", " + appContext + "): expected " + expected
+                    + " but selected " + actual);
+        }
+    }
+
+    private static boolean equal(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static AuthConfigProvider provider(String name) {
+        if (name == null || NO_PROVIDER.equals(name)) {
+            return null;
+        }
+
+        return providers.computeIfAbsent(name, NamedProvider::new);
+    }
+
+    private static class NamedProvider implements AuthConfigProvider {
+
+        private final String name;
+
+        private NamedProvider(String name) {
+            this.name = name;
+        }
+
+        public ClientAuthConfig getClientAuthConfig(String layer, String appContext, CallbackHandler handler) {
+            return null;
+        }
+
+        public ServerAuthConfig getServerAuthConfig(String layer, String appContext, CallbackHandler handler) {
+            return null;
+        }
+
+        public void refresh() {
+        }
+
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ts.tests.jaspic.tssv.config;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import javax.security.auth.callback.CallbackHandler;
+
+import com.sun.ts.tests.jaspic.tssv.util.JASPICData;
+
+import jakarta.security.auth.message.AuthException;
+import jakarta.security.auth.message.MessagePolicy;
+import jakarta.security.auth.message.module.ServerAuthModule;
+
+/**
+ * Resolves and hands out the ServerAuthModule used by a TSServerAuthContext.
+ *
+ * The module for a (layer, appContext, operation) triple is selected by walking an ordered rule list once; the
+ * selected rule is cached for the triple. Modules that keep all their state in static fields are shared per (rule,
+ * policies, handler, options); a shared module is initialized when it is created, and again only when its class was
+ * last initialized for a different key, so the static state of the TS modules always reflects the most recently
+ * created context, exactly as when every context created its own module. The other modules keep the state of their
+ * context in instance fields, so each context gets a new, initialized one.
+ *
+ * Acquiring a module takes no lock.
+ */
+final class ServerAuthModuleRegistry {
+
+    private static final int MAX_RESOLVED = 1024;
+
+    private static final int MAX_KEYS = 64;
+
+    private static final String SOAP_UP_TOKEN_APP_CONTEXT = "HelloService HelloPort";
+
+    private static final String SERVLET_UP_TOKEN_APP_CONTEXT = "spitests_servlet_web";
+
+    /*
+     * Evaluated in order, the first match wins. This mirrors the selection the TSServerAuthContext constructor used to
+     * do with a chain of indexOf/contains tests.
+     */
+    private static final Rule[] RULES = {
+            Rule.appContextEquals(JASPICData.LAYER_SOAP, SOAP_UP_TOKEN_APP_CONTEXT, PolicyShape.BOTH, true,
+                    com.sun.ts.tests.jaspic.tssv.module.soap.TSServerAuthModule::new),
+            Rule.appContextContains(JASPICData.LAYER_SOAP, "SendSuccessHello", null, PolicyShape.NONE, true,
+                    com.sun.ts.tests.jaspic.tssv.module.soap.TSSendSuccessServerAuthModule::new),
+            Rule.appContextContains(JASPICData.LAYER_SOAP, "SendFailureHello", null, PolicyShape.NONE, true,
+                    com.sun.ts.tests.jaspic.tssv.module.soap.TSSendFailureServerAuthModule::new),
+            Rule.appContextContains(JASPICData.LAYER_SOAP, "FailureHello", null, PolicyShape.NONE, true,
+                    com.sun.ts.tests.jaspic.tssv.module.soap.TSFailureServerAuthModule::new),
+            Rule.appContextContains(JASPICData.LAYER_SOAP, "AuthExceptionHello", null, PolicyShape.NONE, true,
+                    com.sun.ts.tests.jaspic.tssv.module.soap.TSAuthExceptionServerAuthModule::new),
+            Rule.appContextContains(JASPICData.LAYER_SOAP, null, null, PolicyShape.NONE, true,
+                    com.sun.ts.tests.jaspic.tssv.module.soap.TSServerAuthModule::new),
+            Rule.appContextContains(JASPICData.LAYER_SERVLET, SERVLET_UP_TOKEN_APP_CONTEXT, "WrapperServlet", PolicyShape.BOTH, false,
+                    com.sun.ts.tests.jaspic.tssv.module.servlet.TSServletWrapperSAM::new),
+            Rule.appContextContains(JASPICData.LAYER_SERVLET, SERVLET_UP_TOKEN_APP_CONTEXT, null, PolicyShape.BOTH, false,
+                    com.sun.ts.tests.jaspic.tssv.module.servlet.TSServerAuthModule::new),
+            Rule.appContextContains(JASPICData.LAYER_SERVLET, null, null, PolicyShape.REQUEST, false,
+                    com.sun.ts.tests.jaspic.tssv.module.servlet.TSServerAuthModule::new) };
+
+    /** Marks a triple for which no rule matches. */
+    private static final Rule NO_RULE = new Rule(null, null, null, null, PolicyShape.NONE, true, null);
+
+    private final ConcurrentHashMap<Triple, Rule> resolved = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<ModuleKey, ServerAuthModule> shared = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Class<?>, ModuleKey> lastInitialized = new ConcurrentHashMap<>();
+
+    /**
+     * Returns an initialized module for the given triple, or null if no module is configured for the layer.
+     *
+     * @param requestPolicy the request policy, passed to modules that take one
+     * @param responsePolicy the response policy, passed to modules that take one
+     */
+    ServerAuthModule acquire(String layer, String appContext, String operation, MessagePolicy requestPolicy,
+            MessagePolicy responsePolicy, CallbackHandler handler, Map options) throws AuthException {
+        Rule rule = resolve(layer, appContext, operation);
+        if (rule == NO_RULE) {
+            return null;
+        }
+
+        MessagePolicy request = rule.shape == PolicyShape.NONE ? null : requestPolicy;
+        MessagePolicy response = rule.shape == PolicyShape.BOTH ? responsePolicy : null;
+        ModuleKey key = new ModuleKey(rule, request, response, handler, options);
+
+        ServerAuthModule sam = rule.shared ? shared.get(key) : null;
+        boolean created = sam == null;
+        if (created) {
+            sam = rule.factory.get();
+            if (rule.shared) {
+                if (shared.size() >= MAX_KEYS) {
+                    // keys hold on to the handler and options of their config; drop them all once configs churn
+                    shared.clear();
+                }
+                // another context may have created the shared module meanwhile
+                ServerAuthModule existing = shared.putIfAbsent(key, sam);
+                if (existing != null) {
+                    sam = existing;
+                    created = false;
+                }
+            }
+        }
+        if (created || !key.equals(lastInitialized.get(sam.getClass()))) {
+            sam.initialize(request, response, handler, options);
+            lastInitialized.put(sam.getClass(), key);
+        }
+
+        return sam;
+    }
+
+    Rule resolve(String layer, String appContext, String operation) {
+        Triple triple = new Triple(layer, appContext, operation);
+        Rule rule = resolved.get(triple);
+        if (rule == null) {
+            rule = NO_RULE;
+            for (Rule candidate : RULES) {
+                if (candidate.matches(layer, appContext, operation)) {
+                    rule = candidate;
+                    break;
+                }
+            }
+            if (resolved.size() >= MAX_RESOLVED) {
+                resolved.clear();
+            }
+            resolved.put(triple, rule);
+        }
+
+        return rule;
+    }
+
+    /**
+     * The policies a module is initialized with.
+     */
+    enum PolicyShape {
+        BOTH, REQUEST, NONE
+    }
+
+    static final class Rule {
+
+        private final String layer;
+        private final String appContextEquals;
+        private final String appContextContains;
+        private final String operationContains;
+        private final PolicyShape shape;
+        private final boolean shared;
+        private final Supplier<ServerAuthModule> factory;
+
+        private Rule(String layer, String appContextEquals, String appContextContains, String operationContains,
+                PolicyShape shape, boolean shared, Supplier<ServerAuthModule> factory) {
+            this.layer = layer;
+            this.appContextEquals = appContextEquals;
+            this.appContextContains = appContextContains;
+            this.operationContains = operationContains;
+            this.shape = shape;
+            this.shared = shared;
+            this.factory = factory;
+        }
+
+        static Rule appContextEquals(String layer, String appContext, PolicyShape shape, boolean shared,
+                Supplier<ServerAuthModule> factory) {
+            return new Rule(layer, appContext, null, null, shape, shared, factory);
+        }
+
+        static Rule appContextContains(String layer, String appContext, String operation, PolicyShape shape,
+                boolean shared, Supplier<ServerAuthModule> factory) {
+            return new Rule(layer, null, appContext, operation, shape, shared, factory);
+        }
+
+        boolean matches(String layer, String appContext, String operation) {
+            if (!this.layer.equals(layer)) {
+                return false;
+            }
+            if (appContextEquals != null && !appContextEquals.equals(appContext)) {
+                return false;
+            }
+            if (appContextContains != null && (appContext == null || !appContext.contains(appContextContains))) {
+                return false;
+            }
+            if (operationContains != null && (operation == null || !operation.contains(operationContains))) {
+                return false;
+            }
+
+            return true;
+        }
+
+        PolicyShape getPolicyShape() {
+            return shape;
+        }
+
+        boolean isShared() {
+            return shared;
+        }
+    }
+
+    private static final class Triple {
+
+        private final String layer;
+        private final String appContext;
+        private final String operation;
+
+        Triple(String layer, String appContext, String operation) {
+            this.layer = layer;
+            this.appContext = appContext;
+            this.operation = operation;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Triple)) {
+                return false;
+            }
+            Triple other = (Triple) obj;
+
+            return Objects.equals(layer, other.layer) && Objects.equals(appContext, other.appContext)
+                    && Objects.equals(operation, other.operation);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(layer, appContext, operation);
+        }
+    }
+
+    /*
+     * Handler and options are compared by identity: they are the objects of the TSServerAuthConfig the context is
+     * created for, and the options map is updated in place.
+     */
+    private static final class ModuleKey {
+
+        private final Rule rule;
+        private final MessagePolicy requestPolicy;
+        private final MessagePolicy responsePolicy;
+        private final CallbackHandler handler;
+        private final Map options;
+
+        ModuleKey(Rule rule, MessagePolicy requestPolicy, MessagePolicy responsePolicy, CallbackHandler handler, Map options) {
+            this.rule = rule;
+            this.requestPolicy = requestPolicy;
+            this.responsePolicy = responsePolicy;
+            this.handler = handler;
+            this.options = options;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof ModuleKey)) {
+                return false;
+            }
+            ModuleKey other = (ModuleKey) obj;
+
+            return rule == other.rule && requestPolicy == other.requestPolicy && responsePolicy == other.responsePolicy
+                    && handler == other.handler && options == other.options;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = System.identityHashCode(rule);
+            hash = 31 * hash + System.identityHashCode(requestPolicy);
+            hash = 31 * hash + System.identityHashCode(responsePolicy);
+            hash = 31 * hash + System.identityHashCode(handler);
+            return 31 * hash + System.identityHashCode(options);
+        }
+    }
+}
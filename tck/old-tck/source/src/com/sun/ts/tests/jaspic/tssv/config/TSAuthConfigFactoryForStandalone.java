@@ -23,8 +23,6 @@ import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Properties;
-import java.util.Set;
-import java.util.Vector;
 import java.util.logging.Level;
 
 import com.sun.ts.tests.jaspic.tssv.util.JASPICData;
@@ -55,11 +53,15 @@ import jakarta.security.auth.message.module.ServerAuthModule;
 public class TSAuthConfigFactoryForStandalone extends jakarta.security.auth.message.config.AuthConfigFactory {
 
     private static TSLogger logger = null;
-    private static Map authConfigProviderMap = new Hashtable();
+    private static ProviderRegistrationIndex registrationIndex = new ProviderRegistrationIndex();
     private static Map registrationListenerMap = new Hashtable();
-    private static Map registrationContextMap = new Hashtable();
     private static ProviderConfigurationXMLFileProcessor configFileProcessor = null;
 
+    static {
+        // cached client contexts may no longer match the changed registrations
+        registrationIndex.addRegistrationListener(ClientAuthContextCache.getInstance());
+    }
+
     public TSAuthConfigFactoryForStandalone() {
         initializeTSLogger();
         logger.log(Level.INFO, "Initialized TSLogger");
@@ -186,8 +188,10 @@ public class TSAuthConfigFactoryForStandalone extends jakarta.security.auth.mess
         // AuthConfigFactory.getFactory()
         logger.log(Level.INFO, "getConfigProvider called for Layer : " + layer + " and AppContext :" + appContext);
 
-        if (authConfigProviderMap != null) {
-            localACP = (AuthConfigProvider) authConfigProviderMap.get(layer + appContext);
+        if (registrationIndex != null) {
+            // resolves all four precedence levels, including the provider registered
+            // for all layers of this appContext
+            localACP = registrationIndex.getProvider(layer, appContext);
 
             // register the listener for AuthConfigProvider
             if ((listener != null) && (localACP != null)) {
@@ -217,7 +221,7 @@ public class TSAuthConfigFactoryForStandalone extends jakarta.security.auth.mess
      * registration
      */
     public RegistrationContext getRegistrationContext(String registrationID) {
-        return (RegistrationContext) registrationContextMap.get(registrationID);
+        return registrationIndex.getRegistrationContext(registrationID);
     }
 
     /**
@@ -231,42 +235,7 @@ public class TSAuthConfigFactoryForStandalone extends jakarta.security.auth.mess
      * provider.
      */
     public String[] getRegistrationIDs(AuthConfigProvider provider) {
-
-        Vector keyMatchVector = new Vector();
-
-        if (provider != null) {
-            Set entries = authConfigProviderMap.entrySet();
-            Iterator iterator = entries.iterator();
-            while (iterator.hasNext()) {
-                Map.Entry entry = (Map.Entry) iterator.next();
-                // Add all the matching keys to keyMatchVector
-                if (entry.getValue().equals(provider)) {
-                    keyMatchVector.add(entry.getKey());
-                }
-            }
-        } else {
-            // if provider=null then return all keys from authConfigProviderMap
-            Set authConfigProviderMapKeySet = authConfigProviderMap.keySet();
-
-            Iterator iterator = authConfigProviderMapKeySet.iterator();
-            while (iterator.hasNext()) {
-                // Add all keys to keyMatchVector
-                keyMatchVector.add(iterator.next());
-            }
-        }
-
-        // create the result string array using keyMatchVector
-        String result[] = new String[keyMatchVector.size()];
-        int index = 0;
-
-        Iterator keyMatchVectorIterator = keyMatchVector.iterator();
-
-        while (keyMatchVectorIterator.hasNext()) {
-            // populate result string array with the contents of keyMatchVector
-            result[index++] = (String) keyMatchVectorIterator.next();
-        }
-
-        return result;
+        return registrationIndex.getRegistrationIDs(provider);
     }
 
     /**
@@ -308,8 +277,7 @@ public class TSAuthConfigFactoryForStandalone extends jakarta.security.auth.mess
         // get the corresponding ConfigProvider for registrationID
         // and lookup any listeners associated with that provider, if so
         // invoke notify method on them
-        registrationContextMap.remove(registrationID);
-        return (authConfigProviderMap.remove(registrationID) != null);
+        return registrationIndex.remove(registrationID);
     }
 
     /**
@@ -380,19 +348,18 @@ public class TSAuthConfigFactoryForStandalone extends jakarta.security.auth.mess
 
             RegistrationContext previousRC = null;
             AuthConfigProvider previousACP = null;
-            previousACP = (AuthConfigProvider) authConfigProviderMap.get(layer + appContext);
-            previousRC = (RegistrationContext) registrationContextMap.get(layer + appContext);
+            String registrationID = ProviderRegistrationIndex.getRegistrationID(layer, appContext);
+            previousACP = registrationIndex.getRegisteredProvider(registrationID);
+            previousRC = registrationIndex.getRegistrationContext(registrationID);
 
             if (previousACP == null) {
-                authConfigProviderMap.put(layer + appContext, acp);
-                registrationContextMap.put(layer + appContext, new RegistrationContextImpl(layer, appContext, description, true));
+                registrationIndex.put(layer, appContext, acp, new RegistrationContextImpl(layer, appContext, description, true));
 
                 // Add new provider to the persistent store(ProviderConfiguration.xml)
                 ProviderConfigurationXMLFileProcessor.addProviderConfigEntry(className, properties, layer, appContext, description);
 
             } else if ((previousACP != null) && (previousRC.isPersistent() == false)) {
-                authConfigProviderMap.put(layer + appContext, acp);
-                registrationContextMap.put(layer + appContext, new RegistrationContextImpl(layer, appContext, description, true));
+                registrationIndex.put(layer, appContext, acp, new RegistrationContextImpl(layer, appContext, description, true));
 
                 // Add new provider to the persistent store(ProviderConfiguration.xml)
                 ProviderConfigurationXMLFileProcessor.addProviderConfigEntry(className, properties, layer, appContext, description);
@@ -458,16 +425,16 @@ public class TSAuthConfigFactoryForStandalone extends jakarta.security.auth.mess
         try {
             RegistrationContext previousRC = null;
             AuthConfigProvider previousACP = null;
-            previousACP = (AuthConfigProvider) authConfigProviderMap.get(layer + appContext);
-            previousRC = (RegistrationContext) registrationContextMap.get(layer + appContext);
+            String registrationID = ProviderRegistrationIndex.getRegistrationID(layer, appContext);
+            previousACP = registrationIndex.getRegisteredProvider(registrationID);
+            previousRC = registrationIndex.getRegistrationContext(registrationID);
 
             if (previousACP == null) {
-                authConfigProviderMap.put(layer + appContext, provider);
-                registrationContextMap.put(layer + appContext, new RegistrationContextImpl(layer, appContext, description, false));
+                registrationIndex.put(layer, appContext, provider, new RegistrationContextImpl(layer, appContext, description, false));
 
             } else if ((previousACP != null) && (previousRC.isPersistent() == true)) {
                 // update registration context
-                registrationContextMap.put(layer + appContext, new RegistrationContextImpl(layer, appContext, description, false));
+                registrationIndex.put(layer, appContext, previousACP, new RegistrationContextImpl(layer, appContext, description, false));
 
                 if (provider != null) {
                     providerClassName = provider.getClass().getName();
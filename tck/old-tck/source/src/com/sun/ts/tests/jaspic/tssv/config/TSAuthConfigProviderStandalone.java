@@ -22,6 +22,7 @@ import java.util.logging.Level;
 
 import javax.security.auth.callback.CallbackHandler;
 
+import com.sun.ts.tests.jaspic.tssv.util.CommonCallbackSupport;
 import com.sun.ts.tests.jaspic.tssv.util.JASPICData;
 import com.sun.ts.tests.jaspic.tssv.util.TSFileHandler;
 import com.sun.ts.tests.jaspic.tssv.util.TSLogger;
@@ -217,6 +218,8 @@ public class TSAuthConfigProviderStandalone implements jakarta.security.auth.mes
      * @exception SecurityException if the caller does not have permission to refresh the provider.
      */
     public void refresh() {
+        // handlers may now support different callbacks
+        CommonCallbackSupport.clearProbeResults();
     }
 
     private static void initializeTSLogger() {
@@ -52,6 +52,9 @@ public class TSClientAuthConfig implements jakarta.security.auth.message.config.
 
     private Map properties = null;
 
+    // Contexts are reused across calls; see ClientAuthContextCache
+    private static final ClientAuthContextCache contextCache = ClientAuthContextCache.getInstance();
+
     /**
      * Creates a new instance of ClientAuthConfigImpl
      */
@@ -163,7 +166,7 @@ public class TSClientAuthConfig implements jakarta.security.auth.message.config.
      * @exception SecurityException if the caller does not have permission to refresh the configuration object.
      */
     public void refresh() {
-
+        contextCache.notify(messageLayer, appContext);
     }
 
     /**
@@ -235,8 +238,14 @@ public class TSClientAuthConfig implements jakarta.security.auth.message.config.
             logger.log(Level.INFO, "TSClientAuthConfig.getAuthContext:  layer=" + messageLayer + " : appContext=" + appContext
                     + " operationId=" + operation);
 
-            ClientAuthContext clientAuthContext = new TSClientAuthContext(messageLayer, appContext, callbackHandler, operation,
-                    clientSubject, this.properties, logger);
+            TSClientAuthContext clientAuthContext = contextCache.get(messageLayer, appContext, operation, clientSubject);
+            if (clientAuthContext == null) {
+                clientAuthContext = new TSClientAuthContext(messageLayer, appContext, callbackHandler, operation, clientSubject,
+                        this.properties, logger);
+                contextCache.put(messageLayer, appContext, operation, clientSubject, clientAuthContext);
+            } else {
+                clientAuthContext.reuse(callbackHandler, this.properties, logger);
+            }
 
             logStr = "TSClientAuthConfig.getAuthContext: returned non-null" + " ClientAuthContext for operationId=" + operation;
             logger.log(Level.INFO, logStr);
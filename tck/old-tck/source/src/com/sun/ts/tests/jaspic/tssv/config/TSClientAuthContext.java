@@ -17,6 +17,7 @@
 package com.sun.ts.tests.jaspic.tssv.config;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 import javax.security.auth.Subject;
@@ -36,7 +37,6 @@ import jakarta.security.auth.message.module.ClientAuthModule;
  */
 public class TSClientAuthContext implements jakarta.security.auth.message.config.ClientAuthContext {
 
-    private static ClientAuthModule clientAuthModule = null;
     private static TSLogger logger = null;
     private static String messageLayer = null;
     private static String appContext = null;
@@ -45,6 +45,13 @@ public class TSClientAuthContext implements jakarta.security.auth.message.config
     private static Subject clientSubject = null;
     private static Map properties = null;
 
+    // The TS client modules keep their state in static fields; this is the context whose module last initialized it
+    private static final Map<Class<?>, TSClientAuthContext> lastInitialized = new ConcurrentHashMap<>();
+
+    private ClientAuthModule clientAuthModule = null;
+    private CallbackHandler initializedHandler = null;
+    private Map initializedProperties = null;
+
     public TSClientAuthContext() {
 
     }
@@ -87,7 +94,35 @@ public class TSClientAuthContext implements jakarta.security.auth.message.config
         }
 
         clientAuthModule = cam;
+        initialized(handler, properties);
+
+    }
+
+    /**
+     * Prepares a cached context for another call of TSClientAuthConfig.getAuthContext. The module is initialized again
+     * when it was last initialized with a different handler or properties, or when another module of its class has been
+     * initialized since, so that the static state of the module is the same as if the context had just been created.
+     */
+    void reuse(CallbackHandler handler, Map properties, TSLogger tsLogger) throws AuthException {
+        logger = tsLogger;
+        properties.put("TSLogger", logger);
 
+        if (clientAuthModule == null) {
+            return;
+        }
+        if (initializedHandler != handler || initializedProperties != properties
+                || lastInitialized.get(clientAuthModule.getClass()) != this) {
+            clientAuthModule.initialize(null, null, handler, properties);
+            initialized(handler, properties);
+        }
+    }
+
+    private void initialized(CallbackHandler handler, Map properties) {
+        initializedHandler = handler;
+        initializedProperties = properties;
+        if (clientAuthModule != null) {
+            lastInitialized.put(clientAuthModule.getClass(), this);
+        }
     }
 
     private TSClientAuthContext(String layer, String appContxt, CallbackHandler hndler, String operatn, Subject cliSubject, Map props) throws AuthException {
@@ -112,7 +112,7 @@ public class TSServerAuthConfig implements jakarta.security.auth.message.config.
 
         if (messageLayer.equals(JASPICData.LAYER_SERVLET)) {
             HttpServletRequest request = (HttpServletRequest) messageInfo.getRequestMessage();
-            rval = request.getServletPath() + " " + request.getMethod();
+            rval = AuthContextIDTrie.forAppContext(appContext).getAuthContextID(request.getServletPath(), request.getMethod());
 
             dumpServletProfileKeys(messageInfo, "getAuthContextID", JASPICData.LAYER_SERVLET);
         } else {
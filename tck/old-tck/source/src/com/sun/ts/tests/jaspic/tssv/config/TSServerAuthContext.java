@@ -44,7 +44,7 @@ import jakarta.servlet.http.HttpServletResponseWrapper;
  */
 public class TSServerAuthContext implements jakarta.security.auth.message.config.ServerAuthContext {
 
-    private static ServerAuthModule serverAuthModule = null;
+    private ServerAuthModule serverAuthModule = null;
     private static String messageLayer = null;
     private static String appContext = null;
     private static CallbackHandler handler = null;
@@ -52,12 +52,13 @@ public class TSServerAuthContext implements jakarta.security.auth.message.config
     private static Subject clientSubject = null;
     private static Map properties = null;
     private static TSLogger logger = null;
-    private static String soapUPTokenAppContext = "HelloService HelloPort";
-    private static String servletUPTokenAppContext = "spitests_servlet_web";
     private static MessageInfo messageInfoFromVerifyReq = null;
 
     private static boolean isMandatory = false;
 
+    // Modules are resolved, and shared where possible, by the registry; see ServerAuthModuleRegistry
+    private static final ServerAuthModuleRegistry moduleRegistry = new ServerAuthModuleRegistry();
+
     /** Creates a new instance of ServerAuthContext */
     public TSServerAuthContext() {
     }
@@ -77,73 +78,15 @@ public class TSServerAuthContext implements jakarta.security.auth.message.config
 
         isMandatory = isAuthMandatory;
 
-        // Create a TargetPolicy for AUTHENTICATE_SENDER
-        MessagePolicy.TargetPolicy msgTargetPolicy =
-
-                new MessagePolicy.TargetPolicy(null, new MessagePolicy.ProtectionPolicy() {
-                    public String getID() {
-                        return MessagePolicy.ProtectionPolicy.AUTHENTICATE_SENDER;
-                    }
-                });
-        MessagePolicy.TargetPolicy[] msgTargetPolicies = { msgTargetPolicy };
-        MessagePolicy requestMessagePolicy = new MessagePolicy(msgTargetPolicies, isMandatory);
-
-        // Create a TargetPolicy for AUTHENTICATE_CONTENT
-        MessagePolicy.TargetPolicy msgTargetPolicyContent =
-
-                new MessagePolicy.TargetPolicy(null, new MessagePolicy.ProtectionPolicy() {
-                    public String getID() {
-                        return MessagePolicy.ProtectionPolicy.AUTHENTICATE_CONTENT;
-                    }
-                });
-        MessagePolicy.TargetPolicy[] msgTargetPoliciesContent = { msgTargetPolicyContent };
-        MessagePolicy responseMessagePolicy = new MessagePolicy(msgTargetPoliciesContent, isMandatory);
+        // MessagePolicy.of returns the same instances on every call, so the registry can share modules by policy
+        MessagePolicy requestMessagePolicy = MessagePolicy.of(isMandatory, MessagePolicy.ProtectionPolicy.AUTHENTICATE_SENDER);
+        MessagePolicy responseMessagePolicy = MessagePolicy.of(isMandatory, MessagePolicy.ProtectionPolicy.AUTHENTICATE_CONTENT);
 
         // Note: We could also choose auth modules based on appContext but
         // MessageLayer seems to be the ideal candidate for choosing
         // auth modules.
-        if (messageLayer.equals(JASPICData.LAYER_SOAP)) {
-            sam = new com.sun.ts.tests.jaspic.tssv.module.soap.TSServerAuthModule();
-
-            if (appContext.equals(soapUPTokenAppContext)) {
-
-                sam.initialize(requestMessagePolicy, responseMessagePolicy, handler, properties);
-            } else if (appContext.indexOf("SendSuccessHello") > -1) {
-                sam = new com.sun.ts.tests.jaspic.tssv.module.soap.TSSendSuccessServerAuthModule();
-                sam.initialize(null, null, handler, properties);
-
-            } else if (appContext.indexOf("SendFailureHello") > -1) {
-                sam = new com.sun.ts.tests.jaspic.tssv.module.soap.TSSendFailureServerAuthModule();
-                sam.initialize(null, null, handler, properties);
-
-            } else if (appContext.indexOf("FailureHello") > -1) {
-                sam = new com.sun.ts.tests.jaspic.tssv.module.soap.TSFailureServerAuthModule();
-                sam.initialize(null, null, handler, properties);
-
-            } else if (appContext.indexOf("AuthExceptionHello") > -1) {
-                sam = new com.sun.ts.tests.jaspic.tssv.module.soap.TSAuthExceptionServerAuthModule();
-                sam.initialize(null, null, handler, properties);
-
-            } else {
-                sam = new com.sun.ts.tests.jaspic.tssv.module.soap.TSServerAuthModule();
-                sam.initialize(null, null, handler, properties);
-            }
-
-        } else if (messageLayer.equals(JASPICData.LAYER_SERVLET)) {
-            System.out.println("AppContext =" + appContext);
-
-            if (appContext.contains(servletUPTokenAppContext) && operation.contains("WrapperServlet")) {
-                sam = new com.sun.ts.tests.jaspic.tssv.module.servlet.TSServletWrapperSAM();
-                sam.initialize(requestMessagePolicy, responseMessagePolicy, handler, properties);
-
-            } else if (appContext.contains(servletUPTokenAppContext)) {
-                sam = new com.sun.ts.tests.jaspic.tssv.module.servlet.TSServerAuthModule();
-                sam.initialize(requestMessagePolicy, responseMessagePolicy, handler, properties);
-            } else {
-                sam = new com.sun.ts.tests.jaspic.tssv.module.servlet.TSServerAuthModule();
-                sam.initialize(requestMessagePolicy, null, handler, properties);
-            }
-        }
+        sam = moduleRegistry.acquire(messageLayer, appContext, operation, requestMessagePolicy, responseMessagePolicy, handler,
+                properties);
 
         serverAuthModule = sam;
     }
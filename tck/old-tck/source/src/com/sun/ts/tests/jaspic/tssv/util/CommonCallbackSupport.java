@@ -20,6 +20,11 @@ import java.io.IOException;
 import java.security.KeyStore;
 import java.security.PrivateKey;
 import java.security.cert.CertStore;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.logging.Level;
 
 import javax.crypto.SecretKey;
@@ -33,6 +38,11 @@ import jakarta.security.auth.message.callback.SecretKeyCallback;
 import jakarta.security.auth.message.callback.TrustStoreCallback;
 
 /**
+ * The callbacks are sent to a given CallbackHandler instance only once; the messages that probe logged are recorded, and
+ * later calls to verify() for the same handler log them again prefixed with {@link #CACHED_PROBE_RESULT}. The prefix
+ * keeps them apart from the messages of an actual probe, which the clients search the log for, so the log only claims
+ * that a handler supports a callback when it was probed. The recorded results are dropped by
+ * {@link #clearProbeResults()}, which the providers call from refresh().
  *
  * @author Raja Perumal
  */
@@ -42,6 +52,16 @@ public class CommonCallbackSupport {
     private static String profile = null;
     private static String runtimeType = null;
 
+    /**
+     * Prefix of the messages logged by verify() for a handler that was probed before, instead of probing it again.
+     */
+    public static final String CACHED_PROBE_RESULT = "Cached probe result, not probed again: ";
+
+    private static final Map<CallbackHandler, ProbeResult> probeResults = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // messages logged while probing, recorded to be logged as cached probe results
+    private List<String> probeMessages = null;
+
     public CommonCallbackSupport(TSLogger tsLogger, CallbackHandler cbkHandler, String profile, String runtimeType) {
         logger = tsLogger;
         callbackHandler = cbkHandler;
@@ -50,6 +70,38 @@ public class CommonCallbackSupport {
     }
 
     public boolean verify() {
+        CallbackHandler handler = callbackHandler;
+        if (handler == null) {
+            return true;
+        }
+
+        ProbeResult result = probeResults.get(handler);
+        if (result != null) {
+            for (String msg : result.messages) {
+                logMsg(CACHED_PROBE_RESULT + msg);
+            }
+            return result.verified;
+        }
+
+        probeMessages = new ArrayList<>();
+        try {
+            result = new ProbeResult(probeMessages, probe());
+        } finally {
+            probeMessages = null;
+        }
+        probeResults.put(handler, result);
+
+        return result.verified;
+    }
+
+    /**
+     * Forgets the recorded callback support of all handlers, so that the next verify() probes again.
+     */
+    public static void clearProbeResults() {
+        probeResults.clear();
+    }
+
+    private boolean probe() {
         try {
             CertStoreCallbackSupport();
             PrivateKeyCallbackSupport();
@@ -171,6 +223,9 @@ public class CommonCallbackSupport {
     }
 
     public void logMsg(String str) {
+        if (probeMessages != null) {
+            probeMessages.add(str);
+        }
         if (logger != null) {
             logger.log(Level.INFO, "In " + profile + " : " + runtimeType + " " + str);
         } else {
@@ -178,4 +233,14 @@ public class CommonCallbackSupport {
             System.out.println("*** TSSVLogMessage : ***" + str);
         }
     }
+
+    private static final class ProbeResult {
+        private final List<String> messages;
+        private final boolean verified;
+
+        ProbeResult(List<String> messages, boolean verified) {
+            this.messages = messages;
+            this.verified = verified;
+        }
+    }
 }
@@ -35,6 +35,10 @@ public class JASPICData {
     // know that status of an exchange between a client and server.
     public final static String DEFAULT_LOG_FILE = "TSSVLog.txt";
 
+    // binary form of the log file, written instead of DEFAULT_LOG_FILE
+    // when the system property tssv.log.format is set to "binary"
+    public final static String DEFAULT_BINARY_LOG_FILE = "TSSVLog.bin";
+
     public final static String MOD_CLASS_NAME = "moduleClassKey";
 
     public final static String SVC_SUBJECT_KEY = "com.sun.ts.tests.jaspic.serviceSubjectKey";
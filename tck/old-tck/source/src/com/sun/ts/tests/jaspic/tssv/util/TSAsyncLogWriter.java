@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ts.tests.jaspic.tssv.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.LogRecord;
+
+/**
+ * Single writer behind the asynchronous mode of <code>TSFileHandler</code>.
+ *
+ * There is one writer per log file, shared by all handlers that log to that file, so records keep the order in which
+ * they were handed over even when they come from different handlers. Request threads only append to a bounded
+ * lock-free queue; the writer thread formats the records with the formatter of the handler that published them
+ * (normally <code>TSXMLFormatter</code>) and writes them in batches. A batch is written and flushed when it reaches
+ * <code>batchSize</code> records, when <code>flushIntervalMillis</code> have passed since the last flush, or when a
+ * handler asks for a flush. Every batch is a single write of whole records, so a reader never sees a partially written
+ * record.
+ *
+ * When the queue is full, publishing threads wait for the writer instead of dropping records. When the last handler
+ * for a file is closed (or the VM shuts down) the writer drains the queue, flushes and closes the file, so
+ * <code>LogFileProcessor</code> sees every record that was published.
+ *
+ */
+final class TSAsyncLogWriter implements Runnable {
+
+    private static final Map<File, TSAsyncLogWriter> writers = new HashMap<>();
+
+    private final File file;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+
+    private final ConcurrentLinkedQueue<Entry> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong flushRequest = new AtomicLong();
+    private volatile long written;
+    private volatile boolean closing;
+    private boolean headWritten;
+
+    private final Thread writerThread;
+    private final Thread shutdownHook;
+
+    // Only touched while holding the writers lock
+    private int handlers;
+
+    private static final class Entry {
+        final TSFileHandler handler;
+        final LogRecord record;
+
+        Entry(TSFileHandler handler, LogRecord record) {
+            this.handler = handler;
+            this.record = record;
+        }
+    }
+
+    private TSAsyncLogWriter(File file, int capacity, int batchSize, long flushIntervalMillis) {
+        this.file = file;
+        this.capacity = Math.max(1, capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMillis));
+
+        writerThread = new Thread(this, "TSFileHandler-writer[" + file.getName() + "]");
+        writerThread.setDaemon(true);
+        shutdownHook = new Thread(this::shutdown, "TSFileHandler-shutdown[" + file.getName() + "]");
+    }
+
+    /**
+     * Returns the writer for the given file, starting it if this is the first handler for that file.
+     */
+    static TSAsyncLogWriter acquire(File file, int capacity, int batchSize, long flushIntervalMillis) {
+        File key = file.getAbsoluteFile();
+        synchronized (writers) {
+            TSAsyncLogWriter writer = writers.get(key);
+            if (writer == null) {
+                writer = new TSAsyncLogWriter(key, capacity, batchSize, flushIntervalMillis);
+                writer.writerThread.start();
+                Runtime.getRuntime().addShutdownHook(writer.shutdownHook);
+                writers.put(key, writer);
+            }
+            writer.handlers++;
+            return writer;
+        }
+    }
+
+    /**
+     * Releases a handler's hold on this writer. The last release drains the queue and closes the file.
+     */
+    void release() {
+        synchronized (writers) {
+            if (--handlers > 0) {
+                return;
+            }
+            writers.remove(file);
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // Already shutting down; the hook drains the queue
+                return;
+            }
+        }
+        shutdown();
+    }
+
+    /**
+     * Hands a record over to the writer thread, waiting for room if the queue is full.
+     */
+    void publish(TSFileHandler handler, LogRecord record) {
+        int size;
+        while (true) {
+            size = queued.get();
+            if (size >= capacity) {
+                LockSupport.unpark(writerThread);
+                if (closing || !writerThread.isAlive()) {
+                    // No one left to drain the queue; let it grow rather than lose the record
+                    break;
+                }
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+                continue;
+            }
+            if (queued.compareAndSet(size, size + 1)) {
+                break;
+            }
+        }
+
+        queue.offer(new Entry(handler, record));
+        published.incrementAndGet();
+        if (size + 1 == batchSize) {
+            // A full batch is waiting; wake the writer once rather than on every record
+            LockSupport.unpark(writerThread);
+        }
+        if (closing && !writerThread.isAlive()) {
+            // Published while the writer shut down; write it here rather than lose it
+            drain();
+        }
+    }
+
+    /**
+     * Waits until every record published before this call has been written and flushed to the file.
+     */
+    void flush() {
+        long target = published.get();
+        while (written < target && writerThread.isAlive()) {
+            flushRequest.accumulateAndGet(target, Math::max);
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+    }
+
+    private void shutdown() {
+        closing = true;
+        LockSupport.unpark(writerThread);
+        boolean interrupted = false;
+        while (writerThread.isAlive()) {
+            try {
+                writerThread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Records published while the writer thread was finishing its last batch
+        drain();
+    }
+
+    /**
+     * Writes the records left in the queue after the writer thread has exited.
+     */
+    private synchronized void drain() {
+        if (queue.isEmpty()) {
+            return;
+        }
+
+        ByteArrayOutputStream batch = new ByteArrayOutputStream(8192);
+        long count = written;
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            queued.decrementAndGet();
+            if (!headWritten) {
+                headWritten = true;
+                append(batch, entry.handler.getFormatter().getHead(entry.handler), entry.handler);
+            }
+            append(batch, format(entry), entry.handler);
+            count++;
+        }
+
+        try (OutputStream out = new FileOutputStream(file, true)) {
+            batch.writeTo(out);
+        } catch (IOException e) {
+            new ErrorManager().error("Cannot write to " + file, e, ErrorManager.WRITE_FAILURE);
+        }
+        written = count;
+    }
+
+    @Override
+    public void run() {
+        ByteArrayOutputStream batch = new ByteArrayOutputStream(8192);
+        long count = 0;
+        int batched = 0;
+        long lastFlush = System.nanoTime();
+
+        try (OutputStream out = new FileOutputStream(file, true)) {
+            while (true) {
+                boolean closing = this.closing;
+
+                Entry entry;
+                while (batched < batchSize && (entry = queue.poll()) != null) {
+                    queued.decrementAndGet();
+                    if (!headWritten) {
+                        headWritten = true;
+                        append(batch, entry.handler.getFormatter().getHead(entry.handler), entry.handler);
+                    }
+                    append(batch, format(entry), entry.handler);
+                    batched++;
+                    count++;
+                }
+
+                long now = System.nanoTime();
+                if (batched > 0 && (batched >= batchSize || now - lastFlush >= flushIntervalNanos
+                        || flushRequest.get() > written || closing)) {
+                    try {
+                        batch.writeTo(out);
+                        out.flush();
+                    } catch (IOException e) {
+                        new ErrorManager().error("Cannot write to " + file, e, ErrorManager.WRITE_FAILURE);
+                    }
+                    batch.reset();
+                    batched = 0;
+                    lastFlush = now;
+                    written = count;
+                }
+
+                if (batched == 0 && queue.isEmpty()) {
+                    if (closing) {
+                        break;
+                    }
+                    LockSupport.parkNanos(this, flushIntervalNanos);
+                } else if (batched > 0 && queue.isEmpty()) {
+                    LockSupport.parkNanos(this, Math.max(0, flushIntervalNanos - (now - lastFlush)));
+                }
+            }
+        } catch (IOException e) {
+            new ErrorManager().error("Cannot open " + file, e, ErrorManager.OPEN_FAILURE);
+        } finally {
+            written = count;
+        }
+    }
+
+    private static String format(Entry entry) {
+        try {
+            return entry.handler.getFormatter().format(entry.record);
+        } catch (Exception e) {
+            entry.handler.reportFormatError(e);
+            return "";
+        }
+    }
+
+    private static void append(ByteArrayOutputStream batch, String text, TSFileHandler handler) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        String encoding = handler.getEncoding();
+        byte[] bytes = encoding == null ? text.getBytes(Charset.defaultCharset()) : text.getBytes(Charset.forName(encoding));
+        batch.write(bytes, 0, bytes.length);
+    }
+}
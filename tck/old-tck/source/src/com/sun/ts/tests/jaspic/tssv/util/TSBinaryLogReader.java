@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ts.tests.jaspic.tssv.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Reads a TSSV log file in the binary format written by <code>TSBinaryLogWriter</code>.
+ *
+ * The file is memory-mapped and the queries scan the mapped records in place: sequence numbers and message prefixes or
+ * substrings are compared against the mapped bytes, and only the records that match are decoded into
+ * <code>Entry</code> objects. A truncated entry at the end of the file (one that is still being written) is ignored.
+ *
+ * The queries mirror those served by the FetchLogs servlet for the XML log. <code>main</code> converts a binary log to
+ * the XML form for reading.
+ */
+public class TSBinaryLogReader {
+
+    private static final byte[] APP_ID = "appId".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] LINK = "link".getBytes(StandardCharsets.UTF_8);
+
+    // Offsets within a RECORD entry, relative to the type byte
+    private static final int SEQUENCE = 1;
+    private static final int MILLIS = 9;
+    private static final int LEVEL = 17;
+    private static final int LOGGER = 21;
+    private static final int MESSAGE_LENGTH = 25;
+    private static final int MESSAGE = 29;
+
+    private final MappedByteBuffer buffer;
+    private String[] loggerNames = new String[8];
+    private int loggerNameCount;
+
+    /**
+     * A decoded log record.
+     */
+    public static final class Entry {
+        private final long sequenceNumber;
+        private final long milliSeconds;
+        private final int level;
+        private final String loggerName;
+        private final String message;
+
+        Entry(long sequenceNumber, long milliSeconds, int level, String loggerName, String message) {
+            this.sequenceNumber = sequenceNumber;
+            this.milliSeconds = milliSeconds;
+            this.level = level;
+            this.loggerName = loggerName;
+            this.message = message;
+        }
+
+        public long getSequenceNumber() {
+            return sequenceNumber;
+        }
+
+        public long getMilliSeconds() {
+            return milliSeconds;
+        }
+
+        public String getLevel() {
+            return Level.parse(Integer.toString(level)).getName();
+        }
+
+        public String getLoggerName() {
+            return loggerName;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public LogRecord toLogRecord() {
+            LogRecord record = new LogRecord(Level.parse(Integer.toString(level)), message);
+            record.setSequenceNumber(sequenceNumber);
+            record.setMillis(milliSeconds);
+            record.setLoggerName(loggerName);
+            return record;
+        }
+    }
+
+    // Decides on a mapped RECORD entry, starting at the type byte
+    private interface Filter {
+        boolean accept(int record, int messageLength);
+    }
+
+    public TSBinaryLogReader(File logFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(logFile.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        byte[] magic = new byte[TSBinaryLogWriter.MAGIC.length];
+        if (buffer.limit() < magic.length) {
+            throw new IOException("Not a binary TSSV log: " + logFile);
+        }
+        get(0, magic);
+        if (!Arrays.equals(magic, TSBinaryLogWriter.MAGIC)) {
+            throw new IOException("Not a binary TSSV log: " + logFile);
+        }
+
+        // Logger names are needed to decode any record, so resolve them up front
+        readLoggerNames();
+    }
+
+    /**
+     * Returns the logger names defined in the log, indexed by id.
+     */
+    public String[] getLoggerNames() {
+        return Arrays.copyOf(loggerNames, loggerNameCount);
+    }
+
+    /**
+     * Returns all records.
+     */
+    public List<Entry> pullAllRecords() {
+        List<Entry> entries = new ArrayList<>();
+        scan((record, length) -> true, entries);
+        return entries;
+    }
+
+    /**
+     * Returns the records whose message starts with the given prefix.
+     */
+    public List<Entry> findByPrefix(String prefix) {
+        byte[] bytes = prefix.getBytes(StandardCharsets.UTF_8);
+        List<Entry> entries = new ArrayList<>();
+        scan((record, length) -> startsWith(record + MESSAGE, length, bytes), entries);
+        return entries;
+    }
+
+    /**
+     * Returns the records whose message contains the given string after its first character, i.e. for which
+     * <code>message.indexOf(substring) &gt; 0</code>.
+     */
+    public List<Entry> findBySubString(String substring) {
+        byte[] bytes = substring.getBytes(StandardCharsets.UTF_8);
+        List<Entry> entries = new ArrayList<>();
+        // UTF-8 is self-synchronizing, so the first byte match is the first character match
+        scan((record, length) -> indexOf(record + MESSAGE, length, bytes) > 0, entries);
+        return entries;
+    }
+
+    /**
+     * Returns the records with the given sequence number.
+     */
+    public List<Entry> findBySequenceNumber(long sequenceNumber) {
+        List<Entry> entries = new ArrayList<>();
+        scan((record, length) -> buffer.getLong(record + SEQUENCE) == sequenceNumber, entries);
+        return entries;
+    }
+
+    /**
+     * Splits the records into appId records, link records and all others, in one pass.
+     */
+    public void partitionAppIdRecords(List<Entry> appIdRecords, List<Entry> linkRecords, List<Entry> otherRecords) {
+        scan((record, length) -> {
+            List<Entry> target;
+            if (startsWith(record + MESSAGE, length, APP_ID)) {
+                target = appIdRecords;
+            } else if (startsWith(record + MESSAGE, length, LINK)) {
+                target = linkRecords;
+            } else {
+                target = otherRecords;
+            }
+            target.add(decode(record, length));
+            return false;
+        }, null);
+    }
+
+    /**
+     * Writes the records in the XML form of TSSVLog.txt.
+     */
+    public void writeXML(OutputStream out) throws IOException {
+        TSXMLFormatter formatter = new TSXMLFormatter();
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n<log>\n");
+        for (Entry entry : pullAllRecords()) {
+            writer.write(formatter.format(entry.toLogRecord()));
+        }
+        writer.write("</log>\n");
+        writer.flush();
+    }
+
+    private void readLoggerNames() {
+        for (int entry = firstEntry(); entry >= 0; entry = nextEntry(entry)) {
+            if (buffer.get(entry) == TSBinaryLogWriter.NAME) {
+                int id = buffer.getInt(entry + 1);
+                byte[] name = new byte[buffer.getInt(entry - 4) - 5];
+                get(entry + 5, name);
+                if (id >= loggerNames.length) {
+                    loggerNames = Arrays.copyOf(loggerNames, Math.max(id + 1, loggerNames.length * 2));
+                }
+                loggerNames[id] = new String(name, StandardCharsets.UTF_8);
+                loggerNameCount = Math.max(loggerNameCount, id + 1);
+            }
+        }
+    }
+
+    private void scan(Filter filter, List<Entry> entries) {
+        for (int entry = firstEntry(); entry >= 0; entry = nextEntry(entry)) {
+            if (buffer.get(entry) == TSBinaryLogWriter.RECORD) {
+                int messageLength = buffer.getInt(entry + MESSAGE_LENGTH);
+                if (filter.accept(entry, messageLength) && entries != null) {
+                    entries.add(decode(entry, messageLength));
+                }
+            }
+        }
+    }
+
+    // Returns the offset of the type byte of the first complete entry, or -1
+    private int firstEntry() {
+        return complete(TSBinaryLogWriter.MAGIC.length);
+    }
+
+    private int nextEntry(int entry) {
+        return complete(entry + buffer.getInt(entry - 4));
+    }
+
+    private int complete(int position) {
+        if (position + 5 > buffer.limit()) {
+            return -1;
+        }
+        int length = buffer.getInt(position);
+        if (length < 1 || position + 4 + length > buffer.limit()) {
+            // Truncated entry, still being written
+            return -1;
+        }
+        return position + 4;
+    }
+
+    private void get(int offset, byte[] bytes) {
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(offset);
+        slice.get(bytes);
+    }
+
+    private Entry decode(int record, int messageLength) {
+        byte[] message = new byte[messageLength];
+        get(record + MESSAGE, message);
+        int loggerId = buffer.getInt(record + LOGGER);
+        String loggerName = loggerId >= 0 && loggerId < loggerNames.length ? loggerNames[loggerId] : null;
+
+        return new Entry(buffer.getLong(record + SEQUENCE), buffer.getLong(record + MILLIS), buffer.getInt(record + LEVEL),
+                loggerName, new String(message, StandardCharsets.UTF_8));
+    }
+
+    private boolean startsWith(int offset, int length, byte[] prefix) {
+        if (prefix.length > length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(offset + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(int offset, int length, byte[] pattern) {
+        if (pattern.length == 0) {
+            return 0;
+        }
+        byte first = pattern[0];
+        for (int i = 0; i <= length - pattern.length; i++) {
+            if (buffer.get(offset + i) != first) {
+                continue;
+            }
+            int j = 1;
+            while (j < pattern.length && buffer.get(offset + i + j) == pattern[j]) {
+                j++;
+            }
+            if (j == pattern.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Converts a binary TSSV log to XML.
+     *
+     * Usage: TSBinaryLogReader &lt;binary log&gt; [&lt;xml file&gt;]. Without an XML file the XML goes to standard output.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: TSBinaryLogReader <binary log> [<xml file>]");
+            System.exit(1);
+        }
+
+        TSBinaryLogReader reader = new TSBinaryLogReader(new File(args[0]));
+        if (args.length > 1) {
+            try (OutputStream out = new FileOutputStream(args[1])) {
+                reader.writeXML(out);
+            }
+        } else {
+            reader.writeXML(System.out);
+        }
+    }
+}
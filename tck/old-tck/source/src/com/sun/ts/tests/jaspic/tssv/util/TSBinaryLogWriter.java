@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ts.tests.jaspic.tssv.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Formatter;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+
+/**
+ * Appends log records to a TSSV log file in the compact binary format.
+ *
+ * The file starts with the 8 byte header <code>MAGIC</code>. It is followed by entries, each of which is an
+ * <code>int</code> length (of what follows the length), a type byte and the payload:
+ *
+ * <pre>
+ * NAME   (1): int id, UTF-8 logger name
+ * RECORD (2): long sequence number, long millis, int level, int logger name id (-1 for none),
+ *             int message length, UTF-8 message
+ * </pre>
+ *
+ * All numbers are big-endian. Logger names are interned: a NAME entry is written the first time a name is used, and
+ * records refer to it by id. An entry is always written with a single write, so a reader sees either all of it or, at
+ * the end of the file, a truncated entry it can recognize by its length.
+ *
+ * There is one writer per file in a VM, shared by all handlers for that file, so name ids stay unique.
+ */
+public final class TSBinaryLogWriter {
+
+    public static final byte[] MAGIC = { 'T', 'S', 'S', 'V', 'L', 'O', 'G', 1 };
+
+    public static final byte NAME = 1;
+    public static final byte RECORD = 2;
+
+    private static final Map<File, TSBinaryLogWriter> writers = new HashMap<>();
+
+    private final File file;
+    private final FileChannel channel;
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    // Localizes and fills in parameters, as the XML formatter does
+    private final Formatter messageFormatter = new SimpleFormatter();
+
+    // Only touched while holding the writers lock
+    private int handlers;
+
+    private TSBinaryLogWriter(File file) throws IOException {
+        this.file = file;
+
+        if (file.length() > 0) {
+            // Continue an existing log; pick up the names it already defines
+            TSBinaryLogReader reader = new TSBinaryLogReader(file);
+            String[] names = reader.getLoggerNames();
+            for (int id = 0; id < names.length; id++) {
+                if (names[id] != null) {
+                    nameIds.put(names[id], id);
+                }
+            }
+        }
+
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (channel.size() == 0) {
+            write(ByteBuffer.wrap(MAGIC));
+        }
+    }
+
+    /**
+     * Returns the writer for the given file, opening it if this is the first handler for that file.
+     */
+    static TSBinaryLogWriter acquire(File file) throws IOException {
+        File key = file.getAbsoluteFile();
+        synchronized (writers) {
+            TSBinaryLogWriter writer = writers.get(key);
+            if (writer == null) {
+                writer = new TSBinaryLogWriter(key);
+                writers.put(key, writer);
+            }
+            writer.handlers++;
+            return writer;
+        }
+    }
+
+    /**
+     * Releases a handler's hold on this writer. The last release closes the file.
+     */
+    void release() throws IOException {
+        synchronized (writers) {
+            if (--handlers > 0) {
+                return;
+            }
+            writers.remove(file);
+        }
+        synchronized (this) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Appends one record, preceded by the definition of its logger name if that is new.
+     */
+    public synchronized void write(LogRecord record) throws IOException {
+        byte[] name = null;
+        int nameId = -1;
+        String loggerName = record.getLoggerName();
+        if (loggerName != null) {
+            Integer id = nameIds.get(loggerName);
+            if (id == null) {
+                id = nameIds.size();
+                name = loggerName.getBytes(StandardCharsets.UTF_8);
+            }
+            nameId = id;
+        }
+
+        String message = messageFormatter.formatMessage(record);
+        byte[] messageBytes = message == null ? new byte[0] : message.getBytes(StandardCharsets.UTF_8);
+
+        int recordLength = 1 + 8 + 8 + 4 + 4 + 4 + messageBytes.length;
+        int nameLength = name == null ? 0 : 1 + 4 + name.length;
+        ByteBuffer buffer = ByteBuffer.allocate((name == null ? 0 : 4 + nameLength) + 4 + recordLength);
+
+        if (name != null) {
+            buffer.putInt(nameLength).put(NAME).putInt(nameId).put(name);
+        }
+        buffer.putInt(recordLength)
+              .put(RECORD)
+              .putLong(record.getSequenceNumber())
+              .putLong(record.getMillis())
+              .putInt(record.getLevel().intValue())
+              .putInt(nameId)
+              .putInt(messageBytes.length)
+              .put(messageBytes);
+        buffer.flip();
+
+        write(buffer);
+        if (name != null) {
+            nameIds.put(loggerName, nameId);
+        }
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
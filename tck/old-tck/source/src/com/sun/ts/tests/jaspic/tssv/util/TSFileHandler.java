@@ -21,6 +21,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.logging.ErrorManager;
 import java.util.logging.Level;
 import java.util.logging.LogManager;
 import java.util.logging.LogRecord;
@@ -29,10 +30,28 @@ import java.util.logging.StreamHandler;
 /**
  * Simple file Handler based on java.util.logging.FileHandler
  *
+ * By default every record is formatted, written and flushed by the publishing thread. When the system property
+ * <tt>tssv.log.async</tt> is set to <tt>true</tt>, records are instead handed to a single background writer for the log
+ * file (see <tt>TSAsyncLogWriter</tt>) which writes them in batches. The batching can be tuned with
+ * <tt>tssv.log.async.queueSize</tt>, <tt>tssv.log.async.batchSize</tt> and <tt>tssv.log.async.flushInterval</tt>
+ * (milliseconds). Closing the handler writes out all pending records.
+ * <p>
+ * When the system property <tt>tssv.log.format</tt> is set to <tt>binary</tt>, records are instead appended in the
+ * compact binary format of <tt>TSBinaryLogWriter</tt> to a file named like the log file but with the extension
+ * <tt>.bin</tt> (TSSVLog.bin for TSSVLog.txt). <tt>TSBinaryLogReader</tt> queries and converts that file.
+ *
  */
 
 public class TSFileHandler extends StreamHandler {
+    static final boolean ASYNC = Boolean.getBoolean("tssv.log.async");
+    private static final int ASYNC_QUEUE_SIZE = Integer.getInteger("tssv.log.async.queueSize", 8192);
+    private static final int ASYNC_BATCH_SIZE = Integer.getInteger("tssv.log.async.batchSize", 256);
+    private static final long ASYNC_FLUSH_INTERVAL = Long.getLong("tssv.log.async.flushInterval", 50);
+    private static final boolean BINARY = "binary".equalsIgnoreCase(System.getProperty("tssv.log.format"));
+
     private MeteredStream meter;
+    private volatile TSAsyncLogWriter asyncWriter;
+    private volatile TSBinaryLogWriter binaryWriter;
 
     private boolean append;
     private int limit;
@@ -153,10 +172,24 @@ public class TSFileHandler extends StreamHandler {
             files[i] = generate(pattern, i, unique);
         }
 
-        open(files[0], true);
+        if (BINARY) {
+            binaryWriter = TSBinaryLogWriter.acquire(binaryFile(files[0]));
+        } else if (ASYNC) {
+            asyncWriter = TSAsyncLogWriter.acquire(files[0], ASYNC_QUEUE_SIZE, ASYNC_BATCH_SIZE, ASYNC_FLUSH_INTERVAL);
+        } else {
+            open(files[0], true);
+        }
 
     }
 
+    // The binary log lives next to the text log: TSSVLog.txt becomes TSSVLog.bin
+    private static File binaryFile(File file) {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        name = (dot > 0 ? name.substring(0, dot) : name) + ".bin";
+        return new File(file.getParentFile(), name);
+    }
+
     // Generate a filename from a pattern.
     private File generate(String pattern, int generation, int unique) throws IOException {
         File file = null;
@@ -238,7 +271,35 @@ public class TSFileHandler extends StreamHandler {
      *
      * @param record description of the log event. A null record is silently ignored and is not published
      */
-    public synchronized void publish(LogRecord record) {
+    public void publish(LogRecord record) {
+        TSBinaryLogWriter binary = binaryWriter;
+        if (binary != null) {
+            if (accepts(record)) {
+                try {
+                    binary.write(record);
+                } catch (IOException e) {
+                    reportError(null, e, ErrorManager.WRITE_FAILURE);
+                }
+            }
+            return;
+        }
+        TSAsyncLogWriter writer = asyncWriter;
+        if (writer != null) {
+            if (accepts(record)) {
+                writer.publish(this, record);
+            }
+            return;
+        }
+        publishSynchronously(record);
+    }
+
+    // StreamHandler.isLoggable would reject every record when this handler has no output stream of its own
+    private boolean accepts(LogRecord record) {
+        return record != null && record.getLevel().intValue() >= getLevel().intValue()
+                && (getFilter() == null || getFilter().isLoggable(record));
+    }
+
+    private synchronized void publishSynchronously(LogRecord record) {
         if (!isLoggable(record)) {
             return;
         }
@@ -254,9 +315,41 @@ public class TSFileHandler extends StreamHandler {
      * <tt>LoggingPermission("control")</tt>.
      */
     public synchronized void close() throws SecurityException {
+        if (asyncWriter != null) {
+            TSAsyncLogWriter writer = asyncWriter;
+            asyncWriter = null;
+            writer.release();
+        }
+        if (binaryWriter != null) {
+            TSBinaryLogWriter writer = binaryWriter;
+            binaryWriter = null;
+            try {
+                writer.release();
+            } catch (IOException e) {
+                reportError(null, e, ErrorManager.CLOSE_FAILURE);
+            }
+        }
         super.close();
     }
 
+    /**
+     * Flush any buffered messages. In asynchronous mode this waits until every record published so far has been written
+     * to the log file.
+     */
+    public void flush() {
+        TSAsyncLogWriter writer = asyncWriter;
+        if (writer != null) {
+            writer.flush();
+            return;
+        }
+        super.flush();
+    }
+
+    // Called by the asynchronous writer when the formatter fails on a record
+    void reportFormatError(Exception e) {
+        reportError(null, e, ErrorManager.FORMAT_FAILURE);
+    }
+
     // Private native method to check if we are in a set UID program.
     private static native boolean isSetUID();
 
@@ -34,7 +34,7 @@ public class TSLogger extends Logger {
     private int levelValue = Level.INFO.intValue();
     private int offValue = Level.OFF.intValue();
     private String name = null;
-    private Filter filter;
+    private volatile Filter filter;
 
     /** Creates a new instance of TSLogger */
     protected TSLogger(String name) {
@@ -72,18 +72,28 @@ public class TSLogger extends Logger {
     }
 
     /**
-     * Logs a LogRecord.
+     * Logs a LogRecord. Unless <tt>tssv.log.async</tt> is set, records are published one at a time, as the handlers then
+     * write to the log file on the calling thread.
      *
      * @param record the LogRecord to be published
      */
-    public synchronized void log(LogRecord record) {
+    public void log(LogRecord record) {
+        if (TSFileHandler.ASYNC) {
+            publish(record);
+        } else {
+            synchronized (this) {
+                publish(record);
+            }
+        }
+    }
+
+    private void publish(LogRecord record) {
         if (record.getLevel().intValue() < levelValue || levelValue == offValue) {
             return;
         }
-        synchronized (this) {
-            if (filter != null && !filter.isLoggable(record)) {
-                return;
-            }
+        Filter filter = this.filter;
+        if (filter != null && !filter.isLoggable(record)) {
+            return;
         }
 
         TSLogger logger = this;
@@ -17,6 +17,7 @@
 package com.sun.ts.tests.jaspic.tssv.util;
 
 import java.io.File;
+import java.nio.charset.Charset;
 import java.util.logging.Handler;
 import java.util.logging.XMLFormatter;
 
@@ -56,7 +57,8 @@ public class TSXMLFormatter extends XMLFormatter {
 
         StringBuffer sb = new StringBuffer();
         sb.append("<?xml version=\"1.0\"");
-        String encoding = "UTF-8";
+        // Declare the encoding the handler writes with, so that readers decode the file the same way
+        String encoding = h == null || h.getEncoding() == null ? Charset.defaultCharset().name() : h.getEncoding();
 
         sb.append(" encoding=\"");
         sb.append(encoding);
@@ -16,30 +16,21 @@
 
 package com.sun.ts.tests.jaspic.util;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
-import java.io.SequenceInputStream;
 import java.util.Collection;
 import java.util.Enumeration;
 import java.util.Iterator;
+import java.util.List;
 import java.util.StringTokenizer;
 import java.util.Vector;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
+import javax.xml.stream.XMLStreamException;
 
 import com.sun.ts.lib.util.TestUtil;
+import com.sun.ts.tests.jaspic.tssv.util.TSBinaryLogReader;
 
 import jakarta.servlet.ServletConfig;
 import jakarta.servlet.ServletException;
@@ -60,6 +51,14 @@ import jakarta.servlet.http.HttpServletResponse;
  * based on various parameters such as "classname" or "sequenceNumber" and
  * builds Collection of logs of type (LogRecordEntry) and returns the Collection
  *
+ * The log file is read through a <code>LogFileReader</code>, which keeps the
+ * records it has already parsed, so each request only parses the records
+ * logged since the previous one.
+ *
+ * A log file with the extension ".bin" is taken to be in the binary format
+ * written by TSBinaryLogWriter, and the queries are answered by scanning the
+ * memory-mapped file with TSBinaryLogReader.
+ *
  */
 public class FetchLogs extends HttpServlet {
 
@@ -85,11 +84,6 @@ public class FetchLogs extends HttpServlet {
     File logfile = null;
 
     try {
-      DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory
-          .newInstance();
-      DocumentBuilder documentBuilder = documentBuilderFactory
-          .newDocumentBuilder();
-
       OutputStream outStream = response.getOutputStream();
       ObjectOutputStream ostream = new ObjectOutputStream(outStream);
       if (ostream == null) {
@@ -110,30 +104,18 @@ public class FetchLogs extends HttpServlet {
         TestUtil.logErr("Check permissions for log file ");
         TestUtil.logErr("See User guide for Configuring log file permissions");
       } else {
-        // LogRecords will be added to TSSVLog.txt as long as the server is
-        // up and running. Since TSSLog.txt is continuously updated with
-        // more record there will not be any end tag </log> at the end of the
-        // log file.
-        //
-        // This will cause the SAXParser to throw fatal error message
-        // "XML Document structures must start and end with the
-        // same entity"
-        //
-        // In order to avoid this error message the FileInputStream
-        // should have the end tag </log>, this can be achieved by
-        // creating a SequenceInputStream which includes a
-        // FileInputStream and a ByteArrayInputStream, where the
-        // ByteArrayInputStream contains the bytes for </log>
-        //
-        String endLogTag = "</log>";
-        ByteArrayInputStream bais = new ByteArrayInputStream(
-            endLogTag.getBytes());
-        SequenceInputStream sis = new SequenceInputStream(
-            new FileInputStream(logFileLocation), bais);
-
-        Document document = documentBuilder.parse(sis);
-        Element rootElement = document.getDocumentElement();
-        NodeList nodes = rootElement.getChildNodes();
+        List records = null;
+        TSBinaryLogReader binaryLogReader = null;
+        if (logFileLocation.endsWith(".bin")) {
+          binaryLogReader = new TSBinaryLogReader(logfile);
+        } else {
+          // LogRecords will be added to TSSVLog.txt as long as the server is
+          // up and running, so there is no end tag </log> at the end of the
+          // log file. The reader only parses complete records appended since
+          // the previous request and adds them to its index.
+          LogRecordIndex index = LogFileReader.getReader(logFileLocation).read();
+          records = index.records(index.size());
+        }
 
         String queryString = request.getParameter("LogQueryString");
         String queryParams = request.getParameter("LogQueryParams");
@@ -166,7 +148,11 @@ public class FetchLogs extends HttpServlet {
         if (queryString.equals("getAppSpecificRecordCollection")) {
           // This call populates both appIdRecordCollection and
           // the rest of record collection
-          appIdRecordCollection = getAppIdRecordCollection("appId", nodes);
+          if (binaryLogReader != null) {
+            appIdRecordCollection = getAppIdRecordCollection(binaryLogReader);
+          } else {
+            appIdRecordCollection = getAppIdRecordCollection("appId", records);
+          }
           // printCollection(appIdRecordCollection);
 
           // write recordCollection
@@ -190,7 +176,12 @@ public class FetchLogs extends HttpServlet {
           // write applicaiton specific record Collection
           ostream.writeObject(newAppSpecificRecordCollection);
         } else {
-          recordCollection = processLogs(queryString, queryParams, nodes);
+          if (binaryLogReader != null) {
+            recordCollection = processLogs(queryString, queryParams,
+                binaryLogReader);
+          } else {
+            recordCollection = processLogs(queryString, queryParams, records);
+          }
           // write recordCollection
           ostream.writeObject(recordCollection);
         }
@@ -198,14 +189,10 @@ public class FetchLogs extends HttpServlet {
       }
       ostream.flush();
       ostream.close();
-    } catch (ParserConfigurationException pce) {
-      TestUtil.logErr("PaserConfigurationException :" + pce.getMessage());
-      TestUtil.printStackTrace(pce);
-      throw new ServletException(pce.getMessage(), pce);
-    } catch (SAXException se) {
-      TestUtil.logErr("SAXException :" + se.getMessage());
-      TestUtil.printStackTrace(se);
-      throw new ServletException(se.getMessage(), se);
+    } catch (XMLStreamException xse) {
+      TestUtil.logErr("XMLStreamException :" + xse.getMessage());
+      TestUtil.printStackTrace(xse);
+      throw new ServletException(xse.getMessage(), xse);
     } catch (IOException ioe) {
       TestUtil.logErr("IOException :" + ioe.getMessage());
       TestUtil.printStackTrace(ioe);
@@ -225,17 +212,17 @@ public class FetchLogs extends HttpServlet {
   }
 
   public Collection processLogs(String queryString, String queryParams,
-      NodeList nodes) throws Exception {
+      List records) throws Exception {
     Collection recordCollection = null;
 
     if (queryString.equals("findLogsBySequenceNumber")) {
-      recordCollection = findLogsBySequenceNumber(queryParams, nodes);
+      recordCollection = findLogsBySequenceNumber(queryParams, records);
     } else if (queryString.equals("findLogsBySubStringMatch")) {
-      recordCollection = findLogsBySubStringMatch(queryParams, nodes);
+      recordCollection = findLogsBySubStringMatch(queryParams, records);
     } else if (queryString.equals("findLogsByPrefix")) {
-      recordCollection = findLogsByPrefix(queryParams, nodes);
+      recordCollection = findLogsByPrefix(queryParams, records);
     } else if (queryString.equals("pullAllLogRecords")) {
-      recordCollection = pullAllLogRecords(queryParams, nodes);
+      recordCollection = pullAllLogRecords(queryParams, records);
     } else {
       TestUtil.logErr("InCorrect query string :+queryString");
       throw new Exception("InCorrect query string :" + queryString);
@@ -244,57 +231,81 @@ public class FetchLogs extends HttpServlet {
   }
 
   /**
-   * Fetches all JSR196 SPI logs from TSSVLog.txt
+   * Answers the query from a binary log
    */
-  public Collection pullAllLogRecords(String queryParams, NodeList nodes)
-      throws Exception {
-    Collection recordCollection = new Vector();
-    Node childNode;
-    Node recordNode;
-    NodeList recordNodeChildren;
+  public Collection processLogs(String queryString, String queryParams,
+      TSBinaryLogReader reader) throws Exception {
+    List entries = null;
 
-    for (int i = 0; i < nodes.getLength(); i++) {
-      // Take the first record
-      recordNode = nodes.item(i);
+    if (queryString.equals("findLogsBySequenceNumber")) {
+      entries = reader.findBySequenceNumber(Long.parseLong(queryParams));
+    } else if (queryString.equals("findLogsBySubStringMatch")) {
+      entries = reader.findBySubString(queryParams);
+    } else if (queryString.equals("findLogsByPrefix")) {
+      entries = reader.findByPrefix(queryParams);
+    } else if (queryString.equals("pullAllLogRecords")) {
+      entries = reader.pullAllRecords();
+    } else {
+      TestUtil.logErr("InCorrect query string :+queryString");
+      throw new Exception("InCorrect query string :" + queryString);
+    }
+    return toRecordEntries(entries, new Vector());
+  }
 
-      if (recordNode.getNodeName().equals("record")) {
-        LogRecordEntry recordEntry = new LogRecordEntry(recordNode);
-        recordCollection.add(recordEntry);
+  /**
+   * Splits the records of a binary log into appId, link and other records,
+   * like getAppIdRecordCollection(String, List) does for the XML log
+   */
+  public Collection getAppIdRecordCollection(TSBinaryLogReader reader)
+      throws Exception {
+    List appIdEntries = new Vector();
+    List linkEntries = new Vector();
+    List otherEntries = new Vector();
+    reader.partitionAppIdRecords(appIdEntries, linkEntries, otherEntries);
+
+    toRecordEntries(appIdEntries, this.appIdRecordCollection);
+    toRecordEntries(linkEntries, this.linkRecordCollection);
+    toRecordEntries(otherEntries, this.recordCollection);
+    return appIdRecordCollection;
+  }
 
-      }
+  private static Collection toRecordEntries(List entries,
+      Collection recordCollection) {
+    for (int i = 0; i < entries.size(); i++) {
+      TSBinaryLogReader.Entry entry = (TSBinaryLogReader.Entry) entries.get(i);
+      LogRecordEntry recordEntry = new LogRecordEntry();
+      recordEntry.setSequenceNumber(entry.getSequenceNumber());
+      recordEntry.setMilliSeconds(entry.getMilliSeconds());
+      recordEntry.setLevel(entry.getLevel());
+      recordEntry.setMessage(entry.getMessage());
+      recordCollection.add(recordEntry);
     }
     return recordCollection;
   }
 
+  /**
+   * Fetches all JSR196 SPI logs from TSSVLog.txt
+   */
+  public Collection pullAllLogRecords(String queryParams, List records)
+      throws Exception {
+    return new Vector(records);
+  }
+
   /**
    * Locates the logs based on SubStringMatch
    */
-  public Collection findLogsBySubStringMatch(String queryParams, NodeList nodes)
+  public Collection findLogsBySubStringMatch(String queryParams, List records)
       throws Exception {
     Collection recordCollection = new Vector();
-    String nodeName;
-    String nodeValue;
-    Node childNode;
-    Node recordNode;
-    NodeList recordNodeChildren;
-
-    for (int i = 0; i < nodes.getLength(); i++) {
-      // Take the first record
-      recordNode = nodes.item(i);
-      // get all the child nodes for the first record
-      recordNodeChildren = recordNode.getChildNodes();
-      for (int j = 0; j < recordNodeChildren.getLength(); j++) {
-        childNode = recordNodeChildren.item(j);
-        nodeName = childNode.getNodeName();
-        if (nodeName.equals("message")) {
-          nodeValue = getText(childNode);
-          if (nodeValue.indexOf(queryParams) > 0) {
-            // create a new record entry and
-            // add it to the collection
-            LogRecordEntry recordEntry = new LogRecordEntry(recordNode);
-            recordCollection.add(recordEntry);
-          }
-        }
+    LogRecordEntry recordEntry;
+    String message;
+
+    for (int i = 0; i < records.size(); i++) {
+      recordEntry = (LogRecordEntry) records.get(i);
+      message = recordEntry.getMessage();
+      if (message != null && message.indexOf(queryParams) > 0) {
+        // add the record entry to the collection
+        recordCollection.add(recordEntry);
       }
     }
     return recordCollection;
@@ -303,32 +314,19 @@ public class FetchLogs extends HttpServlet {
   /**
    * Locates the logs based on the given prefix string
    */
-  public Collection findLogsByPrefix(String queryParams, NodeList nodes)
+  public Collection findLogsByPrefix(String queryParams, List records)
       throws Exception {
     Collection recordCollection = new Vector();
-    String nodeName;
-    String nodeValue;
-    Node childNode;
-    Node recordNode;
-    NodeList recordNodeChildren;
-
-    for (int i = 0; i < nodes.getLength(); i++) {
-      // Take the first record
-      recordNode = nodes.item(i);
-      // get all the child nodes for the first record
-      recordNodeChildren = recordNode.getChildNodes();
-      for (int j = 0; j < recordNodeChildren.getLength(); j++) {
-        childNode = recordNodeChildren.item(j);
-        nodeName = childNode.getNodeName();
-        if (nodeName.equals("message")) {
-          nodeValue = getText(childNode);
-          if (nodeValue.startsWith(queryParams)) {
-            // create a new record entry that matches the
-            // query criteria
-            LogRecordEntry matchingRecordEntry = new LogRecordEntry(recordNode);
-            recordCollection.add(matchingRecordEntry);
-          }
-        }
+    LogRecordEntry recordEntry;
+    String message;
+
+    for (int i = 0; i < records.size(); i++) {
+      recordEntry = (LogRecordEntry) records.get(i);
+      message = recordEntry.getMessage();
+      if (message != null && message.startsWith(queryParams)) {
+        // add the record entry that matches the
+        // query criteria
+        recordCollection.add(recordEntry);
       }
     }
     return recordCollection;
@@ -343,41 +341,28 @@ public class FetchLogs extends HttpServlet {
    * Note: In the process of locating appId records the remaining records are
    * also isolated and stored in a collection called "recordCollection"
    */
-  public Collection getAppIdRecordCollection(String queryParams, NodeList nodes)
+  public Collection getAppIdRecordCollection(String queryParams, List records)
       throws Exception {
-    String nodeName;
-    String nodeValue;
-    Node childNode;
-    Node recordNode;
-    NodeList recordNodeChildren;
-
-    for (int i = 0; i < nodes.getLength(); i++) {
-      // Take the first record
-      recordNode = nodes.item(i);
-      // get all the child nodes for the first record
-      recordNodeChildren = recordNode.getChildNodes();
-      for (int j = 0; j < recordNodeChildren.getLength(); j++) {
-        childNode = recordNodeChildren.item(j);
-        nodeName = childNode.getNodeName();
-        if (nodeName.equals("message")) {
-          nodeValue = getText(childNode);
-          if (nodeValue.startsWith(queryParams)) {
-            // create a new record entry that matches the
-            // query criteria i.e "appId"
-            LogRecordEntry matchingRecordEntry = new LogRecordEntry(recordNode);
-            this.appIdRecordCollection.add(matchingRecordEntry);
-          } else if (nodeValue.startsWith("link")) {
-            // create a new record entry for link records
-            LogRecordEntry linkRecordEntry = new LogRecordEntry(recordNode);
-            this.linkRecordCollection.add(linkRecordEntry);
-          } else {
-            // create a new record entry that do not
-            // match the query criteria
-            LogRecordEntry nonMatchingRecordEntry = new LogRecordEntry(
-                recordNode);
-            this.recordCollection.add(nonMatchingRecordEntry);
-          }
-        }
+    LogRecordEntry recordEntry;
+    String message;
+
+    for (int i = 0; i < records.size(); i++) {
+      recordEntry = (LogRecordEntry) records.get(i);
+      message = recordEntry.getMessage();
+      if (message == null) {
+        continue;
+      }
+      if (message.startsWith(queryParams)) {
+        // record entry that matches the
+        // query criteria i.e "appId"
+        this.appIdRecordCollection.add(recordEntry);
+      } else if (message.startsWith("link")) {
+        // record entry for link records
+        this.linkRecordCollection.add(recordEntry);
+      } else {
+        // record entry that does not
+        // match the query criteria
+        this.recordCollection.add(recordEntry);
       }
     }
     return appIdRecordCollection;
@@ -386,49 +371,20 @@ public class FetchLogs extends HttpServlet {
   /**
    * Locates logs based on the given sequenceNumber
    */
-  public Collection findLogsBySequenceNumber(String queryParams, NodeList nodes)
+  public Collection findLogsBySequenceNumber(String queryParams, List records)
       throws Exception {
     Collection recordCollection = new Vector();
-    String nodeName;
-    String nodeValue;
-    Node childNode;
-    Node recordNode;
-    NodeList recordNodeChildren;
-    int sequenceNumber = (new Integer(queryParams)).intValue();
-    for (int i = 0; i < nodes.getLength(); i++) {
-      // Take the first record
-      recordNode = nodes.item(i);
-      // get all the child nodes for the first record
-      recordNodeChildren = recordNode.getChildNodes();
-      for (int j = 0; j < recordNodeChildren.getLength(); j++) {
-        childNode = recordNodeChildren.item(j);
-        nodeName = childNode.getNodeName();
-        if (nodeName.equals("sequence")) {
-          nodeValue = getText(childNode);
-          int nodeValueInInt = (new Integer(nodeValue)).intValue();
-          if (nodeValueInInt == sequenceNumber) {
-            // create a new record entry and
-            // add it to the collection
-            LogRecordEntry recordEntry = new LogRecordEntry(recordNode);
-            recordCollection.add(recordEntry);
-          }
-        }
-      }
-    }
-    return recordCollection;
-  }
+    LogRecordEntry recordEntry;
+    long sequenceNumber = Long.parseLong(queryParams);
 
-  public String getText(Node textNode) {
-    String result = "";
-    NodeList nodes = textNode.getChildNodes();
-    for (int i = 0; i < nodes.getLength(); i++) {
-      Node node = nodes.item(i);
-      if (node.getNodeType() == Node.TEXT_NODE) {
-        result = node.getNodeValue();
-        break;
+    for (int i = 0; i < records.size(); i++) {
+      recordEntry = (LogRecordEntry) records.get(i);
+      if (recordEntry.getSequenceNumber() == sequenceNumber) {
+        // add the record entry to the collection
+        recordCollection.add(recordEntry);
       }
     }
-    return result;
+    return recordCollection;
   }
 
   public void printCollection(Collection recordCollection) {
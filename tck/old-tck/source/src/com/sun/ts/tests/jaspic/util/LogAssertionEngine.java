@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ts.tests.jaspic.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Answers the log assertions of <code>LogFileProcessor</code> and <code>LogProcessor</code> against a fixed set of
+ * records, and reports the positions of the records that matched.
+ *
+ * Exact message searches ("contains all", "in order", "one of") are looked up in the message index of a
+ * <code>LogRecordIndex</code>. The substring search ("one of" with a message prefix) compiles the expected substrings
+ * into an Aho-Corasick automaton and makes one pass over the messages with the given prefix, instead of one
+ * <code>indexOf</code> per record and per substring.
+ */
+public class LogAssertionEngine {
+
+    private final LogRecordIndex index;
+    private final int limit;
+
+    /**
+     * Creates an engine over the first <code>limit</code> records of the given index.
+     */
+    public LogAssertionEngine(LogRecordIndex index, int limit) {
+        this.index = index;
+        this.limit = Math.min(limit, index.size());
+    }
+
+    /**
+     * Creates an engine over a collection of <code>LogRecordEntry</code>.
+     */
+    public static LogAssertionEngine of(Collection recordCollection) {
+        LogRecordIndex index = LogRecordIndex.of(recordCollection);
+        return new LogAssertionEngine(index, index.size());
+    }
+
+    public int size() {
+        return limit;
+    }
+
+    public LogRecordEntry get(int position) {
+        if (position >= limit) {
+            throw new IndexOutOfBoundsException("Position: " + position + ", Size: " + limit);
+        }
+        return index.get(position);
+    }
+
+    public List<LogRecordEntry> getRecords() {
+        return index.records(limit);
+    }
+
+    /**
+     * Returns the number of records with exactly the given message.
+     */
+    public int count(String message) {
+        return index.count(message, limit);
+    }
+
+    /**
+     * For each message, returns the position of the first record with exactly that message, or -1 if there is none.
+     */
+    public int[] findAll(String[] messages) {
+        int[] positions = new int[messages.length];
+        for (int i = 0; i < messages.length; i++) {
+            positions[i] = index.next(messages[i], 0, limit);
+        }
+        return positions;
+    }
+
+    /**
+     * Finds the messages in the given order, starting at the last record with the first message (so that older runs
+     * recorded in the same log do not satisfy the search). Returns the positions of the matching records; the position
+     * of the first message that could not be found, and of all messages after it, is -1.
+     */
+    public int[] findInOrder(String[] messages) {
+        int[] positions = new int[messages.length];
+        Arrays.fill(positions, -1);
+        if (messages.length == 0) {
+            return positions;
+        }
+
+        int position = index.last(messages[0], limit);
+        for (int i = 0; i < messages.length && position >= 0; i++) {
+            positions[i] = position;
+            if (i + 1 < messages.length) {
+                position = index.next(messages[i + 1], position + 1, limit);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Returns the position of the first record whose message equals one of the given messages, or -1 if there is none.
+     */
+    public int findFirstOf(String[] messages) {
+        int first = -1;
+        for (int i = 0; i < messages.length; i++) {
+            int position = index.next(messages[i], 0, first >= 0 ? first : limit);
+            if (position >= 0) {
+                first = position;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Returns the position of the first record whose message starts with the given prefix and contains one of the given
+     * substrings after its first character, or -1 if there is none.
+     *
+     * As with <code>message.indexOf(substring) &gt; 0</code>, only the first occurrence of a substring in a message is
+     * considered.
+     */
+    public int findFirstOfSubString(String[] substrings, String prefix) {
+        Automaton automaton = new Automaton(substrings);
+        int[] seen = new int[substrings.length];
+        Arrays.fill(seen, -1);
+
+        for (int position = 0; position < limit; position++) {
+            String message = index.get(position).getMessage();
+            if (message != null && message.startsWith(prefix) && automaton.matches(message, position, seen)) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    // Aho-Corasick automaton over a set of substrings
+    private static final class Automaton {
+        private final int[] lengths;
+
+        // Transitions of each state, sorted by character
+        private char[][] keys;
+        private int[][] targets;
+
+        private int[] fail;
+        // Substrings ending in a state, and the next state on the fail chain that has any
+        private int[][] outputs;
+        private int[] outputLink;
+        // First state with outputs on the fail chain of a state, starting at the state itself
+        private int[] report;
+
+        // Complete transition table (fail links already followed) for ASCII characters
+        private static final int ASCII = 128;
+        private int[] asciiTransitions;
+
+        Automaton(String[] substrings) {
+            lengths = new int[substrings.length];
+
+            List<StringBuilder> stateKeys = new ArrayList<>();
+            List<List<Integer>> stateTargets = new ArrayList<>();
+            List<List<Integer>> stateOutputs = new ArrayList<>();
+            stateKeys.add(new StringBuilder());
+            stateTargets.add(new ArrayList<>());
+            stateOutputs.add(new ArrayList<>());
+
+            for (int i = 0; i < substrings.length; i++) {
+                String substring = substrings[i];
+                lengths[i] = substring.length();
+                if (substring.isEmpty()) {
+                    // indexOf("") is 0, which never counts as a match
+                    continue;
+                }
+                int state = 0;
+                for (int j = 0; j < substring.length(); j++) {
+                    char c = substring.charAt(j);
+                    int k = stateKeys.get(state).indexOf(String.valueOf(c));
+                    if (k >= 0) {
+                        state = stateTargets.get(state).get(k);
+                    } else {
+                        int next = stateKeys.size();
+                        stateKeys.add(new StringBuilder());
+                        stateTargets.add(new ArrayList<>());
+                        stateOutputs.add(new ArrayList<>());
+                        stateKeys.get(state).append(c);
+                        stateTargets.get(state).add(next);
+                        state = next;
+                    }
+                }
+                stateOutputs.get(state).add(i);
+            }
+
+            int states = stateKeys.size();
+            keys = new char[states][];
+            targets = new int[states][];
+            outputs = new int[states][];
+            for (int s = 0; s < states; s++) {
+                char[] k = stateKeys.get(s).toString().toCharArray();
+                List<Integer> t = stateTargets.get(s);
+                Integer[] order = new Integer[k.length];
+                for (int j = 0; j < order.length; j++) {
+                    order[j] = j;
+                }
+                Arrays.sort(order, (a, b) -> Character.compare(k[a], k[b]));
+                keys[s] = new char[k.length];
+                targets[s] = new int[k.length];
+                for (int j = 0; j < order.length; j++) {
+                    keys[s][j] = k[order[j]];
+                    targets[s][j] = t.get(order[j]);
+                }
+                List<Integer> o = stateOutputs.get(s);
+                outputs[s] = new int[o.size()];
+                for (int j = 0; j < outputs[s].length; j++) {
+                    outputs[s][j] = o.get(j);
+                }
+            }
+
+            // Breadth first, so the fail state of a state is always complete before it is used
+            fail = new int[states];
+            outputLink = new int[states];
+            int[] queue = new int[states];
+            int tail = 0;
+            queue[tail++] = 0;
+            for (int target : targets[0]) {
+                queue[tail++] = target;
+            }
+            int head = 1;
+            while (head < tail) {
+                int state = queue[head++];
+                for (int j = 0; j < keys[state].length; j++) {
+                    int child = targets[state][j];
+                    int f = fail[state];
+                    int next = transition(f, keys[state][j]);
+                    while (next < 0 && f != 0) {
+                        f = fail[f];
+                        next = transition(f, keys[state][j]);
+                    }
+                    fail[child] = next < 0 ? 0 : next;
+                    outputLink[child] = outputs[fail[child]].length > 0 ? fail[child] : outputLink[fail[child]];
+                    queue[tail++] = child;
+                }
+            }
+
+            report = new int[states];
+            asciiTransitions = new int[states * ASCII];
+            for (int i = 0; i < states; i++) {
+                // In breadth first order, the fail state of a state is filled in before the state itself
+                int state = queue[i];
+                report[state] = outputs[state].length > 0 ? state : outputLink[state];
+                for (char c = 0; c < ASCII; c++) {
+                    int next = transition(state, c);
+                    if (next < 0) {
+                        next = state == 0 ? 0 : asciiTransitions[fail[state] * ASCII + c];
+                    }
+                    asciiTransitions[state * ASCII + c] = next;
+                }
+            }
+        }
+
+        private int transition(int state, char c) {
+            int k = Arrays.binarySearch(keys[state], c);
+            return k >= 0 ? targets[state][k] : -1;
+        }
+
+        /**
+         * Scans the message once and returns whether the first occurrence of any substring starts after index 0.
+         * <code>seen[i] == record</code> marks substring i as already found in this record.
+         */
+        boolean matches(String message, int record, int[] seen) {
+            int state = 0;
+            for (int i = 0; i < message.length(); i++) {
+                char c = message.charAt(i);
+                if (c < ASCII) {
+                    state = asciiTransitions[state * ASCII + c];
+                } else {
+                    int next = transition(state, c);
+                    while (next < 0 && state != 0) {
+                        state = fail[state];
+                        next = transition(state, c);
+                    }
+                    state = next < 0 ? 0 : next;
+                }
+
+                for (int s = report[state]; s != 0; s = outputLink[s]) {
+                    for (int substring : outputs[s]) {
+                        if (seen[substring] != record) {
+                            seen[substring] = record;
+                            if (i + 1 - lengths[substring] > 0) {
+                                return true;
+                            }
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
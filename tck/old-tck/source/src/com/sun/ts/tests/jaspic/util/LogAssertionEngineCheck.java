@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ts.tests.jaspic.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Checks that <code>LogAssertionEngine</code> answers the log assertions as the linear scans of
+ * <code>LogFileProcessor</code> did, for fixed cases with overlapping substrings, substrings that are prefixes of each
+ * other and repeated runs in one log, and for random records and searches over a small alphabet.
+ *
+ * Run with <code>java com.sun.ts.tests.jaspic.util.LogAssertionEngineCheck</code>; the exit status is 1 if any result
+ * differs.
+ */
+public class LogAssertionEngineCheck {
+
+    private static final String[][] FIXED_RECORDS = {
+            { "a", "b", "c", "a", "c" },
+            { "ab", "abab", "bab", "aba", null, "b" },
+            { "he", "her", "hers", "she", "his", "he" },
+            { "validateRequest", "secureResponse", "validateRequest", "cleanSubject", "secureResponse" } };
+
+    private static final String[][] FIXED_SEARCHES = {
+            { "a", "b", "c" },
+            { "a", "c" },
+            { "c", "a" },
+            { "abab", "bab", "ab" },
+            { "he", "hers", "her" },
+            { "her", "he" },
+            { "validateRequest", "secureResponse" },
+            { "x" },
+            { "" } };
+
+    private static final String[][] FIXED_SUBSTRING_RECORDS = {
+            { "prefix ababab", "prefix bab", "other abab", "prefix aba" },
+            { "ushers", "prefix he", "prefix she", "prefix hers" },
+            { "prefix \u00e9t\u00e9", "prefix \u00e9t", "prefix x\u00e9" },
+            { "prefix", "prefix ", null, "prefix hishers" } };
+
+    private static final String[][] FIXED_SUBSTRINGS = {
+            { "abab", "bab", "ab" },
+            { "he", "her", "hers", "she" },
+            { "hers", "she" },
+            { "prefix" },
+            { "p" },
+            { "" },
+            { "\u00e9t\u00e9", "t\u00e9" },
+            { "x\u00e9", "\u00e9" } };
+
+    private static final String[] PREFIXES = { "", "prefix", "prefix ", "other", "u" };
+
+    private static int failures;
+
+    public static void main(String[] args) {
+        for (String[] messages : FIXED_RECORDS) {
+            for (String[] search : FIXED_SEARCHES) {
+                checkExact(messages, search);
+            }
+        }
+        for (String[] messages : FIXED_SUBSTRING_RECORDS) {
+            for (String[] substrings : FIXED_SUBSTRINGS) {
+                for (String prefix : PREFIXES) {
+                    checkSubString(messages, substrings, prefix);
+                }
+            }
+        }
+
+        Random random = new Random(args.length > 0 ? Long.parseLong(args[0]) : 42);
+        for (int i = 0; i < 20000; i++) {
+            String[] messages = randomStrings(random, 1 + random.nextInt(12), 0, 5);
+            checkExact(messages, randomStrings(random, 1 + random.nextInt(4), 1, 3));
+            checkSubString(messages, randomStrings(random, 1 + random.nextInt(4), 0, 3), randomString(random, random.nextInt(2)));
+        }
+
+        if (failures > 0) {
+            System.err.println(failures + " results differ from the linear scans");
+            System.exit(1);
+        }
+        System.out.println("LogAssertionEngine agrees with the linear scans");
+    }
+
+    private static void checkExact(String[] messages, String[] search) {
+        LogAssertionEngine engine = LogAssertionEngine.of(records(messages));
+
+        check("findAll", messages, search, engine.findAll(search), findAll(messages, search));
+        check("findInOrder", messages, search, engine.findInOrder(search), findInOrder(messages, search));
+        check("findFirstOf", messages, search, new int[] { engine.findFirstOf(search) }, new int[] { findFirstOf(messages, search) });
+    }
+
+    private static void checkSubString(String[] messages, String[] substrings, String prefix) {
+        LogAssertionEngine engine = LogAssertionEngine.of(records(messages));
+
+        check("findFirstOfSubString(" + prefix + ")", messages, substrings, new int[] { engine.findFirstOfSubString(substrings, prefix) },
+                new int[] { findFirstOfSubString(messages, substrings, prefix) });
+    }
+
+    private static void check(String method, String[] messages, String[] search, int[] actual, int[] expected) {
+        if (!Arrays.equals(actual, expected)) {
+            failures++;
+            System.err.println(method + " of " + Arrays.toString(search) + " in " + Arrays.toString(messages) + ": "
+                    + Arrays.toString(actual) + ", expected " + Arrays.toString(expected));
+        }
+    }
+
+    // The linear scans of LogFileProcessor, reporting positions instead of logging the matches
+
+    private static int[] findAll(String[] messages, String[] search) {
+        int[] positions = new int[search.length];
+        Arrays.fill(positions, -1);
+        for (int position = 0; position < messages.length; position++) {
+            for (int i = 0; i < search.length; i++) {
+                if (positions[i] < 0 && messages[position] != null && messages[position].equals(search[i])) {
+                    positions[i] = position;
+                }
+            }
+        }
+        return positions;
+    }
+
+    private static int[] findInOrder(String[] messages, String[] search) {
+        int[] positions = new int[search.length];
+        Arrays.fill(positions, -1);
+
+        int occurances = 0;
+        for (String message : messages) {
+            if (message != null && message.equals(search[0])) {
+                occurances++;
+            }
+        }
+
+        int argCount = 0;
+        for (int position = 0; position < messages.length && argCount < search.length; position++) {
+            String message = messages[position];
+            if (message != null && message.equals(search[0]) && occurances > 1) {
+                occurances--;
+                continue;
+            }
+            if (message != null && message.equals(search[argCount])) {
+                positions[argCount++] = position;
+            }
+        }
+        return positions;
+    }
+
+    private static int findFirstOf(String[] messages, String[] search) {
+        for (int position = 0; position < messages.length; position++) {
+            for (String s : search) {
+                if (messages[position] != null && messages[position].equals(s)) {
+                    return position;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static int findFirstOfSubString(String[] messages, String[] substrings, String prefix) {
+        for (int position = 0; position < messages.length; position++) {
+            String message = messages[position];
+            for (String substring : substrings) {
+                if (message != null && message.startsWith(prefix, 0) && message.indexOf(substring) > 0) {
+                    return position;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static List<LogRecordEntry> records(String[] messages) {
+        List<LogRecordEntry> records = new ArrayList<>();
+        for (int i = 0; i < messages.length; i++) {
+            LogRecordEntry record = new LogRecordEntry();
+            record.setSequenceNumber(i);
+            record.setMessage(messages[i]);
+            records.add(record);
+        }
+        return records;
+    }
+
+    private static String[] randomStrings(Random random, int count, int minLength, int maxLength) {
+        String[] strings = new String[count];
+        for (int i = 0; i < count; i++) {
+            strings[i] = randomString(random, minLength + random.nextInt(maxLength - minLength + 1));
+        }
+        return strings;
+    }
+
+    private static String randomString(Random random, int length) {
+        // few distinct characters, so that strings overlap and are prefixes of each other
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = "ab\u00e9".charAt(random.nextInt(3));
+        }
+        return new String(chars);
+    }
+}
@@ -16,22 +16,13 @@
 
 package com.sun.ts.tests.jaspic.util;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.SequenceInputStream;
-import java.net.URL;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.StringTokenizer;
 import java.util.Vector;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
@@ -57,6 +48,9 @@ import com.sun.ts.lib.util.TestUtil;
  *
  * 3) Prints the collection of log records.
  *
+ * Records are read incrementally through a <code>LogFileReader</code>, so a fetch only parses what was logged since the
+ * previous fetch, and the searches are answered from its <code>LogRecordIndex</code>.
+ *
  */
 public class LogFileProcessor {
 
@@ -66,6 +60,9 @@ public class LogFileProcessor {
     private Collection appIdRecordCollection = null;
     private Collection appSpecificRecordCollection = null;
 
+    // Answers the searches over recordCollection
+    private LogAssertionEngine assertionEngine = null;
+
     public LogFileProcessor() {
     }
 
@@ -108,12 +105,8 @@ public class LogFileProcessor {
     public void fetchLogs(String accessMethod) {
 
         File logfile = null;
-        URL url = null;
 
         try {
-            DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder documentBuilder = documentBuilderFactory.newDocumentBuilder();
-
             String strFilePathAndName = "";
             if (logFileLocation.indexOf("TSSVLog.txt") <= 0) {
                 strFilePathAndName = logFileLocation + "/TSSVLog.txt";
@@ -132,36 +125,14 @@ public class LogFileProcessor {
                 System.out.println("See User guide for Configuring log file permissions");
             } else {
                 // LogRecords will be added to TSSVLog.txt as long as the server is
-                // up and running. Since TSSLog.txt is continuously updated with
-                // more record there will not be any end tag </log> at the end of the
-                // log file.
-                //
-                // This will cause the SAXParser to throw fatal error message
-                // "XML Document structures must start and end with the
-                // same entity"
-                //
-                // In order to avoid this error message the FileInputStream
-                // should have the end tag </log>, this can be achieved by
-                // creating a SequenceInputStream which includes a
-                // FileInputStream and a ByteArrayInputStream, where the
-                // ByteArrayInputStream contains the bytes for </log>
-                //
-                String endLogTag = "</log>";
-                ByteArrayInputStream bais = new ByteArrayInputStream(endLogTag.getBytes());
-                SequenceInputStream sis = new SequenceInputStream(new FileInputStream(strFilePathAndName), bais);
-
-                Document document = documentBuilder.parse(sis);
-                Element rootElement = document.getDocumentElement();
-                NodeList nodes = rootElement.getChildNodes();
-
-                String queryString = "pullAllRecords";
-                String queryParams = "fullLog";
-
-                if (queryString.equals("pullAllRecords")) {
-                    recordCollection = pullAllLogRecords(queryParams, nodes);
-                    // printCollection(recordCollection);
-                }
-
+                // up and running, so there is no end tag </log> at the end of the
+                // log file. The reader only parses complete records appended since
+                // the previous fetch and adds them to its index.
+                LogRecordIndex index = LogFileReader.getReader(strFilePathAndName).read();
+
+                assertionEngine = new LogAssertionEngine(index, index.size());
+                recordCollection = assertionEngine.getRecords();
+                // printCollection(recordCollection);
             }
 
         } catch (Exception e) {
@@ -204,6 +175,7 @@ public class LogFileProcessor {
 
     public void setRecordCollection(Collection recordCollection) {
         this.recordCollection = recordCollection;
+        this.assertionEngine = null;
     }
 
     public Collection getRecordCollection() {
@@ -218,6 +190,14 @@ public class LogFileProcessor {
         return this.appSpecificRecordCollection;
     }
 
+    // Returns the engine over recordCollection, building it if the collection was set directly
+    private LogAssertionEngine getAssertionEngine() {
+        if (assertionEngine == null) {
+            assertionEngine = LogAssertionEngine.of(recordCollection);
+        }
+        return assertionEngine;
+    }
+
     /**
      * Checks for the existance of search string in the log. For example to verify whether server log contains a string
      * "Java EE rocks" use the following code
@@ -241,7 +221,6 @@ public class LogFileProcessor {
      * where "properties" contains the key value pair for 1) log.file.location
      */
     public boolean verifyLogContains(String args[], boolean validateOrder) {
-        LogRecordEntry recordEntry = null;
         TestUtil.logMsg("Searching log records for record :" + args[0]);
         if (recordCollection == null) {
             TestUtil.logMsg("Record collection empty : No log records found");
@@ -250,67 +229,32 @@ public class LogFileProcessor {
             TestUtil.logMsg("Record collection has:  " + recordCollection.size() + " records.");
         }
 
+        LogAssertionEngine engine = getAssertionEngine();
         int numberOfArgs = args.length;
         int numberOfMatches = 0;
 
-        boolean argsMatchIndex[] = new boolean[args.length];
-        for (int i = 0; i < args.length; i++) {
-            // initialize all argsMatchIndex to "false" (i.e no match)
-            argsMatchIndex[i] = false;
-
-            // From the given string array(args) if there is a record match
-            // for the search string, then the corresponding argsMatchIndex[i]
-            // will be set to true(to indicate a match)
-            // i.e argsMatchIndex[i] = true;
-            //
-            // For example if the string array contains
-            // String args[]={"JK", "EMERSON", "J.B.Shaw};
-            //
-            // And if the string "JK" and "J.B.Shaw" are found in the records
-            // then the argsMatchIndex will be set as shown below
-            // argsMatchIndex[] ={true, false, true};
-            //
-        }
-
-        Iterator iterator = recordCollection.iterator();
         if (!validateOrder) {
             // we dont care about order, just that all args were found
-            while (iterator.hasNext()) {
-                // loop thru all message tag/entries in the log file
-                recordEntry = (LogRecordEntry) iterator.next();
-                String message = recordEntry.getMessage();
-                // loop through all arguments to search for a match
-                for (int i = 0; i < numberOfArgs; i++) {
-
-                    // Search only unique record matches ignore repeat occurances
-                    if (argsMatchIndex[i] != true) {
-                        // see if one of the search argument matches with
-                        // the logfile message entry and if so return true
-                        if ((message != null) && message.equals(args[i])) {
-                            TestUtil.logMsg("Matching Record :");
-                            TestUtil.logMsg(recordEntry.getMessage());
-
-                            // Increment match count
-                            numberOfMatches++;
-
-                            // Mark the matches in argsMatchIndex
-                            argsMatchIndex[i] = true;
-
-                            continue;
-                        }
-                    }
+            // For each search string, the position of the first record
+            // with that message or -1 (i.e no match)
+            int[] matches = engine.findAll(args);
+            for (int i = 0; i < numberOfArgs; i++) {
+                if (matches[i] >= 0) {
+                    TestUtil.logMsg("Matching Record :");
+                    TestUtil.logMsg(engine.get(matches[i]).getMessage());
+                    numberOfMatches++;
                 }
-                // Return true if, we found matches for all strings
-                // in the given string array
-                if (numberOfMatches == numberOfArgs)
-                    return true;
             }
 
-            // if here, our non-order-specific search did not find all matches...
+            // Return true if, we found matches for all strings
+            // in the given string array
+            if (numberOfMatches == numberOfArgs)
+                return true;
+
             // Print unmatched Strings(i.e no matches were found for these strings)
             TestUtil.logMsg("No Matching log Record(s) found for the following String(s) :");
             for (int i = 0; i < numberOfArgs; i++) {
-                if (argsMatchIndex[i] == false) {
+                if (matches[i] < 0) {
                     TestUtil.logMsg(args[i]);
                 }
             }
@@ -318,50 +262,27 @@ public class LogFileProcessor {
         } else {
             // we care about order, so find args and make sure they are in
             // same order as the arg[] array
-            int recordCnt = 0;
-            int argCount = 0;
-
-            // first find how last occurance of our FIRST ITEM. Why? because
+            //
+            // the search starts at the last occurance of our FIRST ITEM. Why? because
             // we want to be sure that if we are searching for "a", "b", "c" within
             // the TSSVLog.txt, we better find the very last and most recent entry
             // for "a". For example, if logfile contain "a", "b", "c", "a", "c" due
             // to multiple runs, we will erroneously pass a search for "a", "b", "c"
             // UNLESS we are careful to find the last "a", then do our check.
-
-            int occurances = 0;
-            while (iterator.hasNext()) {
-                recordCnt++;
-                recordEntry = (LogRecordEntry) iterator.next();
-                String message = recordEntry.getMessage();
-                if ((message != null) && message.equals(args[argCount])) {
-                    occurances++;
-                    TestUtil.logMsg("verifyLogContains() found " + occurances + "occurances");
-                }
+            int occurances = engine.count(args[0]);
+            if (occurances > 0) {
+                TestUtil.logMsg("verifyLogContains() found " + occurances + "occurances");
             }
 
-            // reset the iterator
-            iterator = recordCollection.iterator();
-            while (iterator.hasNext()) {
-                recordCnt++;
-                recordEntry = (LogRecordEntry) iterator.next();
-                String message = recordEntry.getMessage();
-
-                if ((message != null) && (message.equals(args[0])) && (occurances > 1)) {
-                    // found a match but not the LAST occurance of it in TSSVLog.txt
-                    // so keep looking
-                    occurances--;
-                    continue;
-                }
-
-                if ((message != null) && message.equals(args[argCount])) {
-                    // we found last occurance of first item in args[]
-                    TestUtil.logMsg("Found: " + args[argCount] + " in record entry: " + recordCnt);
-                    argCount++;
-                    if (argCount >= args.length) {
-                        // we are done, found all our matches in order
-                        return true;
-                    }
-                }
+            int[] matches = engine.findInOrder(args);
+            int argCount = 0;
+            while (argCount < numberOfArgs && matches[argCount] >= 0) {
+                TestUtil.logMsg("Found: " + args[argCount] + " in record entry: " + (matches[argCount] + 1));
+                argCount++;
+            }
+            if (argCount >= numberOfArgs) {
+                // we are done, found all our matches in order
+                return true;
             }
 
             // if here, our order-specific-search did not succeed.
@@ -385,7 +306,6 @@ public class LogFileProcessor {
      * where "properties" contains the key value pair for 1) log.file.location
      */
     public boolean verifyLogContainsOneOf(String args[]) {
-        LogRecordEntry recordEntry = null;
         boolean result = false;
 
         TestUtil.logMsg("Searching log records for the presence of one of the String" + " from a given string array");
@@ -396,28 +316,14 @@ public class LogFileProcessor {
             TestUtil.logMsg("Record collection has:  " + recordCollection.size() + " records.");
         }
 
+        LogAssertionEngine engine = getAssertionEngine();
         int numberOfArgs = args.length;
 
-        Iterator iterator = recordCollection.iterator();
-        searchLabel: while (iterator.hasNext()) {
-            // loop thru all message tag/entries in the log file
-            recordEntry = (LogRecordEntry) iterator.next();
-            String message = recordEntry.getMessage();
-            // loop through all arguments to search for a match
-            for (int i = 0; i < numberOfArgs; i++) {
-
-                // see if one of the search argument matches with
-                // the logfile message entry and if so return true
-                if ((message != null) && message.equals(args[i])) {
-                    TestUtil.logMsg("Matching Record :");
-                    TestUtil.logMsg(recordEntry.getMessage());
-                    result = true;
-
-                    // If a match is found no need to search further
-                    break searchLabel;
-                }
-            }
-
+        int match = engine.findFirstOf(args);
+        if (match >= 0) {
+            TestUtil.logMsg("Matching Record :");
+            TestUtil.logMsg(engine.get(match).getMessage());
+            result = true;
         }
 
         if (!result) {
@@ -452,7 +358,6 @@ public class LogFileProcessor {
      * where "properties" contains the key value pair for 1) log.file.location
      */
     public boolean verifyLogContainsOneOfSubString(String args[], String srchStrPrefix) {
-        LogRecordEntry recordEntry = null;
         boolean result = false;
 
         TestUtil.logMsg("Searching log records for the presence of one of the String" + " from a given string array");
@@ -463,28 +368,14 @@ public class LogFileProcessor {
             TestUtil.logMsg("Record collection has:  " + recordCollection.size() + " records.");
         }
 
+        LogAssertionEngine engine = getAssertionEngine();
         int numberOfArgs = args.length;
 
-        Iterator iterator = recordCollection.iterator();
-        searchLabel: while (iterator.hasNext()) {
-            // loop thru all message tag/entries in the log file
-            recordEntry = (LogRecordEntry) iterator.next();
-            String message = recordEntry.getMessage();
-            // loop through all arguments to search for a match
-            for (int i = 0; i < numberOfArgs; i++) {
-
-                // see if one of the search argument matches with
-                // the logfile message entry and if so return true
-                if ((message != null) && (message.startsWith(srchStrPrefix, 0)) && (message.indexOf(args[i]) > 0)) {
-                    TestUtil.logMsg("Matching Record :");
-                    TestUtil.logMsg(recordEntry.getMessage());
-                    result = true;
-
-                    // If a match is found no need to search further
-                    break searchLabel;
-                }
-            }
-
+        int match = engine.findFirstOfSubString(args, srchStrPrefix);
+        if (match >= 0) {
+            TestUtil.logMsg("Matching Record :");
+            TestUtil.logMsg(engine.get(match).getMessage());
+            result = true;
         }
 
         if (!result) {
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ts.tests.jaspic.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Incremental reader for TSSVLog.txt.
+ *
+ * TSSVLog.txt only grows while the server runs, and it never gets its closing </log> tag. Instead of parsing the whole
+ * file into a DOM on every fetch, the reader remembers the byte offset just past the last complete </record> it has
+ * seen. Each <code>read()</code> parses only the bytes appended since then with a StAX pull parser and adds the new
+ * records to a <code>LogRecordIndex</code>. A record that is still being written stays in the file until a later read.
+ * If the file shrinks (it was truncated) or was replaced by another file (it was deleted or rotated, as told by its file
+ * key or creation time), the index is rebuilt from the start. The file is decoded with the encoding declared in its XML
+ * declaration, which <code>TSXMLFormatter</code> sets to the encoding of the handler writing it.
+ *
+ * There is one reader per log file, so the index is shared by everyone fetching the same log in this VM.
+ */
+public class LogFileReader {
+
+    private static final byte[] RECORD_START = "<record>".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RECORD_END = "</record>".getBytes(StandardCharsets.US_ASCII);
+    private static final Pattern ENCODING = Pattern.compile("<\\?xml[^>]*encoding=\"([^\"]+)\"");
+
+    private static final Map<File, LogFileReader> readers = new HashMap<>();
+
+    private final File logFile;
+    private final LogRecordIndex index = new LogRecordIndex();
+    private final XMLInputFactory inputFactory;
+
+    // Offset just past the last complete record that has been indexed
+    private long offset;
+
+    // Identity of the file the offset belongs to, and the encoding it declares
+    private Object fileIdentity;
+    private Charset charset = Charset.defaultCharset();
+
+    private LogFileReader(File logFile) {
+        this.logFile = logFile;
+        inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+    }
+
+    /**
+     * Returns the reader for the given log file.
+     */
+    public static LogFileReader getReader(String logFilePath) {
+        File key = new File(logFilePath).getAbsoluteFile();
+        synchronized (readers) {
+            LogFileReader reader = readers.get(key);
+            if (reader == null) {
+                reader = new LogFileReader(key);
+                readers.put(key, reader);
+            }
+            return reader;
+        }
+    }
+
+    /**
+     * Indexes the records appended to the log file since the previous read and returns the index.
+     */
+    public synchronized LogRecordIndex read() throws IOException, XMLStreamException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(logFile.toPath(), BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            attributes = null;
+        }
+        long length = attributes == null ? 0 : attributes.size();
+        Object identity = attributes == null ? null
+                : attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+        if (length < offset || !Objects.equals(identity, fileIdentity)) {
+            index.clear();
+            offset = 0;
+            fileIdentity = identity;
+        }
+        if (length == offset) {
+            return index;
+        }
+
+        byte[] bytes;
+        try (RandomAccessFile file = new RandomAccessFile(logFile, "r")) {
+            length = file.length();
+            bytes = new byte[(int) (length - offset)];
+            file.seek(offset);
+            file.readFully(bytes);
+        }
+
+        if (offset == 0) {
+            charset = declaredCharset(bytes);
+        }
+
+        int end = lastIndexOf(bytes, RECORD_END);
+        if (end < 0) {
+            // No complete record yet
+            return index;
+        }
+        end += RECORD_END.length;
+
+        // Skip the XML declaration and <log> start tag in front of the first record
+        int start = indexOf(bytes, RECORD_START, end);
+        if (start >= 0) {
+            parse(bytes, start, end);
+        }
+        offset += end;
+
+        return index;
+    }
+
+    private void parse(byte[] bytes, int start, int end) throws XMLStreamException {
+        InputStream in = new SequenceInputStream(new SequenceInputStream(
+                new ByteArrayInputStream("<log>".getBytes(charset)),
+                new ByteArrayInputStream(bytes, start, end - start)),
+                new ByteArrayInputStream("</log>".getBytes(charset)));
+
+        XMLStreamReader reader = inputFactory.createXMLStreamReader(in, charset.name());
+        try {
+            LogRecordEntry recordEntry = null;
+            String field = null;
+            String text = null;
+            int depth = 0;
+
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    if (depth == 2 && reader.getLocalName().equals("record")) {
+                        recordEntry = new LogRecordEntry();
+                    } else if (depth == 3 && recordEntry != null) {
+                        field = reader.getLocalName();
+                        text = null;
+                    }
+                    break;
+
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                    // Like LogRecordEntry(Node), a field takes the first text directly inside its element
+                    if (depth == 3 && field != null && text == null) {
+                        text = reader.getText();
+                    }
+                    break;
+
+                case XMLStreamConstants.END_ELEMENT:
+                    if (depth == 3 && field != null) {
+                        setField(recordEntry, field, text == null ? "" : text);
+                        field = null;
+                    } else if (depth == 2 && recordEntry != null) {
+                        index.add(recordEntry);
+                        recordEntry = null;
+                    }
+                    depth--;
+                    break;
+
+                default:
+                    break;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    // The XML declaration is ASCII in every encoding the record markers can be found in
+    private static Charset declaredCharset(byte[] bytes) {
+        int limit = indexOf(bytes, RECORD_START, bytes.length);
+        String head = new String(bytes, 0, limit < 0 ? Math.min(bytes.length, 256) : limit, StandardCharsets.US_ASCII);
+        Matcher matcher = ENCODING.matcher(head);
+        if (matcher.find()) {
+            try {
+                return Charset.forName(matcher.group(1));
+            } catch (IllegalArgumentException e) {
+                // Unknown encoding, fall back to the platform's like the handler does
+            }
+        }
+        return Charset.defaultCharset();
+    }
+
+    private static void setField(LogRecordEntry recordEntry, String field, String text) {
+        if (field.equals("millis")) {
+            recordEntry.setMilliSeconds(Long.parseLong(text));
+        } else if (field.equals("sequence")) {
+            recordEntry.setSequenceNumber(Long.parseLong(text));
+        } else if (field.equals("level")) {
+            recordEntry.setLevel(text);
+        } else if (field.equals("class")) {
+            recordEntry.setClassName(text);
+        } else if (field.equals("method")) {
+            recordEntry.setMethodName(text);
+        } else if (field.equals("message")) {
+            recordEntry.setMessage(text);
+        } else if (field.equals("exception")) {
+            recordEntry.setThrown(text);
+        }
+    }
+
+    private static int indexOf(byte[] bytes, byte[] pattern, int limit) {
+        for (int i = 0; i <= limit - pattern.length; i++) {
+            if (matches(bytes, i, pattern)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(byte[] bytes, byte[] pattern) {
+        for (int i = bytes.length - pattern.length; i >= 0; i--) {
+            if (matches(bytes, i, pattern)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean matches(byte[] bytes, int at, byte[] pattern) {
+        for (int j = 0; j < pattern.length; j++) {
+            if (bytes[at + j] != pattern[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
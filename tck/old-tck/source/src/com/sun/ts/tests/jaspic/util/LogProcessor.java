@@ -68,6 +68,9 @@ public class LogProcessor {
     private Collection appIdRecordCollection = null;
     private Collection appSpecificRecordCollection = null;
 
+    // Answers the searches over recordCollection
+    private LogAssertionEngine assertionEngine = null;
+
     public LogProcessor() {
     }
 
@@ -222,6 +225,7 @@ public class LogProcessor {
 
     public void setRecordCollection(Collection recordCollection) {
         this.recordCollection = recordCollection;
+        this.assertionEngine = null;
     }
 
     public Collection getRecordCollection() {
@@ -236,6 +240,14 @@ public class LogProcessor {
         return this.appSpecificRecordCollection;
     }
 
+    // Returns the engine over recordCollection
+    private LogAssertionEngine getAssertionEngine() {
+        if (assertionEngine == null) {
+            assertionEngine = LogAssertionEngine.of(recordCollection);
+        }
+        return assertionEngine;
+    }
+
     /**
      * Checks for the existance of search string in the log. For example to verify whether server log contains a string
      * "Java EE rocks" use the following code
@@ -246,7 +258,6 @@ public class LogProcessor {
      * where "properties" contains the key value pair for 1) log.file.location 2) webServerHost 3) webServerPort
      */
     public boolean verifyLogContains(String args[]) {
-        LogRecordEntry recordEntry = null;
         TestUtil.logMsg("Searching log records for record :" + args[0]);
         if (recordCollection == null) {
             TestUtil.logMsg("Record collection empty : No log records found");
@@ -255,66 +266,30 @@ public class LogProcessor {
             TestUtil.logMsg("Record collection has:  " + recordCollection.size() + " records.");
         }
 
+        LogAssertionEngine engine = getAssertionEngine();
         int numberOfArgs = args.length;
         int numberOfMatches = 0;
 
-        boolean argsMatchIndex[] = new boolean[args.length];
-        for (int i = 0; i < args.length; i++) {
-            // initialize all argsMatchIndex to "false" (i.e no match)
-            argsMatchIndex[i] = false;
-
-            // From the given string array(args) if there is a record match
-            // for the search string, then the corresponding argsMatchIndex[i]
-            // will be set to true(to indicate a match)
-            // i.e argsMatchIndex[i] = true;
-            //
-            // For example if the string array contains
-            // String args[]={"JK", "EMERSON", "J.B.Shaw};
-            //
-            // And if the string "JK" and "J.B.Shaw" are found in the records
-            // then the argsMatchIndex will be set as shown below
-            // argsMatchIndex[] ={true, false, true};
-            //
-        }
-
-        Iterator iterator = recordCollection.iterator();
-        while (iterator.hasNext()) {
-            // loop thru all message tag/entries in the log file
-            recordEntry = (LogRecordEntry) iterator.next();
-            String message = recordEntry.getMessage();
-            // loop through all arguments to search for a match
-            for (int i = 0; i < numberOfArgs; i++) {
-
-                // Search only unique record matches ignore repeat occurances
-                if (argsMatchIndex[i] != true) {
-                    // see if one of the search argument matches with
-                    // the logfile message entry and if so return true
-                    if ((message != null) && message.equals(args[i])) {
-                        TestUtil.logMsg("Matching Record :");
-                        TestUtil.logMsg(recordEntry.getMessage());
-
-                        // Increment match count
-                        numberOfMatches++;
-
-                        // Mark the matches in argsMatchIndex
-                        argsMatchIndex[i] = true;
-
-                        continue;
-                    }
-                }
-
+        // For each search string, the position of the first record
+        // with that message or -1 (i.e no match)
+        int[] matches = engine.findAll(args);
+        for (int i = 0; i < numberOfArgs; i++) {
+            if (matches[i] >= 0) {
+                TestUtil.logMsg("Matching Record :");
+                TestUtil.logMsg(engine.get(matches[i]).getMessage());
+                numberOfMatches++;
             }
-
-            // Return true if, we found matches for all strings
-            // in the given string array
-            if (numberOfMatches == numberOfArgs)
-                return true;
         }
 
+        // Return true if, we found matches for all strings
+        // in the given string array
+        if (numberOfMatches == numberOfArgs)
+            return true;
+
         // Print unmatched Strings(i.e no matches were found for these strings)
         TestUtil.logMsg("No Matching log Record(s) found for the following String(s) :");
         for (int i = 0; i < numberOfArgs; i++) {
-            if (argsMatchIndex[i] == false) {
+            if (matches[i] < 0) {
                 TestUtil.logMsg(args[i]);
             }
         }
@@ -335,7 +310,6 @@ public class LogProcessor {
      * where "properties" contains the key value pair for 1) log.file.location
      */
     public boolean verifyLogContainsOneOf(String args[]) {
-        LogRecordEntry recordEntry = null;
         boolean result = false;
 
         TestUtil.logMsg("Searching log records for the presence of one of the String" + " from a given string array");
@@ -346,28 +320,14 @@ public class LogProcessor {
             TestUtil.logMsg("Record collection has:  " + recordCollection.size() + " records.");
         }
 
+        LogAssertionEngine engine = getAssertionEngine();
         int numberOfArgs = args.length;
 
-        Iterator iterator = recordCollection.iterator();
-        searchLabel: while (iterator.hasNext()) {
-            // loop thru all message tag/entries in the log file
-            recordEntry = (LogRecordEntry) iterator.next();
-            String message = recordEntry.getMessage();
-            // loop through all arguments to search for a match
-            for (int i = 0; i < numberOfArgs; i++) {
-
-                // see if one of the search argument matches with
-                // the logfile message entry and if so return true
-                if ((message != null) && message.equals(args[i])) {
-                    TestUtil.logMsg("Matching Record :");
-                    TestUtil.logMsg(recordEntry.getMessage());
-                    result = true;
-
-                    // If a match is found no need to search further
-                    break searchLabel;
-                }
-            }
-
+        int match = engine.findFirstOf(args);
+        if (match >= 0) {
+            TestUtil.logMsg("Matching Record :");
+            TestUtil.logMsg(engine.get(match).getMessage());
+            result = true;
         }
 
         if (!result) {
@@ -402,7 +362,6 @@ public class LogProcessor {
      * where "properties" contains the key value pair for 1) log.file.location
      */
     public boolean verifyLogContainsOneOfSubString(String args[], String srchStrPrefix) {
-        LogRecordEntry recordEntry = null;
         boolean result = false;
 
         TestUtil.logMsg("Searching log records for the presence of one of the String" + " from a given string array");
@@ -413,28 +372,14 @@ public class LogProcessor {
             TestUtil.logMsg("Record collection has:  " + recordCollection.size() + " records.");
         }
 
+        LogAssertionEngine engine = getAssertionEngine();
         int numberOfArgs = args.length;
 
-        Iterator iterator = recordCollection.iterator();
-        searchLabel: while (iterator.hasNext()) {
-            // loop thru all message tag/entries in the log file
-            recordEntry = (LogRecordEntry) iterator.next();
-            String message = recordEntry.getMessage();
-            // loop through all arguments to search for a match
-            for (int i = 0; i < numberOfArgs; i++) {
-
-                // see if one of the search argument matches with
-                // the logfile message entry and if so return true
-                if ((message != null) && (message.startsWith(srchStrPrefix, 0)) && (message.indexOf(args[i]) > 0)) {
-                    TestUtil.logMsg("Matching Record :");
-                    TestUtil.logMsg(recordEntry.getMessage());
-                    result = true;
-
-                    // If a match is found no need to search further
-                    break searchLabel;
-                }
-            }
-
+        int match = engine.findFirstOfSubString(args, srchStrPrefix);
+        if (match >= 0) {
+            TestUtil.logMsg("Matching Record :");
+            TestUtil.logMsg(engine.get(match).getMessage());
+            result = true;
         }
 
         if (!result) {
@@ -32,6 +32,9 @@ public class LogRecordEntry implements Serializable {
     private String message;
     private String thrown;
 
+    public LogRecordEntry() {
+    }
+
     public LogRecordEntry(Node recordNode) throws Exception {
         if (!recordNode.getNodeName().equals("record")) {
             throw new Exception("Unexpected tag :" + recordNode.getNodeName());
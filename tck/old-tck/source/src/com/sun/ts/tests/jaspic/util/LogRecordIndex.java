@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ts.tests.jaspic.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Vector;
+
+/**
+ * In-memory index over the records of TSSVLog.txt.
+ *
+ * Records are only ever appended, in log order, and are addressed by their position. Besides the records themselves the
+ * index keeps the positions of every distinct message and sequence number, so that looking up a message costs a hash
+ * probe instead of a pass over the whole log.
+ *
+ * A caller that wants a stable view while the index keeps growing remembers the current <code>size()</code> and passes
+ * it as the <code>limit</code> of the query methods; positions at or beyond the limit are ignored.
+ */
+public class LogRecordIndex {
+
+    private LogRecordEntry[] records = new LogRecordEntry[256];
+    private int size;
+
+    private final Map<String, Positions> byMessage = new HashMap<>();
+    private final Map<Long, Positions> bySequenceNumber = new HashMap<>();
+
+    // Ascending list of record positions
+    private static final class Positions {
+        int[] positions = new int[2];
+        int size;
+
+        void add(int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        // Index of the first position >= from, or size if there is none
+        int ceiling(int from) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (positions[mid] < from) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    // Read-only view of the first size records; later appends never touch these slots
+    private static final class RecordList extends AbstractList<LogRecordEntry> implements RandomAccess {
+        private final LogRecordEntry[] records;
+        private final int size;
+
+        RecordList(LogRecordEntry[] records, int size) {
+            this.records = records;
+            this.size = size;
+        }
+
+        public LogRecordEntry get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return records[index];
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Builds an index over the given collection of <code>LogRecordEntry</code>.
+     */
+    public static LogRecordIndex of(Collection recordCollection) {
+        LogRecordIndex index = new LogRecordIndex();
+        if (recordCollection != null) {
+            for (Iterator iterator = recordCollection.iterator(); iterator.hasNext();) {
+                index.add((LogRecordEntry) iterator.next());
+            }
+        }
+        return index;
+    }
+
+    public synchronized void add(LogRecordEntry recordEntry) {
+        if (size == records.length) {
+            records = Arrays.copyOf(records, size * 2);
+        }
+        int position = size;
+        records[size++] = recordEntry;
+
+        String message = recordEntry.getMessage();
+        if (message != null) {
+            byMessage.computeIfAbsent(message, m -> new Positions()).add(position);
+        }
+        bySequenceNumber.computeIfAbsent(recordEntry.getSequenceNumber(), s -> new Positions()).add(position);
+    }
+
+    /**
+     * Removes all records, for instance because the log file was truncated. Views handed out earlier are not affected.
+     */
+    public synchronized void clear() {
+        records = new LogRecordEntry[256];
+        size = 0;
+        byMessage.clear();
+        bySequenceNumber.clear();
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized LogRecordEntry get(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position: " + position + ", Size: " + size);
+        }
+        return records[position];
+    }
+
+    /**
+     * Returns a read-only view of the first <code>limit</code> records.
+     */
+    public synchronized List<LogRecordEntry> records(int limit) {
+        return new RecordList(records, Math.min(limit, size));
+    }
+
+    /**
+     * Returns the position of the first record at or after <code>from</code> (and before <code>limit</code>) whose
+     * message equals the given message, or -1 if there is none.
+     */
+    public synchronized int next(String message, int from, int limit) {
+        Positions positions = byMessage.get(message);
+        if (positions == null) {
+            return -1;
+        }
+        int i = positions.ceiling(from);
+        if (i < positions.size && positions.positions[i] < limit) {
+            return positions.positions[i];
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the position of the last record before <code>limit</code> whose message equals the given message, or -1 if
+     * there is none.
+     */
+    public synchronized int last(String message, int limit) {
+        Positions positions = byMessage.get(message);
+        if (positions == null) {
+            return -1;
+        }
+        int i = positions.ceiling(limit) - 1;
+        return i >= 0 ? positions.positions[i] : -1;
+    }
+
+    /**
+     * Returns the number of records before <code>limit</code> whose message equals the given message.
+     */
+    public synchronized int count(String message, int limit) {
+        Positions positions = byMessage.get(message);
+        return positions == null ? 0 : positions.ceiling(limit);
+    }
+
+    /**
+     * Returns the records before <code>limit</code> with the given sequence number, in log order.
+     */
+    public synchronized Collection findBySequenceNumber(long sequenceNumber, int limit) {
+        Collection recordCollection = new Vector();
+        Positions positions = bySequenceNumber.get(sequenceNumber);
+        if (positions != null) {
+            for (int i = 0; i < positions.size && positions.positions[i] < limit; i++) {
+                recordCollection.add(records[positions.positions[i]]);
+            }
+        }
+        return recordCollection;
+    }
+}